@@ -0,0 +1,59 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditAsynchronousQueueProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-core-audit", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("AuditAsynchronousQueueProperties")
+public class AuditAsynchronousQueueProperties implements Serializable {
+
+    private static final long serialVersionUID = -5170217958245124387L;
+
+    /**
+     * Maximum number of audit records that may wait in the queue
+     * for audit storage services that record audits asynchronously.
+     * What happens when the queue is full is controlled by the overflow policy.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records that are taken from the queue
+     * and handed over to the audit storage service together as a batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Decide what should happen to an audit record
+     * when the queue is full.
+     */
+    private OverflowPolicies overflowPolicy = OverflowPolicies.BLOCK;
+
+    /**
+     * Overflow policies.
+     */
+    public enum OverflowPolicies {
+        /**
+         * The thread recording the audit waits until the queue has capacity again.
+         */
+        BLOCK,
+        /**
+         * The audit record is dropped and counted.
+         */
+        DROP
+    }
+}
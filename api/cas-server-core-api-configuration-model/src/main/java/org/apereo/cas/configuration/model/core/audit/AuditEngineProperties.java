@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -107,6 +108,14 @@ public class AuditEngineProperties implements Serializable {
      */
     private AuditFormatTypes auditFormat = AuditFormatTypes.DEFAULT;
 
+    /**
+     * Control the queue that holds audit records for audit storage services
+     * that record audits asynchronously, and from which records are
+     * saved in batches.
+     */
+    @NestedConfigurationProperty
+    private AuditAsynchronousQueueProperties asynchronousQueue = new AuditAsynchronousQueueProperties();
+
     /**
      * The audit format types.
      */
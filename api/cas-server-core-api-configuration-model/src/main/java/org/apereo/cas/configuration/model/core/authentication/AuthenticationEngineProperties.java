@@ -1,5 +1,6 @@
 package org.apereo.cas.configuration.model.core.authentication;
 
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -36,4 +37,34 @@ public class AuthenticationEngineProperties implements Serializable {
     @NestedConfigurationProperty
     private GroovyAuthenticationEngineProcessorProperties groovyPostProcessor = new GroovyAuthenticationEngineProcessorProperties();
 
+    /**
+     * Whether authentication handlers that support the same credential
+     * should be invoked concurrently rather than one at a time. Results are still
+     * processed in the order of the handlers, and handlers that are no longer needed
+     * once the authentication policy is satisfied are cancelled.
+     * This is useful when several authentication sources, such as a number of LDAP domains,
+     * are configured and a user may be found in any of them.
+     */
+    private boolean concurrentHandlerExecution;
+
+    /**
+     * Maximum number of threads used to invoke authentication handlers
+     * when concurrent handler execution is turned on.
+     */
+    private int concurrentHandlerPoolSize = 16;
+
+    /**
+     * Maximum number of authentication handler invocations that may wait for a thread
+     * when concurrent handler execution is turned on. Once the queue is full,
+     * handlers are invoked by the thread that processes the authentication request.
+     */
+    private int concurrentHandlerQueueCapacity = 64;
+
+    /**
+     * Maximum amount of time to wait for authentication handlers invoked concurrently
+     * to produce a result. Handlers that are still running once the timeout is reached
+     * are cancelled and treated as failed. A zero or negative value waits indefinitely.
+     */
+    @DurationCapable
+    private String concurrentHandlerTimeout = "PT30S";
 }
@@ -46,6 +46,13 @@ public class PrincipalAttributesCoreProperties implements Serializable {
      */
     private int maximumCacheSize = 10000;
 
+    /**
+     * Maximum number of attribute values that may be cached across all registered services,
+     * once attributes are fetched from the underlying attribute repository for a service.
+     * Each cached entry weighs as much as the number of attribute values it holds, plus one.
+     */
+    private long maximumCacheWeight = 1_000_000;
+
     /**
      * Recover from LDAP exceptions and continue with partial results. Otherwise,
      * die and do not allow to log in.
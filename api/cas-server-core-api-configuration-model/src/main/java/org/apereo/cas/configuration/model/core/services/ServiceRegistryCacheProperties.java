@@ -40,4 +40,19 @@ public class ServiceRegistryCacheProperties implements Serializable {
      * Services cache capacity sets the minimum total size for the internal data structures.
      */
     private int initialCapacity = 2_000;
+
+    /**
+     * Maximum number of service identifiers whose resolution results are cached,
+     * including requests for which no registered service could be found.
+     * A value of zero disables the resolution cache.
+     */
+    private long resolutionCacheSize = 10_000L;
+
+    /**
+     * Fixed duration for a cached resolution result to be automatically
+     * removed from the cache after its creation. Cached results are also removed
+     * when services are saved, deleted or loaded.
+     */
+    @DurationCapable
+    private String resolutionCacheDuration = "PT1M";
 }
@@ -0,0 +1,60 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryCleanerProperties")
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+
+    private static final long serialVersionUID = 2718384556918315628L;
+
+    /**
+     * Number of worker threads that process batches of expired tickets
+     * in parallel. A value greater than {@code 1} activates the batching cleaner
+     * where expired tickets are partitioned into batches, deleted in bulk
+     * where the registry supports it and single logout requests are handed off
+     * to an asynchronous queue. Otherwise, expired tickets are cleaned one at a time.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Maximum number of expired tickets that are processed together as a batch
+     * by the batching cleaner.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Number of threads that carry out single logout requests
+     * for expired ticket-granting tickets, when using the batching cleaner.
+     */
+    private int logoutPoolSize = 2;
+
+    /**
+     * Maximum number of single logout requests that may wait in the queue
+     * when using the batching cleaner. Once the queue is full, the cleaner
+     * worker carries out the logout request itself which slows down
+     * the cleaner until the queue has capacity again.
+     */
+    private int logoutQueueCapacity = 10_000;
+
+    public TicketRegistryCleanerProperties(final String startDelay, final String repeatInterval) {
+        super(startDelay, repeatInterval);
+    }
+}
@@ -31,4 +31,12 @@ public class TicketRegistryCoreProperties implements Serializable {
      * separate from the registry technology itself.
      */
     private boolean enableLocking = true;
+
+    /**
+     * When set to true, and if the registry is able to update tickets
+     * conditionally and atomically, such as Redis, ticket operations such as granting
+     * and validating service tickets will not obtain a lock. Instead, the ticket is updated
+     * only if it has not changed since it was read, and the operation is retried on conflict.
+     */
+    private boolean enableOptimisticLocking;
 }
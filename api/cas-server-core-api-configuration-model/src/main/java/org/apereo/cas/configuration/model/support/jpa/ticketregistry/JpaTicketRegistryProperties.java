@@ -47,6 +47,14 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
     @DurationCapable
     private String jpaLockingTimeout = DEFAULT_LOCK_TIMEOUT;
 
+    /**
+     * Maximum number of expired tickets that are removed by a single
+     * bulk delete statement, each in its own transaction, when the registry is cleaned.
+     * Only tickets that require no further processing once expired, such as service tickets,
+     * are removed in bulk.
+     */
+    private int deleteBatchSize = 500;
+
     /**
      * Crypto settings for the registry.
      */
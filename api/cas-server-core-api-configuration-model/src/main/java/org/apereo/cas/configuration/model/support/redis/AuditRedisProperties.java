@@ -26,4 +26,20 @@ public class AuditRedisProperties extends BaseRedisProperties {
      * This setting must almost always be set to true.
      */
     private boolean asynchronous = true;
+
+    /**
+     * Indicates how long audit records should be kept.
+     * Audit records are stored in daily buckets, and each bucket
+     * is dropped as a whole once all of its records are older than the given number of days.
+     * Zero or negative values keep audit records indefinitely.
+     */
+    private int maxAgeDays = 180;
+
+    /**
+     * Whether audit records stored under legacy per-record keys should be moved
+     * into daily buckets. The migration runs in the background once the audit trail manager
+     * is created, and its completion is recorded in Redis so that it is carried out only once
+     * across all nodes. This may be turned off once legacy audit records are migrated.
+     */
+    private boolean legacyRecordsMigrationEnabled;
 }
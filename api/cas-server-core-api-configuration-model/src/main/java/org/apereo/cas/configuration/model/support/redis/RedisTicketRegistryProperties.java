@@ -30,6 +30,44 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Tickets are stored in Redis keyed directly on the ticket id, allowing
+     * lookups and deletions in a single round trip. Previous versions
+     * stored tickets under a composite key of ticket id and principal id
+     * which required a SCAN operation to locate. When this setting is enabled,
+     * tickets that cannot be found using the current key layout are looked up
+     * using the legacy key layout as well. This is only useful during migrations
+     * and should be turned off once tickets stored in the legacy layout have expired.
+     */
+    private boolean legacyKeyLayoutEnabled;
+
+    /**
+     * Number of tickets that are fetched or deleted in a single round trip
+     * when operating on many tickets at once, such as when tickets are cleaned,
+     * counted or listed for a principal. Larger batches reduce the number of
+     * round trips at the expense of larger responses from Redis.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Store tickets in Redis using their compact binary form, for ticket types
+     * that support it, rather than Java serialization. Tickets that are already
+     * stored using Java serialization can still be read once this setting is turned on,
+     * but tickets stored in binary form cannot be read by nodes that have this setting turned off.
+     */
+    private boolean binarySerializationEnabled;
+
+    /**
+     * Store the services tracked by ticket-granting tickets in a separate hash per ticket,
+     * rather than along with the ticket itself, so that granting a service ticket only appends
+     * to the hash instead of rewriting the ticket-granting ticket and every service it has tracked so far.
+     * Services are then also left out of the ticket-granting tickets that are embedded in service and proxy tickets.
+     * Nodes that do not support this layout do not see the services stored in the hash, which breaks single logout
+     * for those services, so this setting should only be turned on once all nodes have been upgraded.
+     * Tickets that carry ticket-granting tickets are stored using Java serialization when this setting is turned on.
+     */
+    private boolean trackedServicesStoredSeparately;
+
     public RedisTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
@@ -55,4 +55,12 @@ public class SamlCoreProperties implements Serializable {
      * Qualified name of the security manager class used for creating a SAML parser pool.
      */
     private String securityManager = "org.apache.xerces.util.SecurityManager";
+
+    /**
+     * Maximum number of bytes a deflated SAML message received over HTTP,
+     * such as an authentication request sent using the redirect binding,
+     * may inflate to. Larger messages are rejected rather than truncated.
+     * Zero or negative removes the limit.
+     */
+    private long maximumInflatedSize = 1_048_576;
 }
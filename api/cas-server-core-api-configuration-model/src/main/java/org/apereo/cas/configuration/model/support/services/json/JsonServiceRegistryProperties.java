@@ -31,6 +31,29 @@ public class JsonServiceRegistryProperties extends SpringResourceProperties {
      */
     private boolean watcherEnabled = true;
 
+    /**
+     * Number of threads used to parse service definition files
+     * when services are loaded. Zero or negative values
+     * use the number of available processors.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Path to a binary snapshot of parsed service definitions.
+     * When defined, the snapshot is read on startup so that unchanged
+     * service definition files need not be parsed again, and is rewritten
+     * whenever files are added, changed or removed. The snapshot
+     * must be placed in a location that is only writable by CAS.
+     */
+    private String snapshotLocation;
+
+    /**
+     * Key used to sign the snapshot of parsed service definitions using HMAC-SHA256.
+     * The signature is verified before the snapshot is read, and a snapshot that fails
+     * verification is ignored. The snapshot is only used when a key is defined.
+     */
+    private String snapshotSigningKey;
+
     public JsonServiceRegistryProperties() {
         setLocation(new ClassPathResource("services"));
     }
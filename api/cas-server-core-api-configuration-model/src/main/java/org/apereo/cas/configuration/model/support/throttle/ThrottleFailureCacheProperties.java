@@ -0,0 +1,51 @@
+package org.apereo.cas.configuration.model.support.throttle;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for the local cache of authentication failures
+ * that sits in front of throttling components backed by audit records.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-support-throttle")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ThrottleFailureCacheProperties")
+public class ThrottleFailureCacheProperties implements Serializable {
+    private static final long serialVersionUID = 2381468325619823740L;
+
+    /**
+     * Whether recent authentication failures should be cached on each node,
+     * keyed by client IP address and username. When enabled, audit records
+     * are only queried when a key is not found in the cache, when a key is close
+     * to reaching the failure threshold or when the cached entry must be reconciled.
+     * Failures recorded by other nodes are only picked up once an entry is reconciled,
+     * so a client that spreads its attempts across several nodes may go over the threshold
+     * for up to the reconcile interval before it is throttled. Only enable the cache
+     * when this trade-off is acceptable, or when requests of a client are routed to the same node.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of client IP address and username combinations to keep in the cache.
+     */
+    private long maximumSize = 100_000L;
+
+    /**
+     * Maximum amount of time a cached entry is used before it is
+     * reconciled with audit records, picking up failures that are recorded by other nodes.
+     */
+    @DurationCapable
+    private String reconcileInterval = "PT5S";
+}
@@ -32,6 +32,13 @@ public class ThrottleProperties implements Serializable {
     @NestedConfigurationProperty
     private ThrottleFailureProperties failure = new ThrottleFailureProperties();
 
+    /**
+     * Cache authentication failures locally
+     * in front of throttling components backed by audit records.
+     */
+    @NestedConfigurationProperty
+    private ThrottleFailureCacheProperties failureCache = new ThrottleFailureCacheProperties();
+
     /**
      * Record authentication throttling events in a JDBC resource.
      */
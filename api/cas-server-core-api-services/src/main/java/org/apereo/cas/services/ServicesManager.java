@@ -8,6 +8,7 @@ import org.springframework.core.Ordered;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -169,6 +170,10 @@ public interface ServicesManager extends Ordered {
      * Services that are returned are valid, non-expired, etc.
      * Operation should perform no reloads, and must return a cached
      * copy of services that are already loaded.
+     * <p>
+     * The returned collection is an unmodifiable, point-in-time view that may be
+     * shared with other callers and is not updated once services are reloaded or modified.
+     * Callers that need to change the collection must copy it first.
      *
      * @return the collection of all services.
      */
@@ -186,6 +191,48 @@ public interface ServicesManager extends Ordered {
      */
     <T extends RegisteredService> Collection<T> getAllServicesOfType(Class<T> clazz);
 
+    /**
+     * Find the first service of the given type, in evaluation order, whose key
+     * matches the given key, ignoring case. Implementations may keep an index of services
+     * by key under the given index name until services are loaded or modified,
+     * so the key extractor must produce the same key for a service every time
+     * it is used with the same index name.
+     *
+     * @param <T>          the type parameter
+     * @param indexName    the index name
+     * @param key          the key
+     * @param clazz        the type of registered service to return
+     * @param keyExtractor the function that produces the key of a service
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findServiceByIndexedKey(final String indexName, final String key,
+                                                                    final Class<T> clazz,
+                                                                    final Function<T, String> keyExtractor) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        return getAllServicesOfType(clazz)
+            .stream()
+            .filter(service -> key.equalsIgnoreCase(keyExtractor.apply(service)))
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * Gets the services of the given type that may match the given service identifier
+     * using their matching strategy, in evaluation order. Implementations may use an index
+     * to rule out services that cannot match; candidates must still be matched by the caller.
+     *
+     * @param <T>       the type parameter
+     * @param serviceId the service identifier
+     * @param clazz     the type of registered service to return
+     * @return the candidate services
+     */
+    default <T extends RegisteredService> Collection<T> getCandidateServicesOfType(final String serviceId,
+                                                                                   final Class<T> clazz) {
+        return getAllServicesOfType(clazz);
+    }
+
     /**
      * Gets services stream.
      * <p>
@@ -32,6 +32,18 @@ public interface ServicesManagerRegisteredServiceLocator extends Ordered {
      */
     boolean supports(RegisteredService registeredService, Service service);
 
+    /**
+     * Whether the registered service located for the given service request
+     * depends on nothing but the service identifier, allowing the outcome
+     * to be cached by that identifier.
+     *
+     * @param service the service
+     * @return true/false
+     */
+    default boolean isCacheable(final Service service) {
+        return false;
+    }
+
     @Override
     default int getOrder() {
         return Ordered.LOWEST_PRECEDENCE;
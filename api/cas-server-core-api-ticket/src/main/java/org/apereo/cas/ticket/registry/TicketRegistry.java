@@ -6,6 +6,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import org.jooq.lambda.Unchecked;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -93,6 +94,23 @@ public interface TicketRegistry {
      */
     int deleteTicket(Ticket ticketId) throws Exception;
 
+    /**
+     * Remove a collection of tickets from the registry, along with their children.
+     * Registries that are able to remove many entries at once should override
+     * this operation to issue bulk deletes.
+     *
+     * @param tickets the tickets to delete
+     * @return the number of tickets deleted including children.
+     * @throws Exception the exception
+     */
+    default int deleteTicketsInBulk(final Collection<? extends Ticket> tickets) throws Exception {
+        var count = 0;
+        for (final Ticket ticket : tickets) {
+            count += deleteTicket(ticket);
+        }
+        return count;
+    }
+
     /**
      * Delete all tickets from the registry.
      *
@@ -129,6 +147,38 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket) throws Exception;
 
+    /**
+     * Update the received ticket, only if the ticket stored in the registry
+     * is still at the given version. The version of a ticket is its {@link Ticket#getCountOfUses()},
+     * which is incremented every time the ticket is updated. Registries that are able to perform
+     * this operation atomically should override this operation along with {@link #isOptimisticLockingSupported()}.
+     * The default implementation compares and updates in separate steps and is not atomic.
+     *
+     * @param ticket          the ticket
+     * @param expectedVersion the version of the ticket as it was read from the registry
+     * @return true if the ticket was updated, or false if the stored ticket was changed or removed
+     * @throws Exception the exception
+     */
+    default boolean updateTicketIfVersion(final Ticket ticket, final long expectedVersion) throws Exception {
+        final Ticket current = getTicket(ticket.getId());
+        if (current == null || current.getCountOfUses() != expectedVersion) {
+            return false;
+        }
+        updateTicket(ticket);
+        return true;
+    }
+
+    /**
+     * Whether {@link #updateTicketIfVersion(Ticket, long)} is atomic in this registry,
+     * allowing callers to update tickets without obtaining a lock first
+     * and to retry the operation when a conflicting update is detected.
+     *
+     * @return true/false
+     */
+    default boolean isOptimisticLockingSupported() {
+        return false;
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -155,6 +205,37 @@ public interface TicketRegistry {
         return getTickets().stream();
     }
 
+    /**
+     * Gets tickets that are candidates for removal because they may have expired
+     * at the given instant. Registries that maintain an expiration index
+     * should override this operation to locate candidates using the index, without
+     * loading every ticket. Candidates may not have actually expired, and callers
+     * are expected to verify each ticket's expiration status.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param expirationTime the expiration time
+     * @return the tickets that may have expired
+     */
+    default Stream<? extends Ticket> getExpirationCandidates(final ZonedDateTime expirationTime) {
+        return stream().filter(Ticket::isExpired);
+    }
+
+    /**
+     * Delete tickets that have expired at the given instant and require no further
+     * processing once removed, without loading them from the registry. Tickets that must be processed
+     * upon removal, such as ticket-granting tickets that trigger single logout, are left in place and
+     * are expected to be located via {@link #getExpirationCandidates(ZonedDateTime)}.
+     * Registries that are able to remove expired entries using a query should override this operation.
+     *
+     * @param expirationTime the expiration time
+     * @return the number of tickets deleted
+     */
+    default long deleteExpiredTickets(final ZonedDateTime expirationTime) {
+        return 0;
+    }
+
     /**
      * Count the number of single sign-on sessions
      * that are recorded in the ticket registry for
@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.serialization;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.BinarySerializer;
 import org.apereo.cas.util.serialization.StringSerializer;
 
 /**
@@ -49,4 +50,27 @@ public interface TicketSerializationExecutionPlan {
      * @return the ticket serializer
      */
     StringSerializer<Ticket> getTicketSerializer(String clazz);
+
+    /**
+     * Register ticket binary serializer.
+     *
+     * @param serializer the serializer
+     */
+    void registerTicketBinarySerializer(BinarySerializer<? extends Ticket> serializer);
+
+    /**
+     * Register ticket binary serializer.
+     *
+     * @param typeToSerialize the type to serialize
+     * @param serializer      the serializer
+     */
+    void registerTicketBinarySerializer(String typeToSerialize, BinarySerializer<? extends Ticket> serializer);
+
+    /**
+     * Gets ticket binary serializer.
+     *
+     * @param clazz the clazz
+     * @return the ticket binary serializer, or null if none is registered
+     */
+    BinarySerializer<Ticket> getTicketBinarySerializer(String clazz);
 }
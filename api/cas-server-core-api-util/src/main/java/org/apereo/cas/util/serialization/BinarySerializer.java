@@ -0,0 +1,45 @@
+package org.apereo.cas.util.serialization;
+
+import java.io.Serializable;
+
+/**
+ * Interface to define operations needed to map objects from/to compact binary representations.
+ *
+ * @author Misagh Moayyed
+ * @param <T> the type parameter
+ * @since 6.6.0
+ */
+public interface BinarySerializer<T> extends Serializable {
+    /**
+     * Serialize the object.
+     *
+     * @param object the object
+     * @return the bytes
+     */
+    byte[] toBytes(T object);
+
+    /**
+     * Deserialize the object.
+     *
+     * @param data the data
+     * @return the object, or null if the data cannot be read
+     */
+    T from(byte[] data);
+
+    /**
+     * Whether the given data is recognized by this serializer.
+     *
+     * @param data the data
+     * @return true/false
+     */
+    default boolean supports(final byte[] data) {
+        return true;
+    }
+
+    /**
+     * The type of object to serialize.
+     *
+     * @return the type
+     */
+    Class<T> getTypeToSerialize();
+}
@@ -1,41 +1,75 @@
 package org.apereo.cas.audit.spi;
 
+import org.apereo.cas.configuration.model.core.audit.AuditAsynchronousQueueProperties;
+import org.apereo.cas.util.LoggingUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * Audit records that are saved asynchronously are placed into a bounded queue,
+ * from which a single worker thread takes them in batches and hands them over
+ * to {@link #saveAuditRecords(Collection)}.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
+@Slf4j
 @Setter
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@AllArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
 
     /**
      * Save records asynchronously.
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor(
-        r -> new Thread(r, "AuditTrailManagerThread"));
+    private AuditAsynchronousQueueProperties asynchronousQueue = new AuditAsynchronousQueueProperties();
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Object recordQueueLock = new Object();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile AuditRecordQueue recordQueue;
+
+    protected AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
+            getRecordQueue().add(audit);
         } else {
             saveAuditRecord(audit);
         }
@@ -43,7 +77,10 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
 
     @Override
     public void destroy() {
-        this.executorService.shutdown();
+        val queue = this.recordQueue;
+        if (queue != null) {
+            queue.shutdown();
+        }
     }
 
     /**
@@ -51,4 +88,135 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records that were recorded asynchronously.
+     * Audit storage services that support bulk operations should override
+     * this method; by default, records are saved one at a time.
+     *
+     * @param audits audit records to be saved
+     */
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        audits.forEach(this::saveAuditRecord);
+    }
+
+    private AuditRecordQueue getRecordQueue() {
+        var queue = this.recordQueue;
+        if (queue == null) {
+            synchronized (recordQueueLock) {
+                queue = this.recordQueue;
+                if (queue == null) {
+                    queue = new AuditRecordQueue();
+                    this.recordQueue = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    private final class AuditRecordQueue implements Runnable {
+        private final BlockingQueue<AuditActionContext> records;
+
+        private final int batchSize;
+
+        private final AuditAsynchronousQueueProperties.OverflowPolicies overflowPolicy;
+
+        private final Gauge queueSize;
+
+        private final Timer flushTimer;
+
+        private final Counter droppedCounter;
+
+        private final ExecutorService executorService = Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "AuditTrailManagerThread"));
+
+        private volatile boolean running = true;
+
+        AuditRecordQueue() {
+            this.records = new ArrayBlockingQueue<>(Math.max(asynchronousQueue.getCapacity(), 1));
+            this.batchSize = Math.max(asynchronousQueue.getBatchSize(), 1);
+            this.overflowPolicy = asynchronousQueue.getOverflowPolicy();
+
+            val type = AbstractAuditTrailManager.this.getClass().getSimpleName();
+            this.queueSize = Gauge.builder("cas.audit.queue.size", records, Collection::size)
+                .description("Number of audit records waiting to be saved")
+                .tag("type", type)
+                .register(meterRegistry);
+            this.flushTimer = Timer.builder("cas.audit.queue.flush")
+                .description("Time taken to save a batch of audit records")
+                .tag("type", type)
+                .register(meterRegistry);
+            this.droppedCounter = Counter.builder("cas.audit.queue.dropped")
+                .description("Number of audit records dropped because the queue was full")
+                .tag("type", type)
+                .register(meterRegistry);
+            executorService.execute(this);
+        }
+
+        void add(final AuditActionContext audit) {
+            if (!running) {
+                saveAuditRecord(audit);
+                return;
+            }
+            if (overflowPolicy == AuditAsynchronousQueueProperties.OverflowPolicies.DROP) {
+                if (!records.offer(audit)) {
+                    LOGGER.trace("Audit queue is full; dropping audit record [{}]", audit);
+                    droppedCounter.increment();
+                }
+                return;
+            }
+            try {
+                records.put(audit);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the audit queue; dropping audit record [{}]", audit);
+                droppedCounter.increment();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    val audit = records.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (audit != null) {
+                        val batch = new ArrayList<AuditActionContext>(batchSize);
+                        batch.add(audit);
+                        records.drainTo(batch, batchSize - 1);
+                        flush(batch);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            var batch = new ArrayList<AuditActionContext>(batchSize);
+            while (records.drainTo(batch, batchSize) > 0) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        void shutdown() {
+            running = false;
+            executorService.shutdown();
+            try {
+                if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Timed out waiting for [{}] queued audit record(s) to be saved", records.size());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            meterRegistry.remove(queueSize);
+        }
+
+        private void flush(final List<AuditActionContext> batch) {
+            try {
+                LOGGER.trace("Saving batch of [{}] audit record(s)", batch.size());
+                flushTimer.record(() -> saveAuditRecords(batch));
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+            }
+        }
+    }
 }
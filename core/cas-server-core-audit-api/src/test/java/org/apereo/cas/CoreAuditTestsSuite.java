@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.audit.spi.AbstractAuditTrailManagerTests;
 import org.apereo.cas.audit.spi.AuditActionContextJsonSerializerTests;
 import org.apereo.cas.audit.spi.FilterAndDelegateAuditTrailManagerTests;
 import org.apereo.cas.audit.spi.plan.DefaultAuditTrailRecordResolutionPlanTests;
@@ -28,7 +29,8 @@ import org.junit.platform.suite.api.Suite;
     ChainingAuditPrincipalIdProviderTests.class,
     CredentialsAsFirstParameterResourceResolverTests.class,
     FilterAndDelegateAuditTrailManagerTests.class,
-    MessageBundleAwareResourceResolverTests.class
+    MessageBundleAwareResourceResolverTests.class,
+    AbstractAuditTrailManagerTests.class
 })
 @Suite
 public class CoreAuditTestsSuite {
@@ -0,0 +1,139 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditAsynchronousQueueProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AbstractAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Audits")
+@SuppressWarnings("JavaUtilDate")
+public class AbstractAuditTrailManagerTests {
+
+    private static AuditActionContext getAuditActionContext() {
+        return new AuditActionContext("casuser", "TEST", "TEST",
+            "CAS", new Date(), "1.2.3.4",
+            "1.2.3.4", UUID.randomUUID().toString());
+    }
+
+    @Test
+    public void verifySynchronous() {
+        val manager = new BatchingAuditTrailManager(false);
+        manager.record(getAuditActionContext());
+        assertEquals(1, manager.getRecords().size());
+        assertTrue(manager.getBatches().isEmpty());
+    }
+
+    @Test
+    public void verifyBatches() throws Exception {
+        val manager = new BatchingAuditTrailManager(true);
+        manager.setMeterRegistry(new SimpleMeterRegistry());
+        manager.setAsynchronousQueue(new AuditAsynchronousQueueProperties().setBatchSize(10));
+        manager.getBlocked().countDown();
+        for (var i = 0; i < 55; i++) {
+            manager.record(getAuditActionContext());
+        }
+        manager.destroy();
+        assertEquals(55, manager.getRecords().size());
+        assertTrue(manager.getBatches().stream().allMatch(size -> size <= 10));
+        assertEquals(55, manager.getBatches().stream().mapToInt(Integer::intValue).sum());
+        assertNotNull(manager.getMeterRegistry().find("cas.audit.queue.flush").timer());
+        assertTrue(manager.getMeterRegistry().find("cas.audit.queue.flush").timer().count() > 0);
+    }
+
+    @Test
+    public void verifyDropWhenFull() throws Exception {
+        val manager = new BatchingAuditTrailManager(true);
+        val registry = new SimpleMeterRegistry();
+        manager.setMeterRegistry(registry);
+        manager.setAsynchronousQueue(new AuditAsynchronousQueueProperties()
+            .setCapacity(5)
+            .setBatchSize(1)
+            .setOverflowPolicy(AuditAsynchronousQueueProperties.OverflowPolicies.DROP));
+        manager.record(getAuditActionContext());
+        assertTrue(manager.getSaving().await(5, TimeUnit.SECONDS));
+        for (var i = 0; i < 10; i++) {
+            manager.record(getAuditActionContext());
+        }
+        assertEquals(5.0, registry.find("cas.audit.queue.size").gauge().value());
+        assertEquals(5.0, registry.find("cas.audit.queue.dropped").counter().count());
+        manager.getBlocked().countDown();
+        manager.destroy();
+        assertEquals(6, manager.getRecords().size());
+        assertNull(registry.find("cas.audit.queue.size").gauge());
+    }
+
+    @Test
+    public void verifySaveAfterDestroy() throws Exception {
+        val manager = new BatchingAuditTrailManager(true);
+        manager.setMeterRegistry(new SimpleMeterRegistry());
+        manager.getBlocked().countDown();
+        manager.record(getAuditActionContext());
+        manager.destroy();
+        manager.record(getAuditActionContext());
+        assertEquals(2, manager.getRecords().size());
+    }
+
+    @Getter
+    private static final class BatchingAuditTrailManager extends AbstractAuditTrailManager {
+        private final List<AuditActionContext> records = new CopyOnWriteArrayList<>();
+
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch saving = new CountDownLatch(1);
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        BatchingAuditTrailManager(final boolean asynchronous) {
+            super(asynchronous);
+        }
+
+        @Override
+        protected void saveAuditRecord(final AuditActionContext audit) {
+            records.add(audit);
+        }
+
+        @Override
+        protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+            saving.countDown();
+            try {
+                blocked.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(audits.size());
+            records.addAll(audits);
+        }
+
+        @Override
+        public Set<? extends AuditActionContext> getAuditRecords(final Map<WhereClauseFields, Object> whereClause) {
+            return Set.copyOf(records);
+        }
+
+        @Override
+        public void removeAll() {
+            records.clear();
+        }
+    }
+}
@@ -18,14 +18,19 @@ import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.annotation.Audit;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -33,11 +38,22 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultAuthenticationManager}, which provides common operations
  * around an authentication manager implementation.
+ * <p>
+ * Authentication handlers are invoked one at a time, in order. When an executor for concurrent
+ * handler execution is set, all handlers that support a credential are invoked at once,
+ * while their results are still processed in order; this means that failures, events
+ * and the selected authentication are the same as when handlers run one at a time,
+ * and handlers that are no longer needed once the authentication policy is satisfied are cancelled.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -45,7 +61,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class DefaultAuthenticationManager implements AuthenticationManager {
+public class DefaultAuthenticationManager implements AuthenticationManager, DisposableBean {
 
     private final AuthenticationEventExecutionPlan authenticationEventExecutionPlan;
 
@@ -53,6 +69,18 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
 
     private final ConfigurableApplicationContext applicationContext;
 
+    /**
+     * Executor used to invoke authentication handlers concurrently, if any.
+     */
+    @Setter
+    private ExecutorService concurrentHandlerExecutor;
+
+    /**
+     * Maximum time to wait for the results of handlers invoked concurrently, if any.
+     */
+    @Setter
+    private Duration concurrentHandlerTimeout;
+
     @Override
     @Audit(
         action = AuditableActions.AUTHENTICATION,
@@ -197,8 +225,24 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
                                                    final AuthenticationHandler handler) throws GeneralSecurityException, PreventedException {
 
         publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
-
         val result = handler.authenticate(credential);
+        addSuccessAndResolvePrincipal(builder, credential, resolver, handler, result);
+    }
+
+    /**
+     * Record the successful result of the handler and resolve the principal.
+     *
+     * @param builder    the builder
+     * @param credential the credential
+     * @param resolver   the resolver
+     * @param handler    the handler
+     * @param result     the handler result
+     */
+    protected void addSuccessAndResolvePrincipal(final AuthenticationBuilder builder,
+                                                 final Credential credential,
+                                                 final PrincipalResolver resolver,
+                                                 final AuthenticationHandler handler,
+                                                 final AuthenticationHandlerExecutionResult result) {
         val authenticationHandlerName = handler.getName();
         builder.addSuccess(authenticationHandlerName, result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", authenticationHandlerName, credential);
@@ -291,36 +335,13 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
                 val credential = it.next();
                 LOGGER.debug("Attempting to authenticate credential [{}]", credential);
 
-                val itHandlers = handlerSet.iterator();
-                var proceedWithNextHandler = true;
-                while (proceedWithNextHandler && itHandlers.hasNext()) {
-                    val handler = itHandlers.next();
-                    if (handler.supports(credential)) {
-                        try {
-                            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
-                            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
-                            authenticateAndResolvePrincipal(builder, credential, resolver, handler);
-
-                            val authnResult = builder.build();
-                            AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
-                            val executionResult = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
-                            proceedWithNextHandler = !executionResult.isSuccess();
-                        } catch (final GeneralSecurityException e) {
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = shouldAuthenticationChainProceedOnFailure(transaction, e);
-                        } catch (final Exception e) {
-                            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
-                                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
-                                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
-                                + "the authentication event.", credential, credential.getClass().getSimpleName());
-
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = shouldAuthenticationChainProceedOnFailure(transaction, e);
-                        }
-                    } else {
-                        LOGGER.debug("Authentication handler [{}] does not support the credential type [{}].",
-                            handler.getName(), credential);
-                    }
+                val supportingHandlers = concurrentHandlerExecutor == null
+                    ? List.<AuthenticationHandler>of()
+                    : handlerSet.stream().filter(handler -> handler.supports(credential)).collect(Collectors.toList());
+                if (supportingHandlers.size() > 1) {
+                    authenticateConcurrently(builder, credential, supportingHandlers, transaction, handlerSet);
+                } else {
+                    authenticateSequentially(builder, credential, transaction, handlerSet);
                 }
             }
             evaluateFinalAuthentication(builder, transaction, handlerSet);
@@ -330,6 +351,97 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    /**
+     * Authenticate the credential with each supporting handler, one at a time,
+     * until the authentication policy is satisfied.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param transaction the transaction
+     * @param handlerSet  the handler set
+     */
+    protected void authenticateSequentially(final AuthenticationBuilder builder,
+                                            final Credential credential,
+                                            final AuthenticationTransaction transaction,
+                                            final Set<AuthenticationHandler> handlerSet) {
+        val itHandlers = handlerSet.iterator();
+        var proceedWithNextHandler = true;
+        while (proceedWithNextHandler && itHandlers.hasNext()) {
+            val handler = itHandlers.next();
+            if (handler.supports(credential)) {
+                proceedWithNextHandler = invokeAuthenticationHandler(builder, credential, handler, transaction, handlerSet, () -> {
+                    val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                    authenticateAndResolvePrincipal(builder, credential, resolver, handler);
+                });
+            } else {
+                LOGGER.debug("Authentication handler [{}] does not support the credential type [{}].",
+                    handler.getName(), credential);
+            }
+        }
+    }
+
+    /**
+     * Authenticate the credential with all supporting handlers at once.
+     * Results are processed in the order of the handlers until the authentication policy
+     * is satisfied, after which handlers that are still running are cancelled.
+     * Handlers that do not produce a result before the timeout are cancelled and recorded as failures.
+     * The client info and request attributes of the calling thread are made available to each
+     * handler, and are restored once the handler is done, in case the handler runs on the calling thread.
+     *
+     * @param builder            the builder
+     * @param credential         the credential
+     * @param supportingHandlers the handlers that support the credential, in order
+     * @param transaction        the transaction
+     * @param handlerSet         the handler set
+     */
+    protected void authenticateConcurrently(final AuthenticationBuilder builder,
+                                            final Credential credential,
+                                            final List<AuthenticationHandler> supportingHandlers,
+                                            final AuthenticationTransaction transaction,
+                                            final Set<AuthenticationHandler> handlerSet) {
+        val callingThread = Thread.currentThread();
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        val requestAttributes = RequestContextHolder.getRequestAttributes();
+        val credentials = transaction.getCredentials();
+        val deadline = System.nanoTime() + getConcurrentHandlerTimeoutInNanos();
+        val results = supportingHandlers
+            .stream()
+            .map(handler -> concurrentHandlerExecutor.submit(() -> {
+                LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                if (Thread.currentThread() == callingThread) {
+                    return handler.authenticate(credential);
+                }
+                val previousClientInfo = ClientInfoHolder.getClientInfo();
+                val previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+                ClientInfoHolder.setClientInfo(clientInfo);
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                AuthenticationCredentialsThreadLocalBinder.bindCurrent(credentials);
+                try {
+                    return handler.authenticate(credential);
+                } finally {
+                    AuthenticationCredentialsThreadLocalBinder.clear();
+                    RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+                    ClientInfoHolder.setClientInfo(previousClientInfo);
+                }
+            }))
+            .collect(Collectors.toList());
+        try {
+            var proceedWithNextHandler = true;
+            for (var i = 0; proceedWithNextHandler && i < supportingHandlers.size(); i++) {
+                val handler = supportingHandlers.get(i);
+                val result = results.get(i);
+                proceedWithNextHandler = invokeAuthenticationHandler(builder, credential, handler, transaction, handlerSet, () -> {
+                    publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
+                    val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    addSuccessAndResolvePrincipal(builder, credential, resolver, handler, getAuthenticationHandlerResult(result, deadline));
+                });
+            }
+        } finally {
+            results.forEach(result -> result.cancel(true));
+        }
+    }
+
     /**
      * Evaluate produced authentication context.
      * We apply an implicit security policy of at least one successful authentication.
@@ -427,12 +539,78 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    @Override
+    public void destroy() {
+        if (concurrentHandlerExecutor != null) {
+            concurrentHandlerExecutor.shutdownNow();
+        }
+    }
+
+    private long getConcurrentHandlerTimeoutInNanos() {
+        return concurrentHandlerTimeout == null || concurrentHandlerTimeout.isNegative() || concurrentHandlerTimeout.isZero()
+            ? 0
+            : concurrentHandlerTimeout.toNanos();
+    }
+
+    private AuthenticationHandlerExecutionResult getAuthenticationHandlerResult(
+        final Future<AuthenticationHandlerExecutionResult> result, final long deadline) throws Exception {
+        try {
+            if (getConcurrentHandlerTimeoutInNanos() == 0) {
+                return result.get();
+            }
+            return result.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            result.cancel(true);
+            throw new PreventedException("Authentication handler did not complete within " + concurrentHandlerTimeout);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PreventedException(e);
+        } catch (final ExecutionException e) {
+            val cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new PreventedException(cause);
+        }
+    }
+
+    private boolean invokeAuthenticationHandler(final AuthenticationBuilder builder,
+                                                final Credential credential,
+                                                final AuthenticationHandler handler,
+                                                final AuthenticationTransaction transaction,
+                                                final Set<AuthenticationHandler> handlerSet,
+                                                final AuthenticationHandlerInvocation invocation) {
+        try {
+            invocation.invoke();
+            val authnResult = builder.build();
+            AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+            val executionResult = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
+            return !executionResult.isSuccess();
+        } catch (final GeneralSecurityException e) {
+            handleAuthenticationException(e, handler.getName(), builder);
+            return shouldAuthenticationChainProceedOnFailure(transaction, e);
+        } catch (final Exception e) {
+            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                + "the authentication event.", credential, credential.getClass().getSimpleName());
+
+            handleAuthenticationException(e, handler.getName(), builder);
+            return shouldAuthenticationChainProceedOnFailure(transaction, e);
+        }
+    }
+
     private boolean shouldAuthenticationChainProceedOnFailure(final AuthenticationTransaction transaction,
                                                               final Throwable failure) {
         val policies = authenticationEventExecutionPlan.getAuthenticationPolicies(transaction);
         return policies.stream().anyMatch(policy -> policy.shouldResumeOnFailure(failure));
     }
 
+    @FunctionalInterface
+    private interface AuthenticationHandlerInvocation {
+        void invoke() throws Exception;
+    }
+
     @Getter
     private static class ChainingAuthenticationPolicyExecutionResult {
         private List<AuthenticationPolicyExecutionResult> results = new ArrayList<>();
@@ -4,16 +4,24 @@ import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.PrincipalAttributesRepositoryCache;
 import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.util.DigestUtils;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -21,38 +29,51 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link DefaultPrincipalAttributesRepositoryCache}.
+ * Attributes are kept in a single cache that is shared by all registered services,
+ * keyed by the registered service id and name and the principal id. The cache is bounded
+ * by the total number of cached attribute values rather than by the number of principals per service,
+ * while each entry expires according to the caching policy of the service that produced it.
  *
  * @author Misagh Moayyed
  * @since 6.1.0
  */
 @Slf4j
 public class DefaultPrincipalAttributesRepositoryCache implements PrincipalAttributesRepositoryCache, Closeable {
-    private static final int DEFAULT_MAXIMUM_CACHE_SIZE = 1_000;
+    /**
+     * Default maximum number of attribute values that may be cached across all services.
+     */
+    public static final long DEFAULT_MAXIMUM_CACHE_WEIGHT = 1_000_000;
 
     private static final String DEFAULT_CACHE_EXPIRATION_UNIT = TimeUnit.HOURS.name();
 
-    private final Map<String, Cache<String, Map<String, List<Object>>>> registeredServicesCache = new HashMap<>(0);
+    private final Cache<CacheKey, CachedAttributes> cache;
 
-    /**
-     * Build registered service cache key string.
-     *
-     * @param registeredService the registered service
-     * @return the string
-     */
-    private static String buildRegisteredServiceCacheKey(final RegisteredService registeredService) {
-        val key = registeredService.getId() + '@' + registeredService.getName();
-        return DigestUtils.sha512(key);
+    public DefaultPrincipalAttributesRepositoryCache() {
+        this(DEFAULT_MAXIMUM_CACHE_WEIGHT, Metrics.globalRegistry);
+    }
+
+    public DefaultPrincipalAttributesRepositoryCache(final long maximumWeight, final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((CacheKey key, CachedAttributes value) -> value.getWeight())
+            .expireAfter(new CachedAttributesExpirationPolicy())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalAttributesRepositoryCache");
     }
-    
-    private static Cache<String, Map<String, List<Object>>> initializeCache(
-        final RegisteredServicePrincipalAttributesRepository repository) {
+
+    private static long getExpiration(final RegisteredServicePrincipalAttributesRepository repository) {
         val cachedRepository = CachingPrincipalAttributesRepository.class.cast(repository);
         val unit = TimeUnit.valueOf(StringUtils.defaultString(cachedRepository.getTimeUnit(), DEFAULT_CACHE_EXPIRATION_UNIT));
-        return Caffeine.newBuilder()
-            .initialCapacity(DEFAULT_MAXIMUM_CACHE_SIZE)
-            .maximumSize(DEFAULT_MAXIMUM_CACHE_SIZE)
-            .expireAfterWrite(cachedRepository.getExpiration(), unit)
-            .build(s -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+        return unit.toNanos(cachedRepository.getExpiration());
+    }
+
+    private static int getWeight(final Map<String, List<Object>> attributes) {
+        var weight = 1;
+        for (val values : attributes.values()) {
+            weight += values == null ? 1 : Math.max(values.size(), 1);
+        }
+        return weight;
     }
 
     @Override
@@ -65,44 +86,88 @@ public class DefaultPrincipalAttributesRepositoryCache implements PrincipalAttri
      */
     @Override
     public void invalidate() {
-        registeredServicesCache.values().forEach(Cache::invalidateAll);
+        cache.invalidateAll();
     }
 
     @Override
     public Map<String, List<Object>> fetchAttributes(final RegisteredService registeredService,
                                                      final RegisteredServicePrincipalAttributesRepository repository,
                                                      final Principal principal) {
-        val cache = getRegisteredServiceCacheInstance(registeredService, repository);
-        return cache.get(principal.getId(), s -> {
+        val cached = cache.getIfPresent(new CacheKey(registeredService.getId(), registeredService.getName(), principal.getId()));
+        if (cached == null) {
             LOGGER.debug("No cached attributes could be found for [{}]", principal.getId());
             return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        });
+        }
+        return cached.getAttributes();
     }
 
     @Override
     public void putAttributes(final RegisteredService registeredService,
                               final RegisteredServicePrincipalAttributesRepository repository,
                               final String id, final Map<String, List<Object>> attributes) {
-        val cache = getRegisteredServiceCacheInstance(registeredService, repository);
-        cache.put(id, attributes);
+        val expiration = getExpiration(repository);
+        if (expiration > 0) {
+            cache.put(new CacheKey(registeredService.getId(), registeredService.getName(), id),
+                new CachedAttributes(attributes, expiration, getWeight(attributes)));
+        }
     }
 
     /**
-     * Gets registered service cache instance.
+     * Gets statistics.
      *
-     * @param registeredService the registered service
-     * @param repository        the repository
-     * @return the registered service cache instance
+     * @return the statistics
      */
-    private Cache<String, Map<String, List<Object>>> getRegisteredServiceCacheInstance(
-        final RegisteredService registeredService, final RegisteredServicePrincipalAttributesRepository repository) {
+    CacheStats getCacheStatistics() {
+        return cache.stats();
+    }
+
+    /**
+     * Number of cached entries.
+     *
+     * @return the size
+     */
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @ToString
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class CacheKey {
+        private final long registeredServiceId;
+
+        private final String registeredServiceName;
+
+        private final String principalId;
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static final class CachedAttributes {
+        private final Map<String, List<Object>> attributes;
+
+        private final long expiration;
+
+        private final int weight;
+    }
+
+    private static final class CachedAttributesExpirationPolicy implements Expiry<CacheKey, CachedAttributes> {
+        @Override
+        public long expireAfterCreate(@NonNull final CacheKey key, @NonNull final CachedAttributes value, final long currentTime) {
+            return value.getExpiration();
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull final CacheKey key, @NonNull final CachedAttributes value,
+                                      final long currentTime, final long currentDuration) {
+            return value.getExpiration();
+        }
 
-        val key = buildRegisteredServiceCacheKey(registeredService);
-        if (registeredServicesCache.containsKey(key)) {
-            return registeredServicesCache.get(key);
+        @Override
+        public long expireAfterRead(@NonNull final CacheKey key, @NonNull final CachedAttributes value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
         }
-        val cache = initializeCache(repository);
-        registeredServicesCache.put(key, cache);
-        return cache;
     }
 }
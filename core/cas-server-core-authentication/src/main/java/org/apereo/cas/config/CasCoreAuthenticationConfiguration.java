@@ -13,6 +13,7 @@ import org.apereo.cas.authentication.DefaultAuthenticationResultBuilderFactory;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionFactory;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.util.model.TriStateBoolean;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
@@ -33,9 +34,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link CasCoreAuthenticationConfiguration}.
@@ -106,7 +111,18 @@ public class CasCoreAuthenticationConfiguration {
             @Qualifier(AuthenticationEventExecutionPlan.DEFAULT_BEAN_NAME)
             final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
             val isFatal = casProperties.getPersonDirectory().getPrincipalResolutionFailureFatal() == TriStateBoolean.TRUE;
-            return new DefaultAuthenticationManager(authenticationEventExecutionPlan, isFatal, applicationContext);
+            val manager = new DefaultAuthenticationManager(authenticationEventExecutionPlan, isFatal, applicationContext);
+            val engine = casProperties.getAuthn().getCore().getEngine();
+            if (engine.isConcurrentHandlerExecution()) {
+                val poolSize = Math.max(engine.getConcurrentHandlerPoolSize(), 1);
+                val executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(Math.max(engine.getConcurrentHandlerQueueCapacity(), 1)),
+                    new CustomizableThreadFactory("cas-authn-handler-"), new ThreadPoolExecutor.CallerRunsPolicy());
+                executor.allowCoreThreadTimeOut(true);
+                manager.setConcurrentHandlerExecutor(executor);
+                manager.setConcurrentHandlerTimeout(Beans.newDuration(engine.getConcurrentHandlerTimeout()));
+            }
+            return manager;
         }
     }
 
@@ -18,18 +18,30 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.security.auth.login.FailedLoginException;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -418,4 +430,136 @@ public class DefaultAuthenticationManagerTests {
         assertEquals(1, auth.getFailures().size());
         assertEquals(2, auth.getCredentials().size());
     }
+
+    @Test
+    public void verifyConcurrentHandlersProcessedInOrder() throws Exception {
+        val failing = mock(AuthenticationHandler.class);
+        when(failing.getName()).thenReturn(HANDLER_A);
+        when(failing.supports(any(Credential.class))).thenReturn(true);
+        when(failing.authenticate(any(Credential.class))).thenAnswer(args -> {
+            Thread.sleep(200);
+            throw new FailedLoginException();
+        });
+        val succeeding = newMockHandler(HANDLER_B, true);
+
+        val interrupted = new CountDownLatch(1);
+        val blocking = mock(AuthenticationHandler.class);
+        when(blocking.getName()).thenReturn("HandlerC");
+        when(blocking.supports(any(Credential.class))).thenReturn(true);
+        when(blocking.authenticate(any(Credential.class))).thenAnswer(args -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new FailedLoginException();
+        });
+
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(failing, null);
+        map.put(succeeding, null);
+        map.put(blocking, null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setConcurrentHandlerExecutor(Executors.newFixedThreadPool(3));
+        try {
+            val testTransaction = new DefaultAuthenticationTransactionFactory()
+                .newTransaction(CoreAuthenticationTestUtils.getService(), mock(Credential.class, withSettings().serializable()));
+            val auth = manager.authenticate(testTransaction);
+            assertEquals(Set.of(HANDLER_B), auth.getSuccesses().keySet());
+            assertEquals(Set.of(HANDLER_A), auth.getFailures().keySet());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyConcurrentHandlersFail() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newMockHandler(HANDLER_A, false), null);
+        map.put(newMockHandler(HANDLER_B, false, true), null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setConcurrentHandlerExecutor(Executors.newFixedThreadPool(2));
+        try {
+            val e = assertThrows(AuthenticationException.class, () -> manager.authenticate(transaction));
+            assertEquals(Set.of(HANDLER_A, HANDLER_B), e.getHandlerErrors().keySet());
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyConcurrentHandlersTimeout() throws Exception {
+        val blocking = mock(AuthenticationHandler.class);
+        when(blocking.getName()).thenReturn(HANDLER_A);
+        when(blocking.supports(any(Credential.class))).thenReturn(true);
+        when(blocking.authenticate(any(Credential.class))).thenAnswer(args -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            throw new FailedLoginException();
+        });
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(blocking, null);
+        map.put(newMockHandler(HANDLER_B, true), null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setConcurrentHandlerExecutor(Executors.newFixedThreadPool(2));
+        manager.setConcurrentHandlerTimeout(Duration.ofMillis(500));
+        try {
+            val testTransaction = new DefaultAuthenticationTransactionFactory()
+                .newTransaction(CoreAuthenticationTestUtils.getService(), mock(Credential.class, withSettings().serializable()));
+            val auth = manager.authenticate(testTransaction);
+            assertEquals(Set.of(HANDLER_B), auth.getSuccesses().keySet());
+            assertEquals(Set.of(HANDLER_A), auth.getFailures().keySet());
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyConcurrentHandlersRunOnCallerWhenSaturated() throws Exception {
+        val request = new MockHttpServletRequest();
+        request.setRemoteAddr("185.86.151.11");
+        val requestAttributes = new ServletRequestAttributes(request);
+        val clientInfo = new ClientInfo(request);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        ClientInfoHolder.setClientInfo(clientInfo);
+
+        val observed = new CopyOnWriteArrayList<Boolean>();
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        for (var i = 0; i < 4; i++) {
+            val handler = mock(AuthenticationHandler.class);
+            when(handler.getName()).thenReturn("Handler" + i);
+            when(handler.supports(any(Credential.class))).thenReturn(true);
+            when(handler.authenticate(any(Credential.class))).thenAnswer(args -> {
+                observed.add(RequestContextHolder.getRequestAttributes() == requestAttributes
+                    && ClientInfoHolder.getClientInfo() == clientInfo);
+                Thread.sleep(100);
+                throw new FailedLoginException();
+            });
+            map.put(handler, null);
+        }
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setConcurrentHandlerExecutor(new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(1), new ThreadPoolExecutor.CallerRunsPolicy()));
+        try {
+            val testTransaction = new DefaultAuthenticationTransactionFactory()
+                .newTransaction(CoreAuthenticationTestUtils.getService(), mock(Credential.class, withSettings().serializable()));
+            val e = assertThrows(AuthenticationException.class, () -> manager.authenticate(testTransaction));
+            assertEquals(4, e.getHandlerErrors().size());
+            assertEquals(List.of(true, true, true, true), observed);
+            assertSame(requestAttributes, RequestContextHolder.getRequestAttributes());
+            assertSame(clientInfo, ClientInfoHolder.getClientInfo());
+        } finally {
+            manager.destroy();
+            RequestContextHolder.resetRequestAttributes();
+            ClientInfoHolder.clear();
+        }
+    }
 }
@@ -19,7 +19,14 @@ import org.springframework.context.ApplicationEvent;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -37,12 +44,25 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public abstract class AbstractServicesManager implements ServicesManager {
+    private static final String METRIC_SERVICE_RESOLUTION = "cas.services.manager.resolution";
 
     /**
      * The Configuration context.
      */
     protected final ServicesManagerConfigurationContext configurationContext;
 
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong serviceResolutionCacheGeneration = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<List<RegisteredService>> servicesSnapshot = new AtomicReference<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, RegisteredServiceKeyIndex> keyIndexes = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, RegisteredServiceMatchingIndex> typedMatchingIndexes = new ConcurrentHashMap<>();
+
     private static Predicate<RegisteredService> getRegisteredServicesFilteringPredicate(
         final Predicate<RegisteredService>... p) {
         val predicates = Stream.of(p).collect(Collectors.toCollection(ArrayList::new));
@@ -58,7 +78,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
     public synchronized RegisteredService save(final RegisteredService registeredService, final boolean publishEvent) {
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = configurationContext.getServiceRegistry().save(registeredService);
-        cacheRegisteredService(r);
+        cacheRegisteredServices(List.of(r));
         saveInternal(registeredService);
 
         if (publishEvent) {
@@ -71,35 +91,40 @@ public abstract class AbstractServicesManager implements ServicesManager {
     public void save(final Supplier<RegisteredService> supplier,
                      final Consumer<RegisteredService> andThenConsume,
                      final long countExclusive) {
+        val savedServices = new ArrayList<RegisteredService>();
         configurationContext.getServiceRegistry().save(() -> {
             val registeredService = supplier.get();
             if (registeredService != null) {
                 publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
-                cacheRegisteredService(registeredService);
+                cacheRegisteredServices(List.of(registeredService), false);
                 saveInternal(registeredService);
-                publishEvent(new CasRegisteredServiceSavedEvent(this, registeredService));
+                savedServices.add(registeredService);
                 return registeredService;
             }
             return null;
         }, andThenConsume, countExclusive);
+        updateServicesSnapshot(savedServices, List.of());
+        savedServices.forEach(registeredService -> publishEvent(new CasRegisteredServiceSavedEvent(this, registeredService)));
     }
 
     @Override
     public void save(final Stream<RegisteredService> toSave) {
         val resultingStream = toSave.peek(registeredService ->
             publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService)));
-        configurationContext.getServiceRegistry().save(resultingStream)
-            .forEach(r -> {
-                cacheRegisteredService(r);
-                saveInternal(r);
-                publishEvent(new CasRegisteredServiceSavedEvent(this, r));
-            });
+        val savedServices = configurationContext.getServiceRegistry().save(resultingStream)
+            .collect(Collectors.toList());
+        cacheRegisteredServices(savedServices);
+        savedServices.forEach(r -> {
+            saveInternal(r);
+            publishEvent(new CasRegisteredServiceSavedEvent(this, r));
+        });
     }
 
     @Override
     public synchronized void deleteAll() {
-        configurationContext.getServicesCache().asMap().forEach((k, v) -> delete(v));
+        configurationContext.getServicesCache().asMap().forEach((k, v) -> deleteService(v));
         configurationContext.getServicesCache().invalidateAll();
+        servicesSnapshot.updateAndGet(current -> current == null ? null : List.of());
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
@@ -115,6 +140,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             configurationContext.getServiceRegistry().delete(service);
             configurationContext.getServicesCache().invalidate(service.getId());
+            updateServicesSnapshot(List.of(), List.of(service));
             deleteInternal(service);
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
@@ -126,7 +152,37 @@ public abstract class AbstractServicesManager implements ServicesManager {
         if (service == null) {
             return null;
         }
+        val cache = configurationContext.getServiceResolutionCache();
+        if (cache == null || StringUtils.isBlank(service.getId()) || !isServiceResolutionCacheable(service)) {
+            return locateServiceBy(service);
+        }
+        val meterRegistry = configurationContext.getMeterRegistry();
+        val startTime = System.nanoTime();
+        val cachedResult = cache.getIfPresent(service.getId());
+        if (cachedResult != null) {
+            LOGGER.trace("Service [{}] resolution is found in cache as [{}]", service.getId(), cachedResult);
+            val result = cachedResult.map(this::checkServiceExpirationPolicyIfAny).orElse(null);
+            meterRegistry.timer(METRIC_SERVICE_RESOLUTION, "result", "hit").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return result;
+        }
+        val generation = serviceResolutionCacheGeneration.get();
+        val result = locateServiceBy(service);
+        cache.put(service.getId(), Optional.ofNullable(result));
+        if (generation != serviceResolutionCacheGeneration.get()) {
+            cache.invalidate(service.getId());
+        }
+        meterRegistry.timer(METRIC_SERVICE_RESOLUTION, "result", "miss").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return result;
+    }
 
+    /**
+     * Locate the registered service for the service request
+     * by running candidate services through the registered service locators.
+     *
+     * @param service the service
+     * @return the registered service, or null
+     */
+    protected RegisteredService locateServiceBy(final Service service) {
         val candidates = getCandidateServicesToMatch(service.getId());
         var foundService = configurationContext.getRegisteredServiceLocators()
             .stream()
@@ -147,7 +203,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
                     .map(locator -> {
                         LOGGER.debug("Service [{}] is found in service registry and can be supported by [{}]",
                             registeredService, locator.getName());
-                        cacheRegisteredService(registeredService);
+                        cacheRegisteredServices(List.of(registeredService));
                         LOGGER.trace("Service [{}] is now cached from [{}]", service, serviceRegistry.getName());
                         return Optional.of(registeredService);
                     })
@@ -170,6 +226,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             peek(RegisteredService::initialize).
             collect(Collectors.toMap(RegisteredService::getId, Function.identity(), (r, s) -> s));
         configurationContext.getServicesCache().putAll(results);
+        updateServicesSnapshot(results.values(), List.of());
         return results.values();
     }
 
@@ -188,7 +245,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
     @Override
     public RegisteredService findServiceBy(final long id) {
         val result = configurationContext.getServicesCache().get(id,
-            k -> configurationContext.getServiceRegistry().findServiceById(id));
+            k -> addToServicesSnapshot(configurationContext.getServiceRegistry().findServiceById(id)));
         return validateRegisteredService(result);
     }
 
@@ -201,7 +258,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         LOGGER.trace("The service with id [{}] and type [{}] is not found in the cache; trying to find it from [{}]",
             id, clazz, configurationContext.getServiceRegistry().getName());
         service = configurationContext.getServicesCache().get(id,
-            k -> configurationContext.getServiceRegistry().findServiceById(id, clazz));
+            k -> addToServicesSnapshot(configurationContext.getServiceRegistry().findServiceById(id, clazz)));
         return (T) validateRegisteredService(service);
     }
 
@@ -217,7 +274,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             LOGGER.trace("The service with name [{}] is not found in the cache; trying to find it from [{}]", name, registry.getName());
             service = registry.findServiceByExactServiceName(name);
             if (service != null) {
-                cacheRegisteredService(service);
+                cacheRegisteredServices(List.of(service));
                 LOGGER.trace("The service is found in [{}] and populated to the cache [{}]", registry.getName(), service);
             }
         }
@@ -241,7 +298,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             name, clazz, configurationContext.getServiceRegistry().getName());
         service = configurationContext.getServiceRegistry().findServiceByExactServiceName(name, clazz);
         if (service != null) {
-            cacheRegisteredService(service);
+            cacheRegisteredServices(List.of(service));
             LOGGER.trace("The service is found in [{}] and populated to the cache [{}]",
                 configurationContext.getServiceRegistry().getName(), service);
         }
@@ -250,32 +307,86 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     @Override
     public Collection<RegisteredService> getAllServices() {
-        return getCacheableServicesStream()
+        val snapshot = servicesSnapshot.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        val services = getCacheableServicesStream()
             .get()
             .filter(this::validateAndFilterServiceByEnvironment)
             .filter(getRegisteredServicesFilteringPredicate())
             .sorted()
             .peek(RegisteredService::initialize)
-            .peek(this::cacheRegisteredService)
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
+        cacheRegisteredServices(services);
+        return services;
     }
 
     @Override
     public Collection<RegisteredService> getAllServicesOfType(final Class clazz) {
         if (supports(clazz)) {
-            return getCacheableServicesStream()
+            val snapshot = servicesSnapshot.get();
+            if (snapshot != null) {
+                return snapshot
+                    .stream()
+                    .filter(s -> clazz.isAssignableFrom(s.getClass()))
+                    .collect(Collectors.toList());
+            }
+            val services = getCacheableServicesStream()
                 .get()
                 .filter(s -> clazz.isAssignableFrom(s.getClass()))
                 .filter(this::validateAndFilterServiceByEnvironment)
                 .filter(getRegisteredServicesFilteringPredicate())
                 .sorted()
                 .peek(RegisteredService::initialize)
-                .peek(this::cacheRegisteredService)
                 .collect(Collectors.toList());
+            cacheRegisteredServices(services);
+            return services;
         }
         return new ArrayList<>();
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceByIndexedKey(final String indexName, final String key,
+                                                                   final Class<T> clazz,
+                                                                   final Function<T, String> keyExtractor) {
+        if (StringUtils.isBlank(key) || !supports(clazz)) {
+            return null;
+        }
+        val snapshot = servicesSnapshot.get();
+        if (snapshot == null) {
+            return ServicesManager.super.findServiceByIndexedKey(indexName, key, clazz, keyExtractor);
+        }
+        val name = clazz.getName() + ':' + indexName;
+        var index = keyIndexes.get(name);
+        if (index == null || index.getRegisteredServices() != snapshot) {
+            index = new RegisteredServiceKeyIndex(snapshot,
+                service -> clazz.isAssignableFrom(service.getClass()) ? keyExtractor.apply(clazz.cast(service)) : null);
+            keyIndexes.put(name, index);
+        }
+        return clazz.cast(index.get(key));
+    }
+
+    @Override
+    public <T extends RegisteredService> Collection<T> getCandidateServicesOfType(final String serviceId, final Class<T> clazz) {
+        if (!supports(clazz)) {
+            return new ArrayList<>(0);
+        }
+        val snapshot = servicesSnapshot.get();
+        if (snapshot == null) {
+            return ServicesManager.super.getCandidateServicesOfType(serviceId, clazz);
+        }
+        var index = typedMatchingIndexes.get(clazz);
+        if (index == null || index.getRegisteredServices() != snapshot) {
+            index = new RegisteredServiceMatchingIndex(snapshot, clazz);
+            typedMatchingIndexes.put(clazz, index);
+        }
+        return index.getCandidates(serviceId)
+            .stream()
+            .map(clazz::cast)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public Stream<? extends RegisteredService> stream() {
         return configurationContext.getServiceRegistry().getServicesStream();
@@ -284,8 +395,9 @@ public abstract class AbstractServicesManager implements ServicesManager {
     /**
      * For the duration of the read, the cache store should not remain empty.
      * Otherwise, lookup operations during that loading time window might produce
-     * unauthorized failure errors. Invalidation attempts must happen after the load
-     * to minimize chances of failures.
+     * unauthorized failure errors. Loaded services are compared against the cached services,
+     * and only services that are added, changed or removed are swapped in or evicted.
+     * When nothing has changed, the services snapshot and the service resolution cache are left alone.
      */
     @Override
     public synchronized Collection<RegisteredService> load() {
@@ -300,14 +412,37 @@ public abstract class AbstractServicesManager implements ServicesManager {
                     r.getServiceId(), r.getName(), r.getId());
                 return r.getId();
             }, Function.identity(), (r, s) -> s));
-        configurationContext.getServicesCache().invalidateAll();
-        configurationContext.getServicesCache().putAll(servicesMap);
-        loadInternal();
-        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+
+        val servicesCache = configurationContext.getServicesCache();
+        val cachedServices = servicesCache.asMap();
+        val removedServices = cachedServices.keySet()
+            .stream()
+            .filter(id -> !servicesMap.containsKey(id))
+            .collect(Collectors.toList());
+        val changedServices = servicesMap.values()
+            .stream()
+            .filter(service -> !service.equals(cachedServices.get(service.getId())))
+            .collect(Collectors.toList());
+        servicesCache.invalidateAll(removedServices);
+        servicesCache.putAll(servicesMap);
+
+        if (servicesSnapshot.get() == null || !removedServices.isEmpty() || !changedServices.isEmpty()) {
+            LOGGER.debug("Loaded [{}] new or changed service(s) and removed [{}] service(s)",
+                changedServices.size(), removedServices.size());
+            servicesSnapshot.set(servicesMap.values()
+                .stream()
+                .sorted()
+                .peek(RegisteredService::initialize)
+                .collect(Collectors.toUnmodifiableList()));
+            loadInternal();
+            publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        } else {
+            LOGGER.trace("No changes were found in services loaded from [{}]", configurationContext.getServiceRegistry().getName());
+        }
         evaluateExpiredServiceDefinitions();
-        LOGGER.info("Loaded [{}] service(s) from [{}].", configurationContext.getServicesCache().asMap().size(),
+        LOGGER.info("Loaded [{}] service(s) from [{}].", servicesCache.asMap().size(),
             configurationContext.getServiceRegistry().getName());
-        return configurationContext.getServicesCache().asMap().values();
+        return servicesCache.asMap().values();
     }
 
     @Override
@@ -353,10 +488,67 @@ public abstract class AbstractServicesManager implements ServicesManager {
     protected void loadInternal(final RegisteredService service) {
     }
 
-    private void cacheRegisteredService(final RegisteredService service) {
-        if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
-            configurationContext.getServicesCache().put(service.getId(), service);
+    private void cacheRegisteredServices(final Collection<RegisteredService> services) {
+        cacheRegisteredServices(services, true);
+    }
+
+    private void cacheRegisteredServices(final Collection<RegisteredService> services, final boolean updateSnapshot) {
+        services.forEach(service -> {
+            if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
+                configurationContext.getServicesCache().put(service.getId(), service);
+            }
+        });
+        if (updateSnapshot) {
+            updateServicesSnapshot(services, List.of());
+        }
+    }
+
+    private void deleteService(final RegisteredService service) {
+        publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
+        configurationContext.getServiceRegistry().delete(service);
+        deleteInternal(service);
+        publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
+    }
+
+    private RegisteredService addToServicesSnapshot(final RegisteredService service) {
+        if (service != null) {
+            updateServicesSnapshot(List.of(service), List.of());
         }
+        return service;
+    }
+
+    /**
+     * Replace the snapshot of services with a single copy that contains the included services
+     * and excludes the removed services, so a whole operation costs one copy of the snapshot.
+     * Readers always observe a complete, sorted snapshot and are never blocked by the update.
+     * The snapshot is left alone until services are loaded for the first time.
+     *
+     * @param included the services that should be included in the snapshot
+     * @param removed  the services that should be removed from the snapshot
+     */
+    private void updateServicesSnapshot(final Collection<RegisteredService> included,
+                                        final Collection<RegisteredService> removed) {
+        if (included.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        val replacedIds = Stream.concat(included.stream(), removed.stream())
+            .map(RegisteredService::getId)
+            .collect(Collectors.toSet());
+        val eligible = included
+            .stream()
+            .filter(this::validateAndFilterServiceByEnvironment)
+            .peek(RegisteredService::initialize)
+            .collect(Collectors.toList());
+        servicesSnapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            val services = new ArrayList<RegisteredService>(current.size() + eligible.size());
+            current.stream().filter(s -> !replacedIds.contains(s.getId())).forEach(services::add);
+            services.addAll(eligible);
+            Collections.sort(services);
+            return Collections.unmodifiableList(services);
+        });
     }
 
     private void evaluateExpiredServiceDefinitions() {
@@ -403,7 +595,27 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return registeredService;
     }
 
+    private boolean isServiceResolutionCacheable(final Service service) {
+        return configurationContext.getRegisteredServiceLocators()
+            .stream()
+            .allMatch(locator -> locator.isCacheable(service));
+    }
+
+    private void invalidateServiceResolutionCache() {
+        keyIndexes.clear();
+        typedMatchingIndexes.clear();
+        val cache = configurationContext.getServiceResolutionCache();
+        if (cache != null) {
+            serviceResolutionCacheGeneration.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
     private void publishEvent(final ApplicationEvent event) {
+        if (event instanceof CasRegisteredServiceSavedEvent || event instanceof CasRegisteredServiceDeletedEvent
+            || event instanceof CasRegisteredServicesDeletedEvent || event instanceof CasRegisteredServicesLoadedEvent) {
+            invalidateServiceResolutionCache();
+        }
         if (configurationContext.getApplicationContext() != null) {
             configurationContext.getApplicationContext().publishEvent(event);
         }
@@ -435,12 +647,26 @@ public abstract class AbstractServicesManager implements ServicesManager {
             .orElse(null);
     }
 
+    /**
+     * Gets the immutable snapshot of services, sorted by evaluation order and initialized.
+     * The snapshot is replaced atomically once services are loaded or modified.
+     *
+     * @return the services snapshot, or null if services are yet to be loaded
+     */
+    protected List<RegisteredService> getServicesSnapshot() {
+        return servicesSnapshot.get();
+    }
+
     /**
      * Gets cacheable services stream.
      *
      * @return the cacheable services stream
      */
     protected Supplier<Stream<RegisteredService>> getCacheableServicesStream() {
+        val snapshot = servicesSnapshot.get();
+        if (snapshot != null) {
+            return snapshot::stream;
+        }
         configurationContext.getServicesCache().cleanUp();
         val size = configurationContext.getServicesCache().estimatedSize();
         if (size <= 0) {
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -153,7 +154,7 @@ public class DefaultChainingServicesManager implements ChainingServicesManager {
     public Collection<RegisteredService> getAllServices() {
         return serviceManagers.stream()
             .flatMap(s -> s.getAllServices().stream())
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
     }
 
     @Override
@@ -164,6 +165,26 @@ public class DefaultChainingServicesManager implements ChainingServicesManager {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceByIndexedKey(final String indexName, final String key,
+                                                                   final Class<T> clazz,
+                                                                   final Function<T, String> keyExtractor) {
+        return serviceManagers.stream()
+            .filter(s -> s.supports(clazz))
+            .map(s -> s.findServiceByIndexedKey(indexName, key, clazz, keyExtractor))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Override
+    public <T extends RegisteredService> Collection<T> getCandidateServicesOfType(final String serviceId, final Class<T> clazz) {
+        return serviceManagers.stream()
+            .filter(s -> s.supports(clazz))
+            .flatMap(s -> s.getCandidateServicesOfType(serviceId, clazz).stream())
+            .collect(Collectors.toList());
+    }
+
     @Override
     public Collection<RegisteredService> load() {
         return serviceManagers.stream()
@@ -1,23 +1,34 @@
 package org.apereo.cas.services;
 
+import lombok.val;
+
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Candidate services are located using a {@link RegisteredServiceMatchingIndex}
+ * that is rebuilt whenever the snapshot of services is replaced.
  *
  * @author Scott Battaglia
  * @since 3.1
  */
 public class DefaultServicesManager extends AbstractServicesManager {
 
+    private final AtomicReference<RegisteredServiceMatchingIndex> matchingIndex = new AtomicReference<>();
+
     public DefaultServicesManager(final ServicesManagerConfigurationContext context) {
         super(context);
     }
 
     @Override
     public Collection<RegisteredService> getServicesForDomain(final String domain) {
+        val snapshot = getServicesSnapshot();
+        if (snapshot != null) {
+            return snapshot;
+        }
         return getCacheableServicesStream().get()
             .sorted(Comparator.naturalOrder())
             .collect(Collectors.toList());
@@ -25,8 +36,22 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return getCacheableServicesStream().get()
-            .sorted(Comparator.naturalOrder())
-            .collect(Collectors.toList());
+        val snapshot = getServicesSnapshot();
+        if (snapshot == null) {
+            return getCacheableServicesStream().get()
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        }
+        var index = matchingIndex.get();
+        if (index == null || index.getRegisteredServices() != snapshot) {
+            index = new RegisteredServiceMatchingIndex(snapshot);
+            matchingIndex.set(index);
+        }
+        return index.getCandidates(serviceId);
+    }
+
+    @Override
+    protected void loadInternal() {
+        matchingIndex.set(new RegisteredServiceMatchingIndex(getServicesSnapshot()));
     }
 }
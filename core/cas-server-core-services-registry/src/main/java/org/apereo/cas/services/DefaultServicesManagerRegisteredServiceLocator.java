@@ -2,6 +2,7 @@ package org.apereo.cas.services;
 
 import org.apereo.cas.authentication.principal.Service;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,11 +26,15 @@ import java.util.function.BiPredicate;
 public class DefaultServicesManagerRegisteredServiceLocator implements ServicesManagerRegisteredServiceLocator {
     private int order = Ordered.LOWEST_PRECEDENCE;
 
-    private BiPredicate<RegisteredService, Service> registeredServiceFilter = (registeredService, service) -> {
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final BiPredicate<RegisteredService, Service> defaultRegisteredServiceFilter = (registeredService, service) -> {
         val supportedType = supports(registeredService, service);
         return supportedType && registeredService.matches(service.getId());
     };
 
+    private BiPredicate<RegisteredService, Service> registeredServiceFilter = defaultRegisteredServiceFilter;
+
     @Override
     public RegisteredService locate(final Collection<RegisteredService> candidates, final Service service) {
         return candidates
@@ -40,6 +45,19 @@ public class DefaultServicesManagerRegisteredServiceLocator implements ServicesM
             .orElse(null);
     }
 
+    /**
+     * Service resolution results may only be cached when services are matched by their service id.
+     * A custom filter may base its decision on other parts of the request, such as its attributes,
+     * which would not be captured by the cache key.
+     *
+     * @param service the service
+     * @return true if the default filter is in use
+     */
+    @Override
+    public boolean isCacheable(final Service service) {
+        return registeredServiceFilter == defaultRegisteredServiceFilter;
+    }
+
     @Override
     public boolean supports(final RegisteredService registeredService, final Service service) {
         return CasRegisteredService.class.isAssignableFrom(registeredService.getClass())
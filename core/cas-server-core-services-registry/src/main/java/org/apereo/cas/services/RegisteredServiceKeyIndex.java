@@ -0,0 +1,71 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceKeyIndex}. An immutable index of registered services
+ * by a key that is extracted from each service, such as the client id of OAuth services.
+ * Keys are matched ignoring case, and when services share the same key, the service
+ * that comes first in evaluation order wins.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class RegisteredServiceKeyIndex {
+    private final Map<String, RegisteredService> services;
+
+    @Getter
+    private final Collection<RegisteredService> registeredServices;
+
+    public RegisteredServiceKeyIndex(final Collection<RegisteredService> registeredServices,
+                                     final Function<RegisteredService, String> keyExtractor) {
+        this.registeredServices = registeredServices;
+        this.services = new HashMap<>(registeredServices.size());
+        registeredServices
+            .stream()
+            .sorted()
+            .forEach(service -> {
+                val key = keyExtractor.apply(service);
+                if (key != null) {
+                    services.putIfAbsent(fold(key), service);
+                }
+            });
+        LOGGER.trace("Indexed [{}] registered service(s) by key", services.size());
+    }
+
+    /**
+     * Gets the service indexed under the given key, ignoring case.
+     *
+     * @param key the key
+     * @return the registered service, or null
+     */
+    public RegisteredService get(final String key) {
+        return StringUtils.isEmpty(key) ? null : services.get(fold(key));
+    }
+
+    /**
+     * Number of indexed keys.
+     *
+     * @return the size
+     */
+    public int size() {
+        return services.size();
+    }
+
+    private static String fold(final String key) {
+        val result = new char[key.length()];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        return new String(result);
+    }
+}
@@ -0,0 +1,188 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}. A precompiled, immutable index of
+ * registered services that narrows down the candidates for a given service identifier.
+ * <p>
+ * Services are sorted once by their natural order, which honors the evaluation order.
+ * CAS services whose {@code serviceId} begins with a literal prefix are placed into a
+ * case-insensitive character trie keyed by that prefix, so that only those services whose
+ * prefix matches the requested service identifier are considered. All other services,
+ * such as true regular expressions without a literal prefix or services of other types,
+ * are kept on an ordered fallback list that is always included. Candidates are returned
+ * in evaluation order and are still subject to the usual matching rules.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class RegisteredServiceMatchingIndex {
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final String REGEX_QUANTIFIERS = "?*{";
+
+    private final RegisteredService[] services;
+
+    private final int[] fallback;
+
+    private final Node root = new Node();
+
+    @Getter
+    private final Collection<RegisteredService> registeredServices;
+
+    public RegisteredServiceMatchingIndex(final Collection<RegisteredService> registeredServices) {
+        this(registeredServices, null);
+    }
+
+    /**
+     * Index only those services that are of the given type.
+     * Services of the type are indexed by the literal prefix of their service identifier
+     * regardless of their friendly name, which is only appropriate when candidates are
+     * matched against the service identifier using the matching strategy of each service.
+     *
+     * @param registeredServices the registered services
+     * @param type               the type of services to index, or null to index all services
+     */
+    public RegisteredServiceMatchingIndex(final Collection<RegisteredService> registeredServices,
+                                          final Class<? extends RegisteredService> type) {
+        this.registeredServices = registeredServices;
+        this.services = registeredServices
+            .stream()
+            .filter(service -> type == null || type.isAssignableFrom(service.getClass()))
+            .sorted()
+            .toArray(RegisteredService[]::new);
+
+        val fallbackPositions = new ArrayList<Integer>();
+        for (var i = 0; i < services.length; i++) {
+            val prefix = type == null
+                ? getLiteralPrefix(services[i])
+                : getLiteralPrefix(services[i].getMatchingStrategy(), services[i].getServiceId());
+            if (StringUtils.isEmpty(prefix)) {
+                fallbackPositions.add(i);
+            } else {
+                var node = root;
+                for (var j = 0; j < prefix.length(); j++) {
+                    node = node.children.computeIfAbsent(fold(prefix.charAt(j)), k -> new Node());
+                }
+                node.positions.add(i);
+            }
+        }
+        this.fallback = fallbackPositions.stream().mapToInt(Integer::intValue).toArray();
+        LOGGER.trace("Indexed [{}] registered service(s) with [{}] service(s) that must always be evaluated",
+            services.length, fallback.length);
+    }
+
+    /**
+     * Gets the services that may match the given service identifier, in evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    public List<RegisteredService> getCandidates(final String serviceId) {
+        val positions = new ArrayList<Integer>();
+        Arrays.stream(fallback).forEach(positions::add);
+        if (StringUtils.isNotBlank(serviceId)) {
+            var node = root;
+            for (var i = 0; i < serviceId.length() && node != null; i++) {
+                node = node.children.get(fold(serviceId.charAt(i)));
+                if (node != null) {
+                    positions.addAll(node.positions);
+                }
+            }
+        }
+        val candidates = new ArrayList<RegisteredService>(positions.size());
+        positions.stream().sorted().forEach(position -> candidates.add(services[position]));
+        return candidates;
+    }
+
+    /**
+     * Number of indexed services.
+     *
+     * @return the size
+     */
+    public int size() {
+        return services.length;
+    }
+
+    /**
+     * Gets the literal prefix that every service identifier matched by the
+     * registered service must begin with, ignoring case.
+     *
+     * @param registeredService the registered service
+     * @return the literal prefix, or an empty string if no prefix could be determined
+     */
+    protected static String getLiteralPrefix(final RegisteredService registeredService) {
+        if (!CasRegisteredService.class.isAssignableFrom(registeredService.getClass())
+            || !CasRegisteredService.FRIENDLY_NAME.equalsIgnoreCase(registeredService.getFriendlyName())
+            || StringUtils.isBlank(registeredService.getServiceId())) {
+            return StringUtils.EMPTY;
+        }
+        return getLiteralPrefix(registeredService.getMatchingStrategy(), registeredService.getServiceId());
+    }
+
+    private static String getLiteralPrefix(final RegisteredServiceMatchingStrategy strategy, final String serviceId) {
+        if (strategy == null || StringUtils.isBlank(serviceId)) {
+            return StringUtils.EMPTY;
+        }
+        if (strategy.getClass().equals(LiteralRegisteredServiceMatchingStrategy.class)) {
+            return serviceId.trim();
+        }
+        if (strategy.getClass().equals(FullRegexRegisteredServiceMatchingStrategy.class)) {
+            return getRegexLiteralPrefix(StringUtils.removeStart(serviceId, "^"));
+        }
+        if (strategy.getClass().equals(PartialRegexRegisteredServiceMatchingStrategy.class) && serviceId.startsWith("^")) {
+            return getRegexLiteralPrefix(serviceId.substring(1));
+        }
+        return StringUtils.EMPTY;
+    }
+
+    private static String getRegexLiteralPrefix(final String pattern) {
+        if (pattern.indexOf('|') >= 0) {
+            return StringUtils.EMPTY;
+        }
+        val prefix = new StringBuilder();
+        var i = 0;
+        while (i < pattern.length()) {
+            var current = pattern.charAt(i);
+            var length = 1;
+            if (current == '\\') {
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    break;
+                }
+                current = pattern.charAt(i + 1);
+                length = 2;
+            } else if (REGEX_META_CHARACTERS.indexOf(current) >= 0) {
+                break;
+            }
+            val next = i + length;
+            if (current > Byte.MAX_VALUE || next < pattern.length() && REGEX_QUANTIFIERS.indexOf(pattern.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.append(current);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static char fold(final char character) {
+        return Character.toLowerCase(Character.toUpperCase(character));
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final List<Integer> positions = new ArrayList<>();
+    }
+}
@@ -1,6 +1,8 @@
 package org.apereo.cas.services;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
@@ -9,6 +11,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -29,6 +32,16 @@ public class ServicesManagerConfigurationContext {
 
     private final Cache<Long, RegisteredService> servicesCache;
 
+    /**
+     * Cache of resolution results keyed by service identifier,
+     * recording services that could not be found as empty results.
+     * May be null, in which case results are not cached.
+     */
+    private final Cache<String, Optional<RegisteredService>> serviceResolutionCache;
+
+    @Builder.Default
+    private final MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     @Builder.Default
     private final List<ServicesManagerRegisteredServiceLocator> registeredServiceLocators = new ArrayList<>();
 }
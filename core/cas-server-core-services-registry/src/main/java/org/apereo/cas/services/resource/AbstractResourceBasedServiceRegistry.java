@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -39,10 +40,17 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -50,6 +58,9 @@ import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractResourceBasedServiceRegistry}.
+ * Services parsed from each resource are remembered along with the resource's
+ * last-modified time and size, and on subsequent loads only resources that are
+ * added or changed are parsed again.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -84,6 +95,29 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private Pattern serviceFileNamePattern;
 
+    private Map<String, RegisteredServiceResourceSnapshot.ParsedResource> loadedResources = new HashMap<>();
+
+    /**
+     * Number of threads used to parse service definition files;
+     * zero or negative uses the number of available processors.
+     */
+    @Setter
+    private int parallelism = 1;
+
+    /**
+     * Binary snapshot of parsed service definitions, used to avoid
+     * parsing unchanged files on startup. Null disables the snapshot.
+     */
+    @Setter
+    private File snapshotFile;
+
+    /**
+     * Key used to sign and verify the snapshot of parsed service definitions.
+     * The snapshot is disabled unless a key is defined.
+     */
+    @Setter
+    private String snapshotSigningKey;
+
     protected AbstractResourceBasedServiceRegistry(final Resource configDirectory,
                                                    final Collection<StringSerializer<RegisteredService>> serializers,
                                                    final ConfigurableApplicationContext applicationContext,
@@ -223,10 +257,43 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
         LOGGER.trace("Located [{}] files from [{}] are [{}]", getExtensions(), this.serviceRegistryDirectory, files);
 
-        this.services = files
+        val initialLoad = loadedResources.isEmpty();
+        val snapshotEnabled = snapshotFile != null && StringUtils.isNotBlank(snapshotSigningKey);
+        if (initialLoad && snapshotEnabled) {
+            this.loadedResources = RegisteredServiceResourceSnapshot.read(snapshotFile, snapshotSigningKey);
+        }
+
+        val resources = new HashMap<String, RegisteredServiceResourceSnapshot.ParsedResource>(files.size());
+        val changedFiles = new ArrayList<File>();
+        files.forEach(file -> {
+            val key = file.getAbsolutePath();
+            val resource = loadedResources.get(key);
+            if (resource == null || !resource.matches(file)) {
+                LOGGER.trace("Service definition file [{}] is new or has changed since it was last loaded", file);
+                changedFiles.add(file);
+            } else {
+                resources.put(key, resource);
+            }
+        });
+        changedFiles.sort(Comparator.comparing(File::getAbsolutePath));
+        val parsedResources = parseServiceResources(changedFiles);
+        val parsedServices = Collections.newSetFromMap(new IdentityHashMap<RegisteredService, Boolean>());
+        for (var i = 0; i < changedFiles.size(); i++) {
+            val resource = parsedResources.get(i);
+            resources.put(changedFiles.get(i).getAbsolutePath(), resource);
+            parsedServices.addAll(resource.getServices());
+        }
+        val removedCount = loadedResources.keySet().stream().filter(key -> !resources.containsKey(key)).count();
+        LOGGER.debug("Parsed [{}] service definition(s) from [{}] new or changed file(s); [{}] file(s) were removed",
+            parsedServices.size(), changedFiles.size(), removedCount);
+        this.loadedResources = resources;
+        if (snapshotEnabled && (!changedFiles.isEmpty() || removedCount > 0)) {
+            RegisteredServiceResourceSnapshot.write(snapshotFile, resources, snapshotSigningKey);
+        }
+
+        this.services = resources.values()
             .stream()
-            .map(this::load)
-            .filter(Objects::nonNull)
+            .map(RegisteredServiceResourceSnapshot.ParsedResource::getServices)
             .flatMap(Collection::stream)
             .sorted()
             .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
@@ -236,7 +303,10 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                 }, LinkedHashMap::new));
         val listedServices = new ArrayList<>(this.services.values());
         val results = this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(listedServices, this);
-        results.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service)));
+        results
+            .stream()
+            .filter(service -> initialLoad || parsedServices.contains(service))
+            .forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service)));
         return results;
     }
 
@@ -339,6 +409,31 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         this.serviceRegistryWatcherService.start(getClass().getSimpleName());
     }
 
+    /**
+     * Parse the given service definition files, in parallel when there is more
+     * than one file and parallelism permits. Results are returned in the order of the files.
+     *
+     * @param files the files
+     * @return the parsed resources
+     */
+    protected List<RegisteredServiceResourceSnapshot.ParsedResource> parseServiceResources(final List<File> files) {
+        val threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (files.size() <= 1 || threads <= 1) {
+            return files.stream().map(this::parseServiceResource).collect(Collectors.toList());
+        }
+        val pool = new ForkJoinPool(Math.min(threads, files.size()));
+        try {
+            return pool.submit(() -> files.parallelStream().map(this::parseServiceResource).collect(Collectors.toList())).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Remove registered service.
      *
@@ -402,4 +497,11 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     protected abstract String[] getExtensions();
 
+    private RegisteredServiceResourceSnapshot.ParsedResource parseServiceResource(final File file) {
+        val lastModified = file.lastModified();
+        val length = file.length();
+        val digest = RegisteredServiceResourceSnapshot.digest(file);
+        return new RegisteredServiceResourceSnapshot.ParsedResource(lastModified, length, digest,
+            System.currentTimeMillis(), ObjectUtils.defaultIfNull(load(file), new ArrayList<>(0)));
+    }
 }
@@ -0,0 +1,212 @@
+package org.apereo.cas.services.resource;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link RegisteredServiceResourceSnapshot}. A binary snapshot of service definitions
+ * parsed from resources, keyed by the path of each resource along with its last-modified time, size and content digest.
+ * The snapshot is prefixed by an HMAC-SHA256 signature of its contents, computed using a configured key,
+ * which is verified before the snapshot is read back from a memory-mapped file. Only service definition types
+ * and the JDK types they are made of are accepted when the snapshot is deserialized. A snapshot that cannot
+ * be verified or read is ignored, and its resources are parsed again.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@UtilityClass
+public class RegisteredServiceResourceSnapshot {
+    private static final int MAGIC = 0x43415353;
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA256";
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final long MODIFIED_TIME_GRANULARITY_MILLIS = 2_000;
+
+    private static final ObjectInputFilter SERIALIZATION_FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=64;org.apereo.cas.**;java.lang.*;java.util.**;java.time.**;java.net.URI;java.net.URL;java.math.*;!*");
+
+    /**
+     * Read the snapshot from the given file.
+     *
+     * @param file       the file
+     * @param signingKey the key used to verify the snapshot
+     * @return the parsed resources, or an empty map if the snapshot is missing or invalid
+     */
+    public static Map<String, ParsedResource> read(final File file, final String signingKey) {
+        if (!file.exists()) {
+            return new HashMap<>(0);
+        }
+        try (val channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES + SIGNATURE_LENGTH || buffer.getInt() != MAGIC) {
+                LOGGER.warn("[{}] is not a valid service definition snapshot and will be ignored", file);
+                return new HashMap<>(0);
+            }
+            val signature = new byte[SIGNATURE_LENGTH];
+            buffer.get(signature);
+            val payload = buffer.slice();
+            val mac = getMac(signingKey);
+            mac.update(payload.duplicate());
+            if (!MessageDigest.isEqual(signature, mac.doFinal())) {
+                LOGGER.warn("Signature of service definition snapshot [{}] does not match its contents; snapshot will be ignored", file);
+                return new HashMap<>(0);
+            }
+            try (val in = new ObjectInputStream(toInputStream(payload))) {
+                in.setObjectInputFilter(SERIALIZATION_FILTER);
+                val resources = (Map<String, ParsedResource>) in.readObject();
+                LOGGER.debug("Read [{}] service definition resource(s) from snapshot [{}]", resources.size(), file);
+                return new HashMap<>(resources);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read service definition snapshot [{}]; snapshot will be ignored", file);
+            LoggingUtils.error(LOGGER, e);
+        }
+        return new HashMap<>(0);
+    }
+
+    /**
+     * Write the snapshot to the given file. The snapshot is first written
+     * to a temporary file which then replaces the existing snapshot.
+     *
+     * @param file       the file
+     * @param resources  the parsed resources
+     * @param signingKey the key used to sign the snapshot
+     */
+    public static void write(final File file, final Map<String, ParsedResource> resources, final String signingKey) {
+        try {
+            val bytes = new ByteArrayOutputStream();
+            try (val out = new ObjectOutputStream(bytes)) {
+                out.writeObject(new LinkedHashMap<>(resources));
+            }
+            val payload = bytes.toByteArray();
+            val signature = getMac(signingKey).doFinal(payload);
+
+            val parent = file.getAbsoluteFile().getParentFile();
+            Files.createDirectories(parent.toPath());
+            val temp = File.createTempFile(file.getName(), ".tmp", parent);
+            try (val out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                out.writeInt(MAGIC);
+                out.write(signature);
+                out.write(payload);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote [{}] service definition resource(s) to snapshot [{}]", resources.size(), file);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to write service definition snapshot [{}]", file);
+            LoggingUtils.error(LOGGER, e);
+        }
+    }
+
+    private static Mac getMac(final String signingKey) throws Exception {
+        val mac = Mac.getInstance(SIGNING_ALGORITHM);
+        mac.init(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), SIGNING_ALGORITHM));
+        return mac;
+    }
+
+    private static InputStream toInputStream(final ByteBuffer buffer) {
+        return new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(final byte[] bytes, final int offset, final int length) {
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                val count = Math.min(length, buffer.remaining());
+                buffer.get(bytes, offset, count);
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Calculate the digest of the contents of the given file.
+     *
+     * @param file the file
+     * @return the digest, or an empty array if the file cannot be read
+     */
+    public static byte[] digest(final File file) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(Files.readAllBytes(file.toPath()));
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Services parsed from a single resource, along with the last-modified time,
+     * size and content digest of the resource at the time it was parsed.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class ParsedResource implements Serializable {
+        private static final long serialVersionUID = -3927165218870402146L;
+
+        private final long lastModified;
+
+        private final long length;
+
+        private final byte[] digest;
+
+        private final long parsedAt;
+
+        private final Collection<RegisteredService> services;
+
+        /**
+         * Whether the file is unchanged since it was parsed. File systems may only record
+         * last-modified times at a coarse granularity, so a file that was modified shortly
+         * before or after it was parsed may keep the same last-modified time and size despite
+         * new contents. The contents of such files are compared by digest instead.
+         *
+         * @param file the file
+         * @return true/false
+         */
+        public boolean matches(final File file) {
+            if (file.lastModified() != lastModified || file.length() != length) {
+                return false;
+            }
+            if (Math.abs(parsedAt - lastModified) > MODIFIED_TIME_GRANULARITY_MILLIS) {
+                return true;
+            }
+            return MessageDigest.isEqual(digest, digest(file));
+        }
+    }
+}
@@ -52,6 +52,9 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
@@ -263,6 +266,10 @@ public class CasCoreServicesConfiguration {
             final ChainingServiceRegistry serviceRegistry,
             @Qualifier("servicesManagerCache")
             final Cache<Long, RegisteredService> servicesManagerCache,
+            @Qualifier("servicesManagerResolutionCache")
+            final Cache<String, Optional<RegisteredService>> servicesManagerResolutionCache,
+            final ObjectProvider<MeterRegistry> meterRegistry,
+            final CasConfigurationProperties casProperties,
             final List<ServicesManagerRegisteredServiceLocator> servicesManagerRegisteredServiceLocators,
             final Environment environment,
             final ConfigurableApplicationContext applicationContext) {
@@ -273,6 +280,9 @@ public class CasCoreServicesConfiguration {
                 .applicationContext(applicationContext)
                 .environments(activeProfiles)
                 .servicesCache(servicesManagerCache)
+                .serviceResolutionCache(casProperties.getServiceRegistry().getCache().getResolutionCacheSize() > 0
+                    ? servicesManagerResolutionCache : null)
+                .meterRegistry(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry))
                 .registeredServiceLocators(servicesManagerRegisteredServiceLocators)
                 .build();
         }
@@ -333,6 +343,22 @@ public class CasCoreServicesConfiguration {
                 .build();
         }
 
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @Bean
+        @ConditionalOnMissingBean(name = "servicesManagerResolutionCache")
+        public Cache<String, Optional<RegisteredService>> servicesManagerResolutionCache(
+            final CasConfigurationProperties casProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+            val cacheProperties = casProperties.getServiceRegistry().getCache();
+            val cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getResolutionCacheSize())
+                .expireAfterWrite(Beans.newDuration(cacheProperties.getResolutionCacheDuration()))
+                .recordStats()
+                .<String, Optional<RegisteredService>>build();
+            return CaffeineCacheMetrics.monitor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                cache, "servicesManagerResolutionCache");
+        }
+
         @EventListener
         public void refreshServicesManagerWhenReady(final ApplicationReadyEvent event) {
             val servicesManager = event.getApplicationContext().getBean(ServicesManager.BEAN_NAME, ChainingServicesManager.class);
@@ -17,9 +17,11 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -185,6 +187,56 @@ public abstract class AbstractServicesManagerTests<T extends ServicesManager> {
         loadingThread.join();
     }
 
+    @Test
+    public void verifyFindServiceByIndexedKey() {
+        val service = new CasRegisteredService();
+        service.setId(4100);
+        service.setName("IndexedService");
+        service.setServiceId("^https://indexed\\.example\\.org/.*");
+        servicesManager.save(service);
+
+        assertEquals(service.getId(), servicesManager.findServiceByIndexedKey("name", "INDEXEDservice",
+            CasRegisteredService.class, CasRegisteredService::getName).getId());
+        assertNull(servicesManager.findServiceByIndexedKey("name", "unknown", CasRegisteredService.class, CasRegisteredService::getName));
+        assertNull(servicesManager.findServiceByIndexedKey("name", null, CasRegisteredService.class, CasRegisteredService::getName));
+        assertTrue(servicesManager.getCandidateServicesOfType("https://indexed.example.org/app", CasRegisteredService.class)
+            .stream()
+            .anyMatch(registeredService -> registeredService.getId() == service.getId()));
+
+        service.setName("RenamedService");
+        servicesManager.save(service);
+        assertNull(servicesManager.findServiceByIndexedKey("name", "IndexedService", CasRegisteredService.class, CasRegisteredService::getName));
+        assertNotNull(servicesManager.findServiceByIndexedKey("name", "renamedservice", CasRegisteredService.class, CasRegisteredService::getName));
+
+        servicesManager.delete(service);
+        assertNull(servicesManager.findServiceByIndexedKey("name", "RenamedService", CasRegisteredService.class, CasRegisteredService::getName));
+    }
+
+    @Test
+    public void verifyBatchedSaveUpdatesSortedSnapshot() {
+        val services = IntStream.rangeClosed(1, 5)
+            .mapToObj(i -> {
+                val service = new CasRegisteredService();
+                service.setId(5000 + i);
+                service.setName("Batched" + i);
+                service.setServiceId("https://batched" + i + ".example.org");
+                service.setEvaluationOrder(10 - i);
+                return service;
+            })
+            .collect(Collectors.toList());
+        servicesManager.save(services.stream().map(RegisteredService.class::cast));
+        services.forEach(service -> assertTrue(isServiceInCache(null, service.getId())));
+
+        val snapshot = new ArrayList<>(servicesManager.getAllServices());
+        val sorted = new ArrayList<>(snapshot);
+        Collections.sort(sorted);
+        assertEquals(sorted, snapshot);
+
+        val found = servicesManager.findServiceBy(registeredService -> registeredService.getName().startsWith("Batched"));
+        assertEquals(5, found.size());
+        assertEquals(snapshot.size(), servicesManager.getAllServices().size());
+    }
+
     protected ServicesManager getServicesManagerInstance() {
         return new DefaultServicesManager(getConfigurationContext());
     }
@@ -3,6 +3,7 @@ package org.apereo.cas.services;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.AbstractResourceBasedServiceRegistry;
 import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategy;
+import org.apereo.cas.services.resource.RegisteredServiceResourceSnapshot;
 import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.serialization.StringSerializer;
 
@@ -19,6 +20,7 @@ import org.springframework.core.io.ClassPathResource;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -56,6 +58,87 @@ public abstract class BaseResourceBasedServiceRegistryTests extends AbstractServ
         assertThrows(IllegalArgumentException.class, () -> this.newServiceRegistry.save(r));
     }
 
+    @Test
+    public void verifyOnlyChangedResourcesAreParsed() {
+        val first = buildRegisteredServiceInstance(1000, CasRegisteredService.class);
+        first.setName("First");
+        first.setId(1000);
+        newServiceRegistry.save(first);
+        val second = buildRegisteredServiceInstance(2000, CasRegisteredService.class);
+        second.setName("Second");
+        second.setId(2000);
+        newServiceRegistry.save(second);
+
+        newServiceRegistry.load();
+        val unchanged = newServiceRegistry.findServiceById(first.getId());
+        assertNotNull(unchanged);
+        newServiceRegistry.load();
+        assertSame(unchanged, newServiceRegistry.findServiceById(first.getId()));
+
+        second.setDescription("Changed service definition");
+        newServiceRegistry.save(second);
+        newServiceRegistry.load();
+        assertSame(unchanged, newServiceRegistry.findServiceById(first.getId()));
+        assertEquals(second.getDescription(), newServiceRegistry.findServiceById(second.getId()).getDescription());
+
+        assertTrue(newServiceRegistry.delete(second));
+        newServiceRegistry.load();
+        assertNull(newServiceRegistry.findServiceById(second.getId()));
+        assertSame(unchanged, newServiceRegistry.findServiceById(first.getId()));
+    }
+
+    @Test
+    public void verifyChangedResourceWithSameModifiedTimeAndLength() throws Exception {
+        val service = buildRegisteredServiceInstance(4000, CasRegisteredService.class);
+        service.setName("Unchanged");
+        service.setId(4000);
+        service.setDescription("DescriptionA");
+        newServiceRegistry.save(service);
+        newServiceRegistry.load();
+        assertEquals("DescriptionA", newServiceRegistry.findServiceById(service.getId()).getDescription());
+
+        val file = FileUtils.listFiles(RESOURCE.getFile(), null, false)
+            .stream()
+            .filter(f -> f.getName().contains("Unchanged"))
+            .findFirst()
+            .orElseThrow();
+        val lastModified = file.lastModified();
+        val contents = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(file, contents.replace("DescriptionA", "DescriptionB"), StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(lastModified));
+        newServiceRegistry.load();
+        assertEquals("DescriptionB", newServiceRegistry.findServiceById(service.getId()).getDescription());
+    }
+
+    @Test
+    public void verifyParallelParsingWithSnapshot() throws Exception {
+        val snapshot = File.createTempFile("services", ".snapshot");
+        assertTrue(snapshot.delete());
+        val registry = (AbstractResourceBasedServiceRegistry) newServiceRegistry;
+        registry.setParallelism(4);
+        registry.setSnapshotFile(snapshot);
+        registry.setSnapshotSigningKey("SnapshotSigningKey");
+        for (var i = 1; i <= 5; i++) {
+            val service = buildRegisteredServiceInstance(3000 + i, CasRegisteredService.class);
+            service.setName("Parallel" + i);
+            service.setId(3000 + i);
+            newServiceRegistry.save(service);
+        }
+        assertEquals(5, newServiceRegistry.load().size());
+        assertTrue(snapshot.exists());
+
+        assertTrue(RegisteredServiceResourceSnapshot.read(snapshot, "OtherSigningKey").isEmpty());
+        val resources = RegisteredServiceResourceSnapshot.read(snapshot, "SnapshotSigningKey");
+        assertEquals(5, resources.size());
+        assertTrue(resources.values().stream()
+            .flatMap(resource -> resource.getServices().stream())
+            .allMatch(service -> service.equals(newServiceRegistry.findServiceById(service.getId()))));
+
+        FileUtils.writeByteArrayToFile(snapshot, new byte[]{1, 2, 3, 4}, true);
+        assertTrue(RegisteredServiceResourceSnapshot.read(snapshot, "SnapshotSigningKey").isEmpty());
+        FileUtils.deleteQuietly(snapshot);
+    }
+
     @Test
     public void verifyInvalidFileLoad() {
         val file = mock(File.class);
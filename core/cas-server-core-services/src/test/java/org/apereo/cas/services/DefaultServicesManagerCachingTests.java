@@ -2,12 +2,15 @@ package org.apereo.cas.services;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.support.StaticApplicationContext;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -55,4 +58,47 @@ public class DefaultServicesManagerCachingTests {
         assertEquals(1, mgr.load().size());
         assertEquals(1, mgr.getAllServices().size());
     }
+
+    @Test
+    public void verifyServiceResolutionCache() {
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+
+        val resolutionCache = Caffeine.newBuilder()
+            .maximumSize(100)
+            .recordStats()
+            .<String, Optional<RegisteredService>>build();
+        val meterRegistry = new SimpleMeterRegistry();
+        val serviceRegistry = new InMemoryServiceRegistry(applicationContext, new ArrayList<>(), List.of());
+        val context = ServicesManagerConfigurationContext.builder()
+            .applicationContext(applicationContext)
+            .serviceRegistry(serviceRegistry)
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .servicesCache(Caffeine.newBuilder().maximumSize(100).build())
+            .serviceResolutionCache(resolutionCache)
+            .meterRegistry(meterRegistry)
+            .build();
+        val mgr = new DefaultServicesManager(context);
+        mgr.load();
+
+        val service = RegisteredServiceTestUtils.getService("https://app.example.org");
+        assertNull(mgr.findServiceBy(service));
+        assertNull(mgr.findServiceBy(service));
+        assertEquals(1, resolutionCache.stats().hitCount());
+        assertTrue(resolutionCache.asMap().get(service.getId()).isEmpty());
+
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org.*");
+        mgr.save(registeredService);
+        assertNull(resolutionCache.asMap().get(service.getId()));
+        assertEquals(registeredService, mgr.findServiceBy(service));
+        assertEquals(registeredService, mgr.findServiceBy(service));
+        assertEquals(2, resolutionCache.stats().hitCount());
+
+        mgr.delete(registeredService);
+        assertNull(mgr.findServiceBy(service));
+
+        mgr.load();
+        assertEquals(0, resolutionCache.estimatedSize());
+        assertEquals(2, meterRegistry.get("cas.services.manager.resolution").tag("result", "hit").timer().count());
+    }
 }
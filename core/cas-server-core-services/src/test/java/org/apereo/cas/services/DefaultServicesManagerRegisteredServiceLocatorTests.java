@@ -65,6 +65,15 @@ public class DefaultServicesManagerRegisteredServiceLocatorTests {
         assertNotNull(result);
     }
 
+    @Test
+    public void verifyCacheableWithCustomFilter() {
+        val service = webApplicationServiceFactory.createService("https://example.org/test");
+        val locator = new DefaultServicesManagerRegisteredServiceLocator();
+        assertTrue(locator.isCacheable(service));
+        locator.setRegisteredServiceFilter((registeredService, svc) -> svc.getAttributes().containsKey("tenant"));
+        assertFalse(locator.isCacheable(service));
+    }
+
     @Test
     public void verifyExtendedServices() {
         val service = new ExtendedRegisteredService();
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,4 +73,82 @@ public class DefaultServicesManagerTests extends AbstractServicesManagerTests<De
         servicesManager.load();
         assertTrue(isServiceInCache(null, service.getId()));
     }
+
+    @Test
+    public void verifyIndexedMatchingAfterSaveAndDelete() {
+        val generic = new CasRegisteredService();
+        generic.setId(7000);
+        generic.setName("generic");
+        generic.setServiceId("^https://.*");
+        generic.setEvaluationOrder(100);
+        servicesManager.save(generic);
+
+        val specific = new CasRegisteredService();
+        specific.setId(7001);
+        specific.setName("specific");
+        specific.setServiceId("https://app\\.example\\.org/.*");
+        specific.setEvaluationOrder(10);
+        servicesManager.save(specific);
+
+        val service = serviceFactory.createService("https://app.example.org/login");
+        assertEquals(specific.getId(), servicesManager.findServiceBy(service).getId());
+        assertEquals(generic.getId(), servicesManager.findServiceBy(serviceFactory.createService("https://other.example.org")).getId());
+
+        servicesManager.delete(specific);
+        assertEquals(generic.getId(), servicesManager.findServiceBy(service).getId());
+        servicesManager.load();
+        assertEquals(generic.getId(), servicesManager.findServiceBy(service).getId());
+    }
+
+    @Test
+    public void verifySortedServicesSnapshot() {
+        val first = new CasRegisteredService();
+        first.setId(8000);
+        first.setName("first");
+        first.setServiceId("https://first.example.org");
+        first.setEvaluationOrder(1);
+
+        val second = new CasRegisteredService();
+        second.setId(8001);
+        second.setName("second");
+        second.setServiceId("https://second.example.org");
+        second.setEvaluationOrder(2);
+        servicesManager.save(second);
+        servicesManager.save(first);
+
+        val snapshot = servicesManager.getAllServices();
+        assertSame(snapshot, servicesManager.getAllServices());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(first));
+        val ids = snapshot.stream().map(RegisteredService::getId).collect(Collectors.toList());
+        assertTrue(ids.indexOf(first.getId()) < ids.indexOf(second.getId()));
+
+        second.setEvaluationOrder(0);
+        servicesManager.save(second);
+        val updated = servicesManager.getAllServices();
+        assertNotSame(snapshot, updated);
+        assertEquals(snapshot.size(), updated.size());
+        assertEquals(second.getId(), updated.iterator().next().getId());
+
+        servicesManager.delete(second);
+        assertTrue(servicesManager.getAllServices().stream().noneMatch(s -> s.getId() == second.getId()));
+    }
+
+    @Test
+    public void verifyLoadSwapsOnlyChangedServices() {
+        val service = new CasRegisteredService();
+        service.setId(9000);
+        service.setName("changes");
+        service.setServiceId("https://changes.example.org");
+        serviceRegistry.save(service);
+        servicesManager.load();
+
+        val snapshot = servicesManager.getAllServices();
+        servicesManager.load();
+        assertSame(snapshot, servicesManager.getAllServices());
+
+        serviceRegistry.delete(service);
+        servicesManager.load();
+        assertNotSame(snapshot, servicesManager.getAllServices());
+        assertNull(servicesManager.findServiceBy(service.getId()));
+    }
 }
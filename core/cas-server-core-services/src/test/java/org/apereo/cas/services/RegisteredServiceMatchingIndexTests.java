@@ -0,0 +1,122 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("RegisteredService")
+public class RegisteredServiceMatchingIndexTests {
+
+    private static RegisteredService getRegisteredService(final long id, final String serviceId, final int order) {
+        val service = RegisteredServiceTestUtils.getRegisteredService(serviceId);
+        service.setId(id);
+        service.setEvaluationOrder(order);
+        return service;
+    }
+
+    @Test
+    public void verifyLiteralPrefix() {
+        assertEquals("https://app.example.org/",
+            RegisteredServiceMatchingIndex.getLiteralPrefix(getRegisteredService(1, "^https://app\\.example\\.org/.*", 1)));
+        assertEquals("https://app",
+            RegisteredServiceMatchingIndex.getLiteralPrefix(getRegisteredService(1, "https://apps?\\.example\\.org", 1)));
+        assertEquals("http",
+            RegisteredServiceMatchingIndex.getLiteralPrefix(getRegisteredService(1, "https?://.+", 1)));
+        assertEquals("",
+            RegisteredServiceMatchingIndex.getLiteralPrefix(getRegisteredService(1, "https://a.org|https://b.org", 1)));
+        assertEquals("",
+            RegisteredServiceMatchingIndex.getLiteralPrefix(getRegisteredService(1, "\\w+://app.org", 1)));
+
+        val partial = getRegisteredService(1, "app\\.example\\.org", 1);
+        partial.setMatchingStrategy(new PartialRegexRegisteredServiceMatchingStrategy());
+        assertEquals("", RegisteredServiceMatchingIndex.getLiteralPrefix(partial));
+        partial.setServiceId("^https://app\\.example\\.org");
+        assertEquals("https://app.example.org", RegisteredServiceMatchingIndex.getLiteralPrefix(partial));
+
+        val literal = getRegisteredService(1, " https://app.example.org/cas ", 1);
+        literal.setMatchingStrategy(new LiteralRegisteredServiceMatchingStrategy());
+        assertEquals("https://app.example.org/cas", RegisteredServiceMatchingIndex.getLiteralPrefix(literal));
+
+        val oauth = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org/.*", OAuthRegisteredService.class);
+        assertEquals("", RegisteredServiceMatchingIndex.getLiteralPrefix(oauth));
+    }
+
+    @Test
+    public void verifyCandidatesInEvaluationOrder() {
+        val catchAll = getRegisteredService(1, "^(https|imaps)://.*", 100);
+        val app = getRegisteredService(2, "https://app\\.example\\.org/.*", 10);
+        val appAdmin = getRegisteredService(3, "https://app\\.example\\.org/admin/.*", 5);
+        val other = getRegisteredService(4, "https://other\\.example\\.org/.*", 1);
+        val index = new RegisteredServiceMatchingIndex(List.of(catchAll, app, appAdmin, other));
+        assertEquals(4, index.size());
+
+        assertEquals(List.of(appAdmin, app, catchAll), index.getCandidates("https://app.example.org/admin/page"));
+        assertEquals(List.of(app, catchAll), index.getCandidates("HTTPS://APP.example.org/home"));
+        assertEquals(List.of(other, catchAll), index.getCandidates("https://other.example.org/"));
+        assertEquals(List.of(catchAll), index.getCandidates("https://unknown.example.org"));
+        assertEquals(List.of(catchAll), index.getCandidates(null));
+    }
+
+    @Test
+    public void verifyIndexedServicesMatch() {
+        val services = List.of(
+            getRegisteredService(1, "https://app\\.example\\.org/.*", 1),
+            getRegisteredService(2, "^https://sub[0-9]\\.example\\.org", 2),
+            getRegisteredService(3, "https://.+\\.example\\.net/.*", 3),
+            getRegisteredService(4, "HTTPS://upper.example.org/?.*", 4));
+        val index = new RegisteredServiceMatchingIndex(services);
+        List.of("https://app.example.org/x", "https://sub1.example.org", "https://a.example.net/", "https://UPPER.example.org")
+            .forEach(serviceId -> {
+                val expected = services.stream().filter(s -> s.matches(serviceId)).findFirst().orElseThrow();
+                val actual = index.getCandidates(serviceId).stream().filter(s -> s.matches(serviceId)).findFirst().orElseThrow();
+                assertEquals(expected, actual);
+            });
+    }
+
+    @Test
+    public void verifyCandidatesOfType() {
+        val cas = getRegisteredService(1, "https://app\\.example\\.org/.*", 1);
+        val oauth = RegisteredServiceTestUtils.getRegisteredService("https://app\\.example\\.org/oauth/.*", OAuthRegisteredService.class);
+        oauth.setId(2);
+        val otherOAuth = RegisteredServiceTestUtils.getRegisteredService("https://other\\.example\\.org/.*", OAuthRegisteredService.class);
+        otherOAuth.setId(3);
+        val regexOAuth = RegisteredServiceTestUtils.getRegisteredService("https://(a|b)\\.example\\.org/.*", OAuthRegisteredService.class);
+        regexOAuth.setId(4);
+
+        val index = new RegisteredServiceMatchingIndex(List.of(cas, oauth, otherOAuth, regexOAuth), OAuthRegisteredService.class);
+        assertEquals(3, index.size());
+        val candidates = index.getCandidates("https://app.example.org/oauth/callback");
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.contains(oauth));
+        assertTrue(candidates.contains(regexOAuth));
+        assertEquals(List.of(regexOAuth), index.getCandidates("https://unknown.example.org"));
+    }
+
+    @Test
+    public void verifyKeyIndex() {
+        val first = getRegisteredService(1, "https://app1.example.org", 1);
+        first.setDescription("Client");
+        val second = getRegisteredService(2, "https://app2.example.org", 2);
+        second.setDescription("CLIENT");
+        val third = getRegisteredService(3, "https://app3.example.org", 3);
+        third.setDescription(null);
+
+        val index = new RegisteredServiceKeyIndex(List.of(second, third, first), RegisteredService::getDescription);
+        assertEquals(1, index.size());
+        assertSame(first, index.get("client"));
+        assertNull(index.get("unknown"));
+        assertNull(index.get(null));
+    }
+}
@@ -3,15 +3,17 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -20,10 +22,16 @@ import java.util.function.Predicate;
  * @since 5.2.0
  */
 @Slf4j
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    private final TimeBucketedTicketExpirationIndex expirationIndex = new TimeBucketedTicketExpirationIndex();
+
+    protected AbstractMapBasedTicketRegistry() {
+        setPrincipalTicketIndex(PrincipalTicketIndex.of(new ConcurrentHashMap<>()));
+    }
+
     protected AbstractMapBasedTicketRegistry(final CipherExecutor cipherExecutor) {
+        this();
         setCipherExecutor(cipherExecutor);
     }
 
@@ -32,6 +40,8 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Putting ticket [{}] in registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        indexTicket(ticket, encTicket.getId());
+        expirationIndex.put(encTicket.getId(), getIndexedExpirationTime(ticket));
     }
 
     @Override
@@ -58,13 +68,21 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         val encTicketId = encodeTicketId(ticketId);
-        return !StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null;
+        if (StringUtils.isBlank(encTicketId)) {
+            return false;
+        }
+        val removed = getMapInstance().remove(encTicketId);
+        unindexTicket(removed, encTicketId);
+        expirationIndex.remove(encTicketId);
+        return removed != null;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        principalTicketIndex.clear();
+        expirationIndex.clear();
         return size;
     }
 
@@ -76,10 +94,40 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         LOGGER.trace("Updating ticket [{}] in registry...", ticket.getId());
-        addTicket(ticket);
+        if (ticket.isExpired()) {
+            addTicketInternal(ticket);
+        } else {
+            addTicket(ticket);
+        }
         return ticket;
     }
 
+    @Override
+    public Stream<? extends Ticket> getExpirationCandidates(final ZonedDateTime expirationTime) {
+        return expirationIndex.getExpirationCandidates(expirationTime.toEpochSecond())
+            .stream()
+            .map(ticketId -> {
+                val ticket = getMapInstance().get(ticketId);
+                if (ticket == null) {
+                    LOGGER.trace("Removing ticket [{}] that no longer exists from the expiration index", ticketId);
+                    expirationIndex.remove(ticketId);
+                    return null;
+                }
+                val decodedTicket = decodeTicket(ticket);
+                if (decodedTicket != null && !decodedTicket.isExpired()) {
+                    LOGGER.trace("Moving ticket [{}] that has not expired yet to its current expiration time", ticketId);
+                    expirationIndex.put(ticketId, getExpirationTime(decodedTicket));
+                }
+                return decodedTicket;
+            })
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    protected Ticket getIndexedTicket(final String encodedTicketId) {
+        return getMapInstance().get(encodedTicketId);
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
@@ -22,6 +22,7 @@ import org.jooq.lambda.Unchecked;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,6 +48,12 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * Index of ticket-granting tickets by principal,
+     * if one is maintained by the registry.
+     */
+    protected PrincipalTicketIndex principalTicketIndex;
+
     @Override
     public void addTicket(final Ticket ticket) throws Exception {
         if (ticket != null && !ticket.isExpired()) {
@@ -92,6 +99,14 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public long countSessionsFor(final String principalId) {
+        if (principalTicketIndex != null) {
+            val principalKey = getPrincipalIndexKey(principalId);
+            return principalTicketIndex.get(principalKey)
+                .stream()
+                .map(ticketId -> findIndexedTicket(principalKey, ticketId))
+                .filter(Objects::nonNull)
+                .count();
+        }
         val ticketPredicate = (Predicate<Ticket>) t -> {
             if (t instanceof TicketGrantingTicket) {
                 val ticket = TicketGrantingTicket.class.cast(t);
@@ -102,6 +117,21 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return getTickets(ticketPredicate).count();
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        if (principalTicketIndex != null) {
+            val principalKey = getPrincipalIndexKey(principalId);
+            return principalTicketIndex.get(principalKey)
+                .stream()
+                .map(ticketId -> findIndexedTicket(principalKey, ticketId))
+                .filter(Objects::nonNull)
+                .map(this::decodeTicket)
+                .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+                .filter(ticket -> principalId.equals(getPrincipalIdFrom(ticket)));
+        }
+        return TicketRegistry.super.getSessionsFor(principalId);
+    }
+
     @Override
     public long serviceTicketCount() {
         try (val stStream = stream().filter(ServiceTicket.class::isInstance)) {
@@ -316,10 +346,117 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             : StringUtils.EMPTY;
     }
     
+    /**
+     * Locate the ticket tracked by the principal index using its encoded id,
+     * without decoding it. Registries that maintain a principal index
+     * are expected to override this operation.
+     *
+     * @param encodedTicketId the encoded ticket id
+     * @return the ticket as it is stored in the registry, or null
+     */
+    protected Ticket getIndexedTicket(final String encodedTicketId) {
+        return null;
+    }
+
+    /**
+     * Track the ticket in the principal index, if the index is maintained
+     * and the ticket is a ticket-granting ticket.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     */
+    protected void indexTicket(final Ticket ticket, final String encodedTicketId) {
+        if (principalTicketIndex != null && ticket instanceof TicketGrantingTicket) {
+            val principalId = getPrincipalIdFrom(ticket);
+            if (StringUtils.isNotBlank(principalId)) {
+                principalTicketIndex.add(getPrincipalIndexKey(principalId), encodedTicketId);
+            }
+        }
+    }
+
+    /**
+     * Stop tracking the ticket in the principal index.
+     *
+     * @param storedTicket    the ticket as it was stored in the registry
+     * @param encodedTicketId the encoded ticket id
+     */
+    protected void unindexTicket(final Ticket storedTicket, final String encodedTicketId) {
+        if (principalTicketIndex != null && storedTicket != null
+            && storedTicket.getPrefix().equals(TicketGrantingTicket.PREFIX)) {
+            val ticket = storedTicket instanceof EncodedTicket ? decodeTicket(storedTicket) : storedTicket;
+            val principalId = ticket != null ? getPrincipalIdFrom(ticket) : StringUtils.EMPTY;
+            if (StringUtils.isNotBlank(principalId)) {
+                principalTicketIndex.remove(getPrincipalIndexKey(principalId), encodedTicketId);
+            }
+        }
+    }
+
+    /**
+     * Principal ids are matched case-insensitively when counting sessions,
+     * and are encoded to avoid leaking principal ids into the index.
+     *
+     * @param principalId the principal id
+     * @return the principal index key
+     */
+    protected String getPrincipalIndexKey(final String principalId) {
+        return encodeTicketId(StringUtils.lowerCase(principalId));
+    }
+
+    /**
+     * Gets the earliest time, in epoch seconds, at which the ticket may expire
+     * according to the time-to-live and time-to-idle settings of its expiration policy.
+     * Expiration indexes use this to determine when a ticket becomes a candidate for removal.
+     *
+     * @param ticket the ticket
+     * @return the expiration time in epoch seconds
+     */
+    protected static long getExpirationTime(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        val timeToLive = ticket instanceof AuthenticationAwareTicket
+            ? policy.getTimeToLive(ticket)
+            : policy.getTimeToLive();
+        val timeToIdle = policy.getTimeToIdle();
+
+        var expirationTime = Long.MAX_VALUE;
+        if (timeToLive != null && timeToLive > 0) {
+            expirationTime = addSeconds(ticket.getCreationTime().toEpochSecond(), timeToLive);
+        }
+        if (timeToIdle != null && timeToIdle > 0) {
+            val lastTimeUsed = Optional.ofNullable(ticket.getLastTimeUsed()).orElseGet(ticket::getCreationTime);
+            expirationTime = Math.min(expirationTime, addSeconds(lastTimeUsed.toEpochSecond(), timeToIdle));
+        }
+        return expirationTime;
+    }
+
+    /**
+     * Gets the time, in epoch seconds, under which the ticket is kept in expiration indexes.
+     * Tickets that are already expired, such as those explicitly marked as expired,
+     * become candidates for removal immediately.
+     *
+     * @param ticket the ticket
+     * @return the expiration time in epoch seconds
+     */
+    protected static long getIndexedExpirationTime(final Ticket ticket) {
+        return ticket.isExpired() ? 0 : getExpirationTime(ticket);
+    }
+
+    private static long addSeconds(final long epochSeconds, final long seconds) {
+        return seconds > Long.MAX_VALUE - epochSeconds ? Long.MAX_VALUE : epochSeconds + seconds;
+    }
+
     protected boolean isCipherExecutorEnabled() {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
 
+    private Ticket findIndexedTicket(final String principalKey, final String encodedTicketId) {
+        val ticket = getIndexedTicket(encodedTicketId);
+        if (ticket == null) {
+            LOGGER.trace("Removing ticket [{}] that no longer exists from the principal index", encodedTicketId);
+            principalTicketIndex.remove(principalKey, encodedTicketId);
+        }
+        return ticket;
+    }
+
     private Ticket createEncodedTicket(final Ticket ticket) throws Exception {
         LOGGER.debug("Encoding ticket [{}]", ticket);
         val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
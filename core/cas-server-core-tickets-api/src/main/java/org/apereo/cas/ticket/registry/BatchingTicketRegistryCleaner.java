@@ -0,0 +1,195 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.logout.SingleLogoutExecutionRequest;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.lock.LockRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BatchingTicketRegistryCleaner}. Partitions expired tickets into batches
+ * that are processed in parallel on a bounded pool of workers. Only a limited number of batches
+ * may wait for a worker; once that limit is reached, the cleaner processes the next batch itself
+ * before reading more expired tickets, so that batches are never buffered all at once. Single logout requests for
+ * the expired ticket-granting tickets of a batch are handed off to a bounded pool, and
+ * the batch is removed from the registry in bulk once these requests are done, so that
+ * each ticket-granting ticket is logged out before it is removed.
+ * Once the logout queue is full, workers carry out logout requests themselves,
+ * applying back pressure to the cleaner. The whole run, including all logout requests,
+ * takes place while holding the cleaner lock.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class BatchingTicketRegistryCleaner extends DefaultTicketRegistryCleaner implements DisposableBean {
+    private static final String METRIC_PREFIX = "cas.ticket.registry.cleaner";
+
+    private static final String LOCK_KEY = BatchingTicketRegistryCleaner.class.getName();
+
+    private static final long TERMINATION_TIMEOUT_SECONDS = 30;
+
+    private final int batchSize;
+
+    private final ThreadPoolExecutor cleanerExecutor;
+
+    private final ThreadPoolExecutor logoutExecutor;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Timer batchTimer;
+
+    private final Timer lagTimer;
+
+    private final Counter ticketsCounter;
+
+    public BatchingTicketRegistryCleaner(final LockRepository lockRepository,
+                                         final LogoutManager logoutManager,
+                                         final TicketRegistry ticketRegistry,
+                                         final MeterRegistry meterRegistry,
+                                         final int parallelism,
+                                         final int batchSize,
+                                         final int logoutPoolSize,
+                                         final int logoutQueueCapacity) {
+        super(lockRepository, logoutManager, ticketRegistry);
+        this.batchSize = Math.max(batchSize, 1);
+        this.cleanerExecutor = new ThreadPoolExecutor(Math.max(parallelism, 1), Math.max(parallelism, 1),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(parallelism, 1)),
+            new CustomizableThreadFactory("cas-ticket-cleaner-"), (task, executor) -> task.run());
+        this.logoutExecutor = new ThreadPoolExecutor(Math.max(logoutPoolSize, 1), Math.max(logoutPoolSize, 1),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(logoutQueueCapacity, 1)),
+            new CustomizableThreadFactory("cas-ticket-cleaner-logout-"), (task, executor) -> task.run());
+
+        this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+            .description("Number of expired tickets processed per batch")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder(METRIC_PREFIX + ".batch.duration")
+            .description("Time taken to process a batch of expired tickets")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder(METRIC_PREFIX + ".lag")
+            .description("Time elapsed between the expiration of a ticket and its removal")
+            .register(meterRegistry);
+        this.ticketsCounter = Counter.builder(METRIC_PREFIX + ".tickets")
+            .description("Number of tickets removed by the cleaner, including children")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".logout.queue", logoutExecutor, executor -> executor.getQueue().size())
+            .description("Number of single logout requests waiting to be processed")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected int cleanInternal() {
+        return getLockRepository().execute(LOCK_KEY, this::cleanBatches).orElseGet(() -> {
+            LOGGER.debug("Ticket registry cleaner is already running; skipping this run");
+            return 0;
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        cleanerExecutor.shutdown();
+        logoutExecutor.shutdown();
+        if (!cleanerExecutor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("Ticket registry cleaner did not finish processing batches in time");
+        }
+        if (!logoutExecutor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("Ticket registry cleaner did not finish processing logout requests in time");
+        }
+    }
+
+    /**
+     * Process the batch of expired tickets.
+     *
+     * @param batch the batch
+     * @return the number of tickets removed
+     */
+    protected int cleanBatch(final List<Ticket> batch) {
+        batchSizeSummary.record(batch.size());
+        return batchTimer.record(() -> {
+            val logoutRequests = batch.stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .map(this::submitLogout)
+                .collect(Collectors.toList());
+            logoutRequests.forEach(CompletableFuture::join);
+            try {
+                LOGGER.debug("Cleaning up batch of [{}] expired tickets", batch.size());
+                val count = getTicketRegistry().deleteTicketsInBulk(batch);
+                ticketsCounter.increment(count);
+                val now = Instant.now(Clock.systemUTC());
+                batch.forEach(ticket -> {
+                    val expirationTime = AbstractTicketRegistry.getExpirationTime(ticket);
+                    if (expirationTime != Long.MAX_VALUE) {
+                        lagTimer.record(Duration.between(Instant.ofEpochSecond(expirationTime), now));
+                    }
+                });
+                return count;
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+            }
+            return 0;
+        });
+    }
+
+    private int cleanBatches() {
+        val batches = new ArrayList<CompletableFuture<Integer>>();
+        try (val expiredTickets = getExpiredTickets()) {
+            val batch = new ArrayList<Ticket>(batchSize);
+            expiredTickets.forEach(ticket -> {
+                batch.add(ticket);
+                if (batch.size() >= batchSize) {
+                    batches.add(submitBatch(List.copyOf(batch)));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                batches.add(submitBatch(List.copyOf(batch)));
+            }
+        }
+        val ticketsDeleted = batches
+            .stream()
+            .mapToInt(CompletableFuture::join)
+            .sum();
+        LOGGER.info("[{}] expired tickets removed in [{}] batches.", ticketsDeleted, batches.size());
+        return ticketsDeleted;
+    }
+
+    private CompletableFuture<Integer> submitBatch(final List<Ticket> batch) {
+        return CompletableFuture.supplyAsync(() -> cleanBatch(batch), cleanerExecutor);
+    }
+
+    private CompletableFuture<Void> submitLogout(final TicketGrantingTicket ticket) {
+        LOGGER.debug("Submitting logout request for expired ticket-granting ticket [{}]", ticket.getId());
+        return CompletableFuture.runAsync(() -> {
+            try {
+                getLogoutManager().performLogout(SingleLogoutExecutionRequest.builder()
+                    .ticketGrantingTicket(ticket)
+                    .build());
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+            }
+        }, logoutExecutor);
+    }
+}
@@ -7,12 +7,18 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.lock.LockRepository;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
  *
@@ -22,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(transactionManager = "ticketTransactionManager")
 @Slf4j
 @RequiredArgsConstructor
+@Getter(AccessLevel.PROTECTED)
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     private final LockRepository lockRepository;
 
@@ -36,7 +43,7 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
                 LOGGER.trace("Ticket registry cleaner is not supported by [{}]", getClass().getSimpleName());
                 return 0;
             }
-            return cleanInternal();
+            return deleteExpiredTickets() + cleanInternal();
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
         }
@@ -63,7 +70,7 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
      * @return the int
      */
     protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.stream().filter(Ticket::isExpired)) {
+        try (val expiredTickets = getExpiredTickets()) {
             val ticketsDeleted = expiredTickets
                 .mapToInt(this::cleanTicket)
                 .sum();
@@ -72,6 +79,31 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
         }
     }
 
+    /**
+     * Delete expired tickets that need no further processing in bulk,
+     * where supported by the registry.
+     *
+     * @return the number of tickets removed
+     */
+    protected int deleteExpiredTickets() {
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        val count = ticketRegistry.deleteExpiredTickets(now);
+        if (count > 0) {
+            LOGGER.info("[{}] expired tickets removed in bulk.", count);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Gets expired tickets, using the expiration index of the registry where available.
+     *
+     * @return the expired tickets
+     */
+    protected Stream<? extends Ticket> getExpiredTickets() {
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        return ticketRegistry.getExpirationCandidates(now).filter(Ticket::isExpired);
+    }
+
     /**
      * Indicates whether the registry supports automated ticket cleanup.
      * Generally, a registry that is able to return a collection of available
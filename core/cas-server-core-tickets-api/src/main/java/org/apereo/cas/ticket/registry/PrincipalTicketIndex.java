@@ -0,0 +1,183 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is {@link PrincipalTicketIndex}. Tracks the identifiers of tickets
+ * issued to a principal so that sessions may be counted and located
+ * without iterating over every ticket in the registry.
+ * <p>
+ * Index entries are immutable sets that are swapped atomically using
+ * compare-and-set operations, which allows the index to be kept in
+ * distributed storage just as well as in a local map.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PrincipalTicketIndex {
+    private final Storage storage;
+
+    /**
+     * Create an index backed by the given map.
+     *
+     * @param map the map
+     * @return the principal ticket index
+     */
+    public static PrincipalTicketIndex of(final ConcurrentMap<String, Set<String>> map) {
+        return new PrincipalTicketIndex(new Storage() {
+            @Override
+            public Set<String> get(final String key) {
+                return map.get(key);
+            }
+
+            @Override
+            public Set<String> putIfAbsent(final String key, final Set<String> value) {
+                return map.putIfAbsent(key, value);
+            }
+
+            @Override
+            public boolean replace(final String key, final Set<String> oldValue, final Set<String> newValue) {
+                return map.replace(key, oldValue, newValue);
+            }
+
+            @Override
+            public boolean remove(final String key, final Set<String> value) {
+                return map.remove(key, value);
+            }
+
+            @Override
+            public void clear() {
+                map.clear();
+            }
+        });
+    }
+
+    /**
+     * Track the ticket for the given principal.
+     *
+     * @param principalKey the principal key
+     * @param ticketId     the ticket id
+     */
+    public void add(final String principalKey, final String ticketId) {
+        while (true) {
+            val current = storage.get(principalKey);
+            if (current == null) {
+                val entries = new HashSet<String>();
+                entries.add(ticketId);
+                if (storage.putIfAbsent(principalKey, entries) == null) {
+                    return;
+                }
+            } else {
+                if (current.contains(ticketId)) {
+                    return;
+                }
+                val entries = new HashSet<>(current);
+                entries.add(ticketId);
+                if (storage.replace(principalKey, current, entries)) {
+                    return;
+                }
+            }
+            LOGGER.trace("Retrying concurrent update of principal index [{}]", principalKey);
+        }
+    }
+
+    /**
+     * Stop tracking the ticket for the given principal.
+     *
+     * @param principalKey the principal key
+     * @param ticketId     the ticket id
+     */
+    public void remove(final String principalKey, final String ticketId) {
+        while (true) {
+            val current = storage.get(principalKey);
+            if (current == null || !current.contains(ticketId)) {
+                return;
+            }
+            if (current.size() == 1) {
+                if (storage.remove(principalKey, current)) {
+                    return;
+                }
+            } else {
+                val entries = new HashSet<>(current);
+                entries.remove(ticketId);
+                if (storage.replace(principalKey, current, entries)) {
+                    return;
+                }
+            }
+            LOGGER.trace("Retrying concurrent update of principal index [{}]", principalKey);
+        }
+    }
+
+    /**
+     * Gets the tickets tracked for the principal.
+     *
+     * @param principalKey the principal key
+     * @return the ticket ids
+     */
+    public Set<String> get(final String principalKey) {
+        return Optional.ofNullable(storage.get(principalKey)).map(Set::copyOf).orElseGet(Set::of);
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    public void clear() {
+        storage.clear();
+    }
+
+    /**
+     * The underlying storage for index entries,
+     * modeled after the atomic operations of a concurrent map.
+     */
+    public interface Storage {
+        /**
+         * Get the entry.
+         *
+         * @param key the key
+         * @return the entry, or null
+         */
+        Set<String> get(String key);
+
+        /**
+         * Put the entry if absent.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return the previous entry, or null
+         */
+        Set<String> putIfAbsent(String key, Set<String> value);
+
+        /**
+         * Replace the entry if it matches the old value.
+         *
+         * @param key      the key
+         * @param oldValue the old value
+         * @param newValue the new value
+         * @return true if replaced
+         */
+        boolean replace(String key, Set<String> oldValue, Set<String> newValue);
+
+        /**
+         * Remove the entry if it matches the value.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return true if removed
+         */
+        boolean remove(String key, Set<String> value);
+
+        /**
+         * Remove all entries.
+         */
+        void clear();
+    }
+}
@@ -0,0 +1,109 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link TimeBucketedTicketExpirationIndex}. Groups ticket ids into buckets
+ * of a fixed width based on their expected expiration time, so that tickets
+ * which may have expired can be located by visiting only elapsed buckets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiredArgsConstructor
+public class TimeBucketedTicketExpirationIndex {
+    /**
+     * Default width of each bucket in seconds.
+     */
+    public static final long DEFAULT_BUCKET_SIZE_SECONDS = 60;
+
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> ticketBuckets = new ConcurrentHashMap<>();
+
+    private final long bucketSizeInSeconds;
+
+    public TimeBucketedTicketExpirationIndex() {
+        this(DEFAULT_BUCKET_SIZE_SECONDS);
+    }
+
+    /**
+     * Track the ticket, or move it to a new bucket if already tracked.
+     *
+     * @param ticketId       the ticket id
+     * @param expirationTime the expiration time in epoch seconds
+     */
+    public void put(final String ticketId, final long expirationTime) {
+        val bucket = getBucket(expirationTime);
+        val previous = ticketBuckets.put(ticketId, bucket);
+        if (previous != null && previous != bucket) {
+            removeFromBucket(previous, ticketId);
+        }
+        buckets.compute(bucket, (key, ids) -> {
+            val entries = ids == null ? ConcurrentHashMap.<String>newKeySet() : ids;
+            entries.add(ticketId);
+            return entries;
+        });
+    }
+
+    /**
+     * Stop tracking the ticket.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        val bucket = ticketBuckets.remove(ticketId);
+        if (bucket != null) {
+            removeFromBucket(bucket, ticketId);
+        }
+    }
+
+    /**
+     * Gets the ids of tickets whose bucket has started at or before the given time,
+     * ordered by bucket. The bucket that follows is included as well, so that tickets
+     * close to a bucket boundary are not missed when clocks or expiration policies
+     * bring the actual expiration slightly forward. Candidates that turn out to be still alive
+     * should be {@link #put(String, long) put} back at their current expiration time,
+     * so that they are not visited again until then.
+     *
+     * @param expirationTime the expiration time in epoch seconds
+     * @return the ticket ids
+     */
+    public List<String> getExpirationCandidates(final long expirationTime) {
+        val limit = getBucket(expirationTime) + 1;
+        val candidates = new ArrayList<String>();
+        buckets.entrySet()
+            .stream()
+            .filter(entry -> entry.getKey() <= limit)
+            .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+            .forEach(entry -> candidates.addAll(entry.getValue()));
+        return candidates;
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    public void clear() {
+        buckets.clear();
+        ticketBuckets.clear();
+    }
+
+    private long getBucket(final long expirationTime) {
+        return Math.floorDiv(expirationTime, bucketSizeInSeconds);
+    }
+
+    private void removeFromBucket(final long bucket, final String ticketId) {
+        buckets.computeIfPresent(bucket, (key, ids) -> {
+            ids.remove(ticketId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
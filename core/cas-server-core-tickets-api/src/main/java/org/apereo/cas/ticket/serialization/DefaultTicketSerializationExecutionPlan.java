@@ -1,16 +1,24 @@
 package org.apereo.cas.ticket.serialization;
 
+import org.apereo.cas.ticket.ProxyGrantingTicketImpl;
+import org.apereo.cas.ticket.ProxyTicketImpl;
 import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.ServiceTicketImpl;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.registry.DefaultEncodedTicket;
 import org.apereo.cas.ticket.serialization.serializers.EncodedTicketStringSerializer;
 import org.apereo.cas.ticket.serialization.serializers.ProxyGrantingTicketStringSerializer;
 import org.apereo.cas.ticket.serialization.serializers.ProxyTicketStringSerializer;
 import org.apereo.cas.ticket.serialization.serializers.ServiceTicketStringSerializer;
 import org.apereo.cas.ticket.serialization.serializers.TicketGrantingTicketStringSerializer;
 import org.apereo.cas.ticket.serialization.serializers.TransientSessionTicketStringSerializer;
+import org.apereo.cas.util.serialization.BinarySerializer;
+import org.apereo.cas.util.serialization.JacksonSmileBinarySerializer;
 import org.apereo.cas.util.serialization.StringSerializer;
 
 import lombok.Getter;
@@ -28,6 +36,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class DefaultTicketSerializationExecutionPlan implements TicketSerializationExecutionPlan {
     private final Map<String, StringSerializer<? extends Ticket>> ticketSerializers = new ConcurrentHashMap<>();
 
+    private final Map<String, BinarySerializer<? extends Ticket>> ticketBinarySerializers = new ConcurrentHashMap<>();
+
     public DefaultTicketSerializationExecutionPlan() {
         registerTicketSerializer(new EncodedTicketStringSerializer());
         registerTicketSerializer(new ProxyGrantingTicketStringSerializer());
@@ -40,6 +50,17 @@ public class DefaultTicketSerializationExecutionPlan implements TicketSerializat
         registerTicketSerializer(ServiceTicket.class.getName(), new ServiceTicketStringSerializer());
         registerTicketSerializer(ProxyTicket.class.getName(), new ProxyTicketStringSerializer());
         registerTicketSerializer(ProxyGrantingTicket.class.getName(), new ProxyGrantingTicketStringSerializer());
+
+        registerTicketBinarySerializer(new JacksonSmileBinarySerializer<>(DefaultEncodedTicket.class));
+        registerTicketBinarySerializer(new JacksonSmileBinarySerializer<>(ProxyGrantingTicketImpl.class));
+        registerTicketBinarySerializer(new JacksonSmileBinarySerializer<>(ProxyTicketImpl.class));
+        registerTicketBinarySerializer(new JacksonSmileBinarySerializer<>(ServiceTicketImpl.class));
+        registerTicketBinarySerializer(new JacksonSmileBinarySerializer<>(TicketGrantingTicketImpl.class));
+        registerTicketBinarySerializer(new JacksonSmileBinarySerializer<>(TransientSessionTicketImpl.class));
+        registerTicketBinarySerializer(TicketGrantingTicket.class.getName(), new JacksonSmileBinarySerializer<>(TicketGrantingTicketImpl.class));
+        registerTicketBinarySerializer(ServiceTicket.class.getName(), new JacksonSmileBinarySerializer<>(ServiceTicketImpl.class));
+        registerTicketBinarySerializer(ProxyTicket.class.getName(), new JacksonSmileBinarySerializer<>(ProxyTicketImpl.class));
+        registerTicketBinarySerializer(ProxyGrantingTicket.class.getName(), new JacksonSmileBinarySerializer<>(ProxyGrantingTicketImpl.class));
     }
 
     @Override
@@ -66,4 +87,19 @@ public class DefaultTicketSerializationExecutionPlan implements TicketSerializat
     public StringSerializer<Ticket> getTicketSerializer(final String clazz) {
         return (StringSerializer<Ticket>) ticketSerializers.get(clazz);
     }
+
+    @Override
+    public void registerTicketBinarySerializer(final BinarySerializer<? extends Ticket> serializer) {
+        registerTicketBinarySerializer(serializer.getTypeToSerialize().getName(), serializer);
+    }
+
+    @Override
+    public void registerTicketBinarySerializer(final String typeToSerialize, final BinarySerializer<? extends Ticket> serializer) {
+        ticketBinarySerializers.put(typeToSerialize, serializer);
+    }
+
+    @Override
+    public BinarySerializer<Ticket> getTicketBinarySerializer(final String clazz) {
+        return (BinarySerializer<Ticket>) ticketBinarySerializers.get(clazz);
+    }
 }
@@ -56,6 +56,46 @@ public class DefaultTicketStringSerializationManager implements TicketSerializat
             () -> "Unable to find ticket deserializer for " + clazz.getSimpleName());
         LOGGER.trace("Unmarshalling ticket content from [{}]", ticketContent);
         val ticket = serializer.from(ticketContent);
+        return verifyDeserializedTicket(ticket, clazz);
+    }
+
+    @Override
+    public byte[] serializeTicketToBytes(final Ticket ticket) {
+        val serializer = ticketSerializationExecutionPlan.getTicketBinarySerializer(ticket.getClass().getName());
+        if (serializer == null) {
+            LOGGER.trace("No binary serializer is registered for [{}]; serializing ticket as a string", ticket.getClass().getName());
+            return TicketSerializationManager.super.serializeTicketToBytes(ticket);
+        }
+        try {
+            return serializer.toBytes(ticket);
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Ticket deserializeTicketFromBytes(final byte[] ticketContent, final String type) {
+        if (StringUtils.isBlank(type)) {
+            throw new InvalidTicketException("Invalid ticket type [blank] specified");
+        }
+        return Unchecked.supplier(() -> {
+            val clazz = Class.forName(type);
+            return deserializeTicketFromBytes(ticketContent, (Class) clazz);
+        }).get();
+    }
+
+    @Override
+    public <T extends Ticket> T deserializeTicketFromBytes(final byte[] ticketContent, final Class<T> clazz) {
+        val serializer = ticketSerializationExecutionPlan.getTicketBinarySerializer(clazz.getName());
+        if (serializer == null || !serializer.supports(ticketContent)) {
+            return TicketSerializationManager.super.deserializeTicketFromBytes(ticketContent, clazz);
+        }
+        val ticket = serializer.from(ticketContent);
+        return verifyDeserializedTicket(ticket, clazz);
+    }
+
+    private static <T extends Ticket> T verifyDeserializedTicket(final Ticket ticket, final Class<T> clazz) {
         if (ticket == null) {
             throw new InvalidTicketException(clazz.getName());
         }
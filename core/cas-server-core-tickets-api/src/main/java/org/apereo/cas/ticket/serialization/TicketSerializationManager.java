@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.serialization;
 
 import org.apereo.cas.ticket.Ticket;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * This is {@link TicketSerializationManager}.
  *
@@ -36,4 +38,38 @@ public interface TicketSerializationManager {
      * @return the ticket instance
      */
     <T extends Ticket> T deserializeTicket(String ticketContent, Class<T> clazz);
+
+    /**
+     * Serialize ticket into a compact binary form, if supported for the ticket type.
+     * Otherwise, the string form of the ticket is returned as bytes.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    default byte[] serializeTicketToBytes(final Ticket ticket) {
+        return serializeTicket(ticket).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deserialize ticket from its binary or string form.
+     *
+     * @param ticketContent the ticket content
+     * @param type          the type
+     * @return the ticket instance.
+     */
+    default Ticket deserializeTicketFromBytes(final byte[] ticketContent, final String type) {
+        return deserializeTicket(new String(ticketContent, StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Deserialize ticket from its binary or string form.
+     *
+     * @param <T>           the type parameter
+     * @param ticketContent the ticket content
+     * @param clazz         the clazz
+     * @return the ticket instance
+     */
+    default <T extends Ticket> T deserializeTicketFromBytes(final byte[] ticketContent, final Class<T> clazz) {
+        return deserializeTicket(new String(ticketContent, StandardCharsets.UTF_8), clazz);
+    }
 }
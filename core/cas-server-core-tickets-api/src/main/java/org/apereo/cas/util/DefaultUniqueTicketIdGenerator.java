@@ -1,10 +1,10 @@
 package org.apereo.cas.util;
 
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
-import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 import org.apereo.cas.util.gen.DefaultLongNumericGenerator;
 import org.apereo.cas.util.gen.NumericGenerator;
 import org.apereo.cas.util.gen.RandomStringGenerator;
+import org.apereo.cas.util.gen.StripedRandomStringGenerator;
 
 import lombok.Setter;
 import lombok.val;
@@ -12,8 +12,8 @@ import org.apache.commons.lang3.StringUtils;
 
 /**
  * Default implementation of {@link UniqueTicketIdGenerator}. Implementation
- * utilizes a {@link DefaultLongNumericGenerator} and a {@link org.apereo.cas.util.gen.DefaultRandomStringGenerator} to
- * construct the ticket id.
+ * utilizes a {@link DefaultLongNumericGenerator} and a {@link StripedRandomStringGenerator} to
+ * construct the ticket id, so that threads generating ids concurrently do not contend on a single secure random instance.
  * <p>
  * Tickets are of the form [PREFIX]-[SEQUENCE NUMBER]-[RANDOM STRING]-[SUFFIX]
  * </p>
@@ -116,7 +116,7 @@ public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
      * @param maxLength the max length
      */
     public void setMaxLength(final long maxLength) {
-        this.randomStringGenerator = new Base64RandomStringGenerator(maxLength);
+        this.randomStringGenerator = new StripedRandomStringGenerator(maxLength);
         this.numericGenerator = new DefaultLongNumericGenerator(1);
     }
 }
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.registry.BatchingTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
@@ -14,9 +15,12 @@ import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 import org.apereo.cas.util.spring.boot.ConditionalOnMatchingHostname;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -56,9 +60,18 @@ public class CasCoreTicketsSchedulingConfiguration {
         @Qualifier(LogoutManager.DEFAULT_BEAN_NAME)
         final LogoutManager logoutManager,
         @Qualifier(TicketRegistry.BEAN_NAME)
-        final TicketRegistry ticketRegistry) {
-        val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
+        final TicketRegistry ticketRegistry,
+        final ObjectProvider<MeterRegistry> meterRegistry) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        val isCleanerEnabled = cleaner.getSchedule().isEnabled();
         if (isCleanerEnabled) {
+            if (cleaner.getParallelism() > 1) {
+                LOGGER.debug("Ticket registry cleaner is enabled, processing batches of [{}] tickets with [{}] workers.",
+                    cleaner.getBatchSize(), cleaner.getParallelism());
+                return new BatchingTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry,
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), cleaner.getParallelism(),
+                    cleaner.getBatchSize(), cleaner.getLogoutPoolSize(), cleaner.getLogoutQueueCapacity());
+            }
             LOGGER.debug("Ticket registry cleaner is enabled.");
             return new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
         }
@@ -28,11 +28,13 @@ import org.apereo.cas.ticket.factory.DefaultTicketGrantingTicketFactoryTests;
 import org.apereo.cas.ticket.factory.DefaultTransientSessionTicketFactoryTests;
 import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandlerTests;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandlerTests;
+import org.apereo.cas.ticket.registry.BatchingTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupportTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TimeBucketedTicketExpirationIndexTests;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManagerTests;
 import org.apereo.cas.util.DefaultMessageSanitizerTests;
 import org.apereo.cas.util.DefaultUniqueTicketIdGeneratorTests;
@@ -83,6 +85,8 @@ import org.junit.platform.suite.api.Suite;
     HardTimeoutExpirationPolicyTests.class,
     NeverExpiresExpirationPolicyTests.class,
     DefaultTicketRegistryCleanerTests.class,
+    TimeBucketedTicketExpirationIndexTests.class,
+    BatchingTicketRegistryCleanerTests.class,
     TicketSerializersTests.class,
     DefaultMessageSanitizerTests.class,
     InternalTicketValidatorTests.class,
@@ -0,0 +1,126 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.logout.SingleLogoutExecutionRequest;
+import org.apereo.cas.mock.MockServiceTicket;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.lock.LockRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BatchingTicketRegistryCleanerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Tickets")
+public class BatchingTicketRegistryCleanerTests {
+
+    @Test
+    public void verifyAction() throws Exception {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        val loggedOutBeforeRemoval = new AtomicInteger();
+        when(logoutManager.performLogout(any())).thenAnswer(args -> {
+            val request = args.getArgument(0, SingleLogoutExecutionRequest.class);
+            if (ticketRegistry.getTicket(request.getTicketGrantingTicket().getId()) != null) {
+                loggedOutBeforeRemoval.incrementAndGet();
+            }
+            return List.of();
+        });
+        for (var i = 0; i < 10; i++) {
+            val tgt = new MockTicketGrantingTicket("casuser");
+            tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
+            ticketRegistry.addTicket(tgt);
+            val st = new MockServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService(), tgt);
+            ticketRegistry.addTicket(st);
+            tgt.trackService(st.getId(), st.getService(), false);
+            tgt.markTicketExpired();
+        }
+        assertEquals(20, ticketRegistry.getTickets().size());
+
+        val meterRegistry = new SimpleMeterRegistry();
+        val cleaner = new BatchingTicketRegistryCleaner(LockRepository.noOp(), logoutManager,
+            ticketRegistry, meterRegistry, 2, 3, 1, 2);
+        try {
+            assertEquals(20, cleaner.clean());
+            assertTrue(ticketRegistry.getTickets().isEmpty());
+            assertEquals(4, meterRegistry.get("cas.ticket.registry.cleaner.batch.size").summary().count());
+            assertEquals(20, meterRegistry.get("cas.ticket.registry.cleaner.tickets").counter().count());
+        } finally {
+            cleaner.destroy();
+        }
+        verify(logoutManager, times(10)).performLogout(any());
+        assertEquals(10, loggedOutBeforeRemoval.get());
+    }
+
+    @Test
+    public void verifyBatchesInFlightAreBounded() throws Exception {
+        val ticketRegistry = new DefaultTicketRegistry();
+        for (var i = 0; i < 10; i++) {
+            val tgt = new MockTicketGrantingTicket("casuser");
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+        }
+        val callerThread = Thread.currentThread();
+        val batchesOnCaller = new AtomicInteger();
+        val cleaner = new BatchingTicketRegistryCleaner(LockRepository.noOp(), mock(LogoutManager.class),
+            ticketRegistry, new SimpleMeterRegistry(), 1, 1, 1, 1) {
+            @Override
+            protected int cleanBatch(final List<Ticket> batch) {
+                if (Thread.currentThread() == callerThread) {
+                    batchesOnCaller.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(50);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.cleanBatch(batch);
+            }
+        };
+        try {
+            assertEquals(10, cleaner.clean());
+            assertTrue(ticketRegistry.getTickets().isEmpty());
+            assertTrue(batchesOnCaller.get() > 0);
+        } finally {
+            cleaner.destroy();
+        }
+    }
+
+    @Test
+    public void verifyLockNotObtained() throws Exception {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.markTicketExpired();
+        ticketRegistry.addTicket(tgt);
+
+        val lockRepository = mock(LockRepository.class);
+        when(lockRepository.execute(any(), any())).thenReturn(Optional.empty());
+        val cleaner = new BatchingTicketRegistryCleaner(lockRepository, logoutManager,
+            ticketRegistry, new SimpleMeterRegistry(), 2, 3, 1, 2);
+        try {
+            assertEquals(0, cleaner.clean());
+            assertEquals(1, ticketRegistry.getTickets().size());
+        } finally {
+            cleaner.destroy();
+        }
+        verifyNoInteractions(logoutManager);
+    }
+}
@@ -66,4 +66,19 @@ public class CachingTicketRegistryTests extends BaseTicketRegistryTests {
         ticket.markTicketExpired();
         assertNull(registry.getTicket(ticket.getId()));
     }
+
+    @RepeatedTest(1)
+    public void verifyEvictionRemovesPrincipalIndex() throws Exception {
+        val registry = new CachingTicketRegistry(CipherExecutor.noOp(),
+            new DirectObjectProvider<>(mock(LogoutManager.class)));
+        val ticket = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(ticket);
+        val principalKey = registry.getPrincipalIndexKey("casuser");
+        assertEquals(1, registry.principalTicketIndex.get(principalKey).size());
+        ticket.markTicketExpired();
+        registry.getStorage().getIfPresent(ticket.getId());
+        registry.getStorage().cleanUp();
+        Thread.sleep(1000);
+        assertTrue(registry.principalTicketIndex.get(principalKey).isEmpty());
+    }
 }
@@ -3,6 +3,7 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.mock.MockServiceTicket;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.crypto.CipherExecutor;
@@ -12,8 +13,11 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Clock;
+import java.time.ZonedDateTime;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,6 +48,39 @@ public class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
         assertEquals(Long.MIN_VALUE, registry.serviceTicketCount());
     }
 
+    @RepeatedTest(1)
+    public void verifyExpirationCandidatesAreReindexed() throws Exception {
+        val policy = mock(ExpirationPolicy.class);
+        when(policy.getTimeToLive(any(Ticket.class))).thenReturn(100L);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        tgt.setExpirationPolicy(policy);
+        val registry = getNewTicketRegistry();
+        registry.addTicket(tgt);
+
+        val later = ZonedDateTime.now(Clock.systemUTC()).plusHours(1);
+        assertEquals(1, registry.getExpirationCandidates(later).count());
+        when(policy.getTimeToLive(any(Ticket.class))).thenReturn(TimeUnit.DAYS.toSeconds(1));
+        assertEquals(1, registry.getExpirationCandidates(later).count());
+        assertEquals(0, registry.getExpirationCandidates(later).count());
+        assertEquals(1, registry.getExpirationCandidates(later.plusDays(1)).count());
+    }
+
+    @RepeatedTest(1)
+    public void verifyExpiredTicketsAreCandidatesImmediately() throws Exception {
+        val policy = mock(ExpirationPolicy.class);
+        when(policy.getTimeToLive(any(Ticket.class))).thenReturn(TimeUnit.DAYS.toSeconds(1));
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        tgt.setExpirationPolicy(policy);
+        val registry = getNewTicketRegistry();
+        registry.addTicket(tgt);
+
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        assertEquals(0, registry.getExpirationCandidates(now).count());
+        tgt.markTicketExpired();
+        registry.updateTicket(tgt);
+        assertEquals(1, registry.getExpirationCandidates(now).count());
+    }
+
     @RepeatedTest(1)
     public void verifyCountForPrincipal() throws Exception {
         val user = UUID.randomUUID().toString();
@@ -57,6 +94,25 @@ public class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
         assertEquals(1, count);
     }
 
+    @RepeatedTest(1)
+    public void verifySessionsForPrincipalAfterDelete() throws Exception {
+        val user = UUID.randomUUID().toString();
+        val registry = getNewTicketRegistry();
+        val tgt1 = new MockTicketGrantingTicket(user);
+        val tgt2 = new MockTicketGrantingTicket(user);
+        registry.addTicket(tgt1);
+        registry.addTicket(tgt2);
+        registry.updateTicket(tgt2);
+        assertEquals(2, registry.countSessionsFor(user));
+        assertEquals(2, registry.countSessionsFor(user.toUpperCase()));
+        assertEquals(2, registry.getSessionsFor(user).count());
+
+        registry.deleteTicket(tgt1.getId());
+        assertEquals(1, registry.countSessionsFor(user));
+        assertEquals(1, registry.getSessionsFor(user).count());
+        registry.deleteAll();
+        assertEquals(0, registry.countSessionsFor(user));
+    }
 
     @RepeatedTest(1)
     public void verifyEncodeFails() throws Exception {
@@ -0,0 +1,42 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link TimeBucketedTicketExpirationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Tickets")
+public class TimeBucketedTicketExpirationIndexTests {
+
+    @Test
+    public void verifyCandidates() {
+        val index = new TimeBucketedTicketExpirationIndex(10);
+        index.put("TGT-1", 100);
+        index.put("TGT-2", 105);
+        index.put("TGT-3", 500);
+        assertEquals(2, index.getExpirationCandidates(100).size());
+        assertTrue(index.getExpirationCandidates(80).isEmpty());
+        assertEquals(3, index.getExpirationCandidates(500).size());
+    }
+
+    @Test
+    public void verifyMoveAndRemove() {
+        val index = new TimeBucketedTicketExpirationIndex(10);
+        index.put("TGT-1", 100);
+        index.put("TGT-1", 500);
+        assertTrue(index.getExpirationCandidates(100).isEmpty());
+        assertEquals(1, index.getExpirationCandidates(500).size());
+        index.remove("TGT-1");
+        assertTrue(index.getExpirationCandidates(500).isEmpty());
+        index.put("TGT-2", 100);
+        index.clear();
+        assertTrue(index.getExpirationCandidates(500).isEmpty());
+    }
+}
@@ -17,6 +17,7 @@ import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.util.serialization.JacksonSmileBinarySerializer;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -27,6 +28,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -72,6 +75,27 @@ public class DefaultTicketStringSerializationManagerTests {
         assertThrows(InvalidTicketException.class, () -> ticketSerializationManager.deserializeTicket(result, ProxyTicket.class));
     }
 
+    @Test
+    public void verifyBinaryOperation() {
+        val factory = (TicketGrantingTicketFactory) this.defaultTicketFactory.get(TicketGrantingTicket.class);
+        val ticket = factory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+        val result = ticketSerializationManager.serializeTicketToBytes(ticket);
+        assertTrue(JacksonSmileBinarySerializer.isSmile(result));
+        assertTrue(result.length < ticketSerializationManager.serializeTicket(ticket).getBytes(StandardCharsets.UTF_8).length);
+
+        val deserializedTicket = ticketSerializationManager.deserializeTicketFromBytes(result, TicketGrantingTicket.class);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(ticket.getAuthentication(), deserializedTicket.getAuthentication());
+        assertEquals(ticket, ticketSerializationManager.deserializeTicketFromBytes(result, ticket.getClass().getName()));
+
+        val legacy = ticketSerializationManager.serializeTicket(ticket).getBytes(StandardCharsets.UTF_8);
+        assertEquals(ticket, ticketSerializationManager.deserializeTicketFromBytes(legacy, TicketGrantingTicket.class));
+
+        assertThrows(InvalidTicketException.class, () -> ticketSerializationManager.deserializeTicketFromBytes(result, ProxyTicket.class));
+        assertThrows(InvalidTicketException.class, () -> ticketSerializationManager.deserializeTicketFromBytes(result, StringUtils.EMPTY));
+    }
+
     @Test
     public void verifyBadClass() {
         assertThrows(NullPointerException.class, () -> ticketSerializationManager.serializeTicket(mock(Ticket.class)));
@@ -6,16 +6,18 @@ import org.apereo.cas.util.io.TemporaryFileSystemResource;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 import org.springframework.core.io.WritableResource;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
@@ -24,18 +26,27 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 /**
  * This is {@link CompressionUtils}
  * that encapsulates common compression calls and operations
  * in one spot.
+ * <p>
+ * Compression and decompression is done in a streaming fashion with no limit on the size of the payload,
+ * unless a maximum inflated size is given, in which case inflating larger payloads fails
+ * with an {@link InflatedSizeExceededException} rather than truncating the payload.
+ * Buffers, {@link Deflater} and {@link Inflater} instances are pooled and reused across calls.
  *
  * @author Misagh Moayyed
  * @since 4.1
@@ -43,7 +54,21 @@ import java.util.zip.InflaterInputStream;
 @Slf4j
 @UtilityClass
 public class CompressionUtils {
-    private static final int INFLATED_ARRAY_LENGTH = 10000;
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final byte[] DUMMY_INPUT = new byte[1];
+
+    private static final BlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(POOL_SIZE * 2);
+
+    private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final BlockingQueue<Deflater> RAW_DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final BlockingQueue<Inflater> RAW_INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
 
     /**
      * Deflate the given bytes using zlib.
@@ -52,8 +77,9 @@ public class CompressionUtils {
      * @return the converted string
      */
     public static String deflate(final byte[] bytes) {
-        val data = new String(bytes, StandardCharsets.UTF_8);
-        return deflate(data);
+        val output = new ByteArrayOutputStream(Math.max(bytes.length / 2, 64));
+        FunctionUtils.doUnchecked(() -> deflate(new ByteArrayInputStream(bytes), output, false));
+        return EncodingUtils.encodeBase64(output.toByteArray());
     }
 
     /**
@@ -63,37 +89,40 @@ public class CompressionUtils {
      * @return base64 encoded string
      */
     public static String deflate(final String data) {
-        val deflater = new Deflater();
-        deflater.setInput(data.getBytes(StandardCharsets.UTF_8));
-        deflater.finish();
-        val buffer = new byte[data.length()];
-        val resultSize = deflater.deflate(buffer);
-        deflater.end();
-        val output = new byte[resultSize];
-        System.arraycopy(buffer, 0, output, 0, resultSize);
-        return EncodingUtils.encodeBase64(output);
+        return deflate(data.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
      * Inflate the byte[] to a string.
+     * The bytes are expected to be raw deflated data, with no zlib header.
      *
      * @param bytes the data to decode
      * @return the new string
      */
     public static String inflate(final byte[] bytes) {
-        val inflater = new Inflater(true);
-        val xmlMessageBytes = new byte[INFLATED_ARRAY_LENGTH];
-
-        val extendedBytes = new byte[bytes.length + 1];
-        System.arraycopy(bytes, 0, extendedBytes, 0, bytes.length);
-        extendedBytes[bytes.length] = 0;
-        inflater.setInput(extendedBytes);
+        return inflate(bytes, 0);
+    }
 
-        return FunctionUtils.doAndHandle(() -> {
-            val resultLength = inflater.inflate(xmlMessageBytes);
-            inflater.end();
-            return new String(xmlMessageBytes, 0, resultLength, StandardCharsets.UTF_8);
-        }, throwable -> null).get();
+    /**
+     * Inflate the byte[] to a string, failing if the inflated data is larger than the given size.
+     * The bytes are expected to be raw deflated data, with no zlib header.
+     *
+     * @param bytes               the data to decode
+     * @param maximumInflatedSize the maximum number of inflated bytes; zero or negative for no limit
+     * @return the new string, or null if the data cannot be inflated
+     * @throws InflatedSizeExceededException if the inflated data is larger than the given size
+     */
+    public static String inflate(final byte[] bytes, final long maximumInflatedSize) {
+        try {
+            val output = new ByteArrayOutputStream(Math.max(bytes.length * 4, 64));
+            inflateInternal(new ByteArrayInputStream(bytes), output, true, maximumInflatedSize);
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (final InflatedSizeExceededException e) {
+            throw e;
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return null;
+        }
     }
 
     /**
@@ -106,37 +135,47 @@ public class CompressionUtils {
     public static String decompress(final String zippedBase64Str) {
         return Unchecked.supplier(() -> {
             val bytes = EncodingUtils.decodeBase64(zippedBase64Str);
-            try (val zi = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
-                return IOUtils.toString(zi, Charset.defaultCharset());
-            }
+            val output = new ByteArrayOutputStream(Math.max(bytes.length * 4, 64));
+            gunzip(new ByteArrayInputStream(bytes), output);
+            return output.toString(StandardCharsets.UTF_8);
         }).get();
     }
 
     /**
      * Decode the byte[] in base64 to a string.
+     * The bytes are expected to be deflated data wrapped with a zlib header.
      *
      * @param bytes the data to encode
      * @return the new string
      */
     public static String decodeByteArrayToString(final byte[] bytes) {
-        val bais = new ByteArrayInputStream(bytes);
-        val baos = new ByteArrayOutputStream();
-        val buf = new byte[bytes.length];
+        return decodeByteArrayToString(bytes, 0);
+    }
 
-        try (val iis = new InflaterInputStream(bais)) {
-            var count = iis.read(buf);
-            while (count != -1) {
-                baos.write(buf, 0, count);
-                count = iis.read(buf);
+    /**
+     * Decode the byte[] in base64 to a string, failing if the inflated data is larger than the given size.
+     * The bytes are expected to be deflated data wrapped with a zlib header.
+     *
+     * @param bytes               the data to encode
+     * @param maximumInflatedSize the maximum number of inflated bytes; zero or negative for no limit
+     * @return the new string, or null if the data cannot be inflated
+     * @throws InflatedSizeExceededException if the inflated data is larger than the given size
+     */
+    public static String decodeByteArrayToString(final byte[] bytes, final long maximumInflatedSize) {
+        try {
+            val output = new ByteArrayOutputStream(Math.max(bytes.length * 4, 64));
+            if (inflateInternal(new ByteArrayInputStream(bytes), output, false, maximumInflatedSize) < 0) {
+                throw new EOFException("Unexpected end of deflated input stream");
             }
-            return baos.toString(StandardCharsets.UTF_8);
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (final InflatedSizeExceededException e) {
+            throw e;
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
             return null;
         }
     }
 
-
     /**
      * Use ZipOutputStream to zip text to byte array, then convert
      * byte array to base64 string, so it can be transferred via http request.
@@ -146,17 +185,203 @@ public class CompressionUtils {
      */
     public static String compress(final String srcTxt) {
         return Unchecked.supplier(() -> {
-            try (val rstBao = new ByteArrayOutputStream(); val zos = new GZIPOutputStream(rstBao)) {
-                zos.write(srcTxt.getBytes(StandardCharsets.UTF_8));
-                zos.flush();
-                zos.finish();
-                val bytes = rstBao.toByteArray();
-                val base64 = StringUtils.remove(EncodingUtils.encodeBase64(bytes), '\0');
-                return new String(StandardCharsets.UTF_8.encode(base64).array(), StandardCharsets.UTF_8);
-            }
+            val bytes = srcTxt.getBytes(StandardCharsets.UTF_8);
+            val output = new ByteArrayOutputStream(Math.max(bytes.length / 2, 64));
+            gzip(new ByteArrayInputStream(bytes), output);
+            return EncodingUtils.encodeBase64(output.toByteArray());
         }).get();
     }
 
+    /**
+     * Deflate the input stream into the output stream.
+     * Neither stream is closed.
+     *
+     * @param input  the input
+     * @param output the output
+     * @param nowrap whether raw deflated data should be produced, with no zlib header
+     * @return the number of bytes written to the output
+     * @throws IOException the exception
+     */
+    public static long deflate(final InputStream input, final OutputStream output, final boolean nowrap) throws IOException {
+        val deflater = borrowDeflater(nowrap);
+        val inputBuffer = borrowBuffer();
+        val outputBuffer = borrowBuffer();
+        try {
+            var total = 0L;
+            var count = input.read(inputBuffer);
+            while (count != -1) {
+                deflater.setInput(inputBuffer, 0, count);
+                while (!deflater.needsInput()) {
+                    total += deflate(deflater, outputBuffer, output);
+                }
+                count = input.read(inputBuffer);
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                total += deflate(deflater, outputBuffer, output);
+            }
+            return total;
+        } finally {
+            releaseBuffer(outputBuffer);
+            releaseBuffer(inputBuffer);
+            releaseDeflater(deflater, nowrap);
+        }
+    }
+
+    /**
+     * Deflate the remaining bytes of the given buffer.
+     *
+     * @param input  the input
+     * @param nowrap whether raw deflated data should be produced, with no zlib header
+     * @return the deflated bytes
+     * @throws IOException the exception
+     */
+    public static ByteBuffer deflate(final ByteBuffer input, final boolean nowrap) throws IOException {
+        val deflater = borrowDeflater(nowrap);
+        val outputBuffer = borrowBuffer();
+        try {
+            val output = new ByteArrayOutputStream(Math.max(input.remaining() / 2, 64));
+            deflater.setInput(input);
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(deflater, outputBuffer, output);
+            }
+            return ByteBuffer.wrap(output.toByteArray());
+        } finally {
+            releaseBuffer(outputBuffer);
+            releaseDeflater(deflater, nowrap);
+        }
+    }
+
+    /**
+     * Inflate the input stream into the output stream.
+     * Neither stream is closed.
+     *
+     * @param input  the input
+     * @param output the output
+     * @param nowrap whether the input is raw deflated data, with no zlib header
+     * @return the number of bytes written to the output
+     * @throws IOException the exception, if the input is malformed or truncated
+     */
+    public static long inflate(final InputStream input, final OutputStream output, final boolean nowrap) throws IOException {
+        val total = inflateInternal(input, output, nowrap, 0);
+        if (total < 0) {
+            throw new EOFException("Unexpected end of deflated input stream");
+        }
+        return total;
+    }
+
+    /**
+     * Inflate the remaining bytes of the given buffer.
+     *
+     * @param input  the input
+     * @param nowrap whether the input is raw deflated data, with no zlib header
+     * @return the inflated bytes
+     * @throws IOException the exception, if the input is malformed or truncated
+     */
+    public static ByteBuffer inflate(final ByteBuffer input, final boolean nowrap) throws IOException {
+        val inflater = borrowInflater(nowrap);
+        val outputBuffer = borrowBuffer();
+        try {
+            val output = new ByteArrayOutputStream(Math.max(input.remaining() * 4, 64));
+            inflater.setInput(input);
+            var dummyInputProvided = false;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    if (!nowrap || dummyInputProvided) {
+                        throw new EOFException("Unexpected end of deflated input buffer");
+                    }
+                    inflater.setInput(DUMMY_INPUT);
+                    dummyInputProvided = true;
+                }
+                inflate(inflater, outputBuffer, output);
+            }
+            return ByteBuffer.wrap(output.toByteArray());
+        } finally {
+            releaseBuffer(outputBuffer);
+            releaseInflater(inflater, nowrap);
+        }
+    }
+
+    /**
+     * Create an input stream that inflates the given input as it is read.
+     * Closing the stream closes the given input.
+     *
+     * @param input  the input
+     * @param nowrap whether the input is raw deflated data, with no zlib header
+     * @return the input stream
+     */
+    public static InputStream inflating(final InputStream input, final boolean nowrap) {
+        return inflating(input, nowrap, 0);
+    }
+
+    /**
+     * Create an input stream that inflates the given input as it is read,
+     * and fails once more than the given number of bytes have been inflated.
+     * Closing the stream closes the given input.
+     *
+     * @param input               the input
+     * @param nowrap              whether the input is raw deflated data, with no zlib header
+     * @param maximumInflatedSize the maximum number of inflated bytes; zero or negative for no limit
+     * @return the input stream, which throws {@link InflatedSizeExceededException} once the limit is exceeded
+     */
+    public static InputStream inflating(final InputStream input, final boolean nowrap, final long maximumInflatedSize) {
+        val inflater = borrowInflater(nowrap);
+        return new InflaterInputStream(input, inflater, BUFFER_SIZE) {
+            private boolean released;
+
+            private long total;
+
+            @Override
+            public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                val count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    total += count;
+                    verifyInflatedSize(total, maximumInflatedSize);
+                }
+                return count;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!released) {
+                        released = true;
+                        releaseInflater(inflater, nowrap);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Gzip the input stream into the output stream.
+     * Neither stream is closed.
+     *
+     * @param input  the input
+     * @param output the output
+     * @throws IOException the exception
+     */
+    public static void gzip(final InputStream input, final OutputStream output) throws IOException {
+        val gzip = new GZIPOutputStream(output, BUFFER_SIZE);
+        copy(input, gzip);
+        gzip.finish();
+    }
+
+    /**
+     * Gunzip the input stream into the output stream.
+     * Neither stream is closed.
+     *
+     * @param input  the input
+     * @param output the output
+     * @throws IOException the exception
+     */
+    public static void gunzip(final InputStream input, final OutputStream output) throws IOException {
+        copy(new GZIPInputStream(input, BUFFER_SIZE), output);
+    }
+
     /**
      * To zip file.
      *
@@ -187,4 +412,107 @@ public class CompressionUtils {
             return new TemporaryFileSystemResource(file);
         }).get();
     }
+
+    private static void verifyInflatedSize(final long size, final long maximumInflatedSize) {
+        if (maximumInflatedSize > 0 && size > maximumInflatedSize) {
+            throw new InflatedSizeExceededException(maximumInflatedSize);
+        }
+    }
+
+    private static long inflateInternal(final InputStream input, final OutputStream output,
+                                        final boolean nowrap, final long maximumInflatedSize) throws IOException {
+        val inflater = borrowInflater(nowrap);
+        val inputBuffer = borrowBuffer();
+        val outputBuffer = borrowBuffer();
+        try {
+            var total = 0L;
+            var dummyInputProvided = false;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    val count = input.read(inputBuffer);
+                    if (count == -1) {
+                        if (!nowrap || dummyInputProvided) {
+                            return -1;
+                        }
+                        inflater.setInput(DUMMY_INPUT);
+                        dummyInputProvided = true;
+                    } else {
+                        inflater.setInput(inputBuffer, 0, count);
+                    }
+                }
+                total += inflate(inflater, outputBuffer, output);
+                verifyInflatedSize(total, maximumInflatedSize);
+            }
+            return total;
+        } finally {
+            releaseBuffer(outputBuffer);
+            releaseBuffer(inputBuffer);
+            releaseInflater(inflater, nowrap);
+        }
+    }
+
+    private static int deflate(final Deflater deflater, final byte[] buffer, final OutputStream output) throws IOException {
+        val count = deflater.deflate(buffer);
+        output.write(buffer, 0, count);
+        return count;
+    }
+
+    private static int inflate(final Inflater inflater, final byte[] buffer, final OutputStream output) throws IOException {
+        try {
+            val count = inflater.inflate(buffer);
+            if (count == 0 && inflater.needsDictionary()) {
+                throw new ZipException("Deflated input requires a preset dictionary");
+            }
+            output.write(buffer, 0, count);
+            return count;
+        } catch (final DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+    }
+
+    private static void copy(final InputStream input, final OutputStream output) throws IOException {
+        val buffer = borrowBuffer();
+        try {
+            var count = input.read(buffer);
+            while (count != -1) {
+                output.write(buffer, 0, count);
+                count = input.read(buffer);
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private static byte[] borrowBuffer() {
+        val buffer = BUFFERS.poll();
+        return buffer == null ? new byte[BUFFER_SIZE] : buffer;
+    }
+
+    private static void releaseBuffer(final byte[] buffer) {
+        BUFFERS.offer(buffer);
+    }
+
+    private static Deflater borrowDeflater(final boolean nowrap) {
+        val deflater = (nowrap ? RAW_DEFLATERS : DEFLATERS).poll();
+        return deflater == null ? new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap) : deflater;
+    }
+
+    private static void releaseDeflater(final Deflater deflater, final boolean nowrap) {
+        deflater.reset();
+        if (!(nowrap ? RAW_DEFLATERS : DEFLATERS).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private static Inflater borrowInflater(final boolean nowrap) {
+        val inflater = (nowrap ? RAW_INFLATERS : INFLATERS).poll();
+        return inflater == null ? new Inflater(nowrap) : inflater;
+    }
+
+    private static void releaseInflater(final Inflater inflater, final boolean nowrap) {
+        inflater.reset();
+        if (!(nowrap ? RAW_INFLATERS : INFLATERS).offer(inflater)) {
+            inflater.end();
+        }
+    }
 }
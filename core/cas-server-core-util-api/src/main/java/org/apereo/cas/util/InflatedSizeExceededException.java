@@ -0,0 +1,16 @@
+package org.apereo.cas.util;
+
+/**
+ * This is {@link InflatedSizeExceededException}, thrown when inflating
+ * deflated data would produce more than the maximum number of bytes allowed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+public class InflatedSizeExceededException extends RuntimeException {
+    private static final long serialVersionUID = 2816381630213358716L;
+
+    public InflatedSizeExceededException(final long maximumInflatedSize) {
+        super("Inflated data exceeds the maximum allowed size of " + maximumInflatedSize + " bytes");
+    }
+}
@@ -5,6 +5,7 @@ import org.apereo.cas.util.crypto.DecryptionException;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +21,11 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.Provider;
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * This is {@link BaseBinaryCipherExecutor}.
@@ -56,6 +61,18 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
 
     private byte[] encryptionSecretKey;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Queue<Cipher> decryptionCiphers = new ConcurrentLinkedQueue<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Provider cipherProvider;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile PooledHmacJsonWebSigner signer;
+
     protected BaseBinaryCipherExecutor(final String encryptionSecretKey, final String signingSecretKey,
                                        final int signingKeySize, final int encryptionKeySize,
                                        final String cipherName) {
@@ -72,28 +89,66 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         return params.get("k").toString();
     }
 
+    /**
+     * Encrypt and sign the value. A new cipher is created for every operation since
+     * GCM does not allow a cipher instance to be reused for encryption with the same key and IV;
+     * the security provider is resolved once and reused to avoid provider selection.
+     *
+     * @param value      the value
+     * @param parameters the parameters
+     * @return the encoded value
+     */
     @Override
     public byte[] encode(final byte[] value, final Object[] parameters) {
         return FunctionUtils.doUnchecked(() -> {
-            val aesCipher = Cipher.getInstance(CIPHER_ALGORITHM);
-            aesCipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, this.parameterSpec);
+            val aesCipher = newCipher(Cipher.ENCRYPT_MODE);
             val result = aesCipher.doFinal(value);
             return sign(result, getSigningKey());
         });
     }
 
+    /**
+     * Verify and decrypt the value. Ciphers initialized for decryption are pooled and reused,
+     * given that a cipher is reset to its initialized state once the operation completes.
+     *
+     * @param value      the value
+     * @param parameters the parameters
+     * @return the decoded value
+     */
     @Override
     public byte[] decode(final byte[] value, final Object[] parameters) {
         try {
             val verifiedValue = verifySignature(value, getSigningKey());
-            val aesCipher = Cipher.getInstance(CIPHER_ALGORITHM);
-            aesCipher.init(Cipher.DECRYPT_MODE, this.encryptionKey, this.parameterSpec);
-            return aesCipher.doFinal(verifiedValue);
+            var aesCipher = decryptionCiphers.poll();
+            if (aesCipher == null) {
+                aesCipher = newCipher(Cipher.DECRYPT_MODE);
+            }
+            val result = aesCipher.doFinal(verifiedValue);
+            decryptionCiphers.offer(aesCipher);
+            return result;
         } catch (final Exception e) {
             throw LOGGER.isTraceEnabled() ? new DecryptionException(e) : new DecryptionException();
         }
     }
 
+    @Override
+    protected byte[] sign(final byte[] value, final Key signingKey) {
+        val pooledSigner = getPooledSigner(signingKey);
+        return pooledSigner != null ? pooledSigner.sign(value) : super.sign(value, signingKey);
+    }
+
+    @Override
+    protected byte[] verifySignature(final byte[] value, final Key activeSigningKey) {
+        val pooledSigner = getPooledSigner(activeSigningKey);
+        if (pooledSigner != null) {
+            val result = pooledSigner.verify(value);
+            if (result != null) {
+                return result;
+            }
+        }
+        return super.verifySignature(value, activeSigningKey);
+    }
+
     /**
      * Gets encryption key setting.
      *
@@ -108,6 +163,33 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
      */
     protected abstract String getSigningKeySetting();
 
+    private Cipher newCipher(final int mode) throws Exception {
+        val provider = this.cipherProvider;
+        val aesCipher = provider == null
+            ? Cipher.getInstance(CIPHER_ALGORITHM)
+            : Cipher.getInstance(CIPHER_ALGORITHM, provider);
+        aesCipher.init(mode, this.encryptionKey, this.parameterSpec);
+        if (provider == null) {
+            LOGGER.trace("Using security provider [{}] for [{}]", aesCipher.getProvider().getName(), cipherName);
+            this.cipherProvider = aesCipher.getProvider();
+        }
+        return aesCipher;
+    }
+
+    private PooledHmacJsonWebSigner getPooledSigner(final Key signingKey) {
+        if (signingKey == null || !PooledHmacJsonWebSigner.supportsHeaders(getCustomHeaders())) {
+            return null;
+        }
+        var pooledSigner = this.signer;
+        if (pooledSigner == null || pooledSigner.getKey() != signingKey) {
+            pooledSigner = PooledHmacJsonWebSigner.of(signingKey, getSigningAlgorithmFor(signingKey));
+            if (pooledSigner != null) {
+                this.signer = pooledSigner;
+            }
+        }
+        return pooledSigner;
+    }
+
     private AlgorithmParameterSpec buildParameterSpec(final int encryptionKeySize) {
         val iv = new byte[encryptionSecretKey.length];
         if (encryptionKeySize > MINIMUM_ENCRYPTION_KEY_LENGTH) {
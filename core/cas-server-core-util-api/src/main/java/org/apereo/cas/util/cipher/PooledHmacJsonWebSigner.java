@@ -0,0 +1,163 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.function.FunctionUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.jose4j.json.JsonUtil;
+import org.jose4j.jws.AlgorithmIdentifiers;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This is {@link PooledHmacJsonWebSigner}. Signs and verifies values as compact
+ * JSON web signatures using {@code HS512}, without going through the full JOSE pipeline.
+ * {@link Mac} instances are initialized once with the signing key and pooled,
+ * so the key schedule is not recomputed for every operation.
+ * <p>
+ * Signatures produced here are standard and may be verified by any JOSE implementation.
+ * Signatures produced elsewhere are verified here only if they carry no headers other than
+ * {@code alg}, {@code typ} and {@code kid}; callers are expected to fall back onto the JOSE
+ * pipeline for anything that cannot be verified here.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+class PooledHmacJsonWebSigner {
+    private static final String MAC_ALGORITHM = "HmacSHA512";
+
+    private static final int MINIMUM_KEY_LENGTH = 64;
+
+    private static final Set<String> SUPPORTED_HEADERS = Set.of("alg", "typ", "kid");
+
+    @Getter
+    private final Key key;
+
+    private final SecretKeySpec macKey;
+
+    private final String encodedHeader;
+
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    private PooledHmacJsonWebSigner(final Key key, final byte[] encodedKey) {
+        this.key = key;
+        this.macKey = new SecretKeySpec(encodedKey, MAC_ALGORITHM);
+        val header = String.format("{\"alg\":\"%s\",\"typ\":\"JWT\",\"kid\":\"%s\"}",
+            AlgorithmIdentifiers.HMAC_SHA512, UUID.randomUUID());
+        this.encodedHeader = EncodingUtils.encodeUrlSafeBase64(header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Create a signer for the given key and algorithm, if supported.
+     *
+     * @param key       the key
+     * @param algorithm the algorithm
+     * @return the signer, or null if the key or algorithm cannot be handled here
+     */
+    static PooledHmacJsonWebSigner of(final Key key, final String algorithm) {
+        if (!AlgorithmIdentifiers.HMAC_SHA512.equals(algorithm) || !(key instanceof SecretKey)) {
+            return null;
+        }
+        val encodedKey = key.getEncoded();
+        if (encodedKey == null || encodedKey.length < MINIMUM_KEY_LENGTH) {
+            LOGGER.trace("Signing key is too short to be used for [{}] without the JOSE pipeline", algorithm);
+            return null;
+        }
+        return new PooledHmacJsonWebSigner(key, encodedKey);
+    }
+
+    /**
+     * Whether this signer may be used for the given headers.
+     *
+     * @param headers the custom headers
+     * @return true/false
+     */
+    static boolean supportsHeaders(final Map<String, Object> headers) {
+        return headers == null || headers.isEmpty();
+    }
+
+    /**
+     * Sign the value.
+     *
+     * @param value the value
+     * @return the compact serialization of the signature, as bytes
+     */
+    byte[] sign(final byte[] value) {
+        val signingInput = encodedHeader + '.' + EncodingUtils.encodeUrlSafeBase64(value);
+        val signature = mac(signingInput.getBytes(StandardCharsets.US_ASCII), signingInput.length());
+        return (signingInput + '.' + EncodingUtils.encodeUrlSafeBase64(signature)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Verify the signature and extract the signed value.
+     *
+     * @param value the compact serialization of the signature, as bytes
+     * @return the signed value, or null if the signature cannot be verified here
+     */
+    byte[] verify(final byte[] value) {
+        val firstSeparator = indexOf(value, 0);
+        val secondSeparator = firstSeparator < 0 ? -1 : indexOf(value, firstSeparator + 1);
+        if (secondSeparator < 0 || indexOf(value, secondSeparator + 1) >= 0) {
+            return null;
+        }
+        val header = new String(value, 0, firstSeparator, StandardCharsets.US_ASCII);
+        if (!header.equals(encodedHeader) && !isSupportedHeader(header)) {
+            return null;
+        }
+        val expected = mac(value, secondSeparator);
+        val signature = EncodingUtils.decodeUrlSafeBase64(
+            new String(value, secondSeparator + 1, value.length - secondSeparator - 1, StandardCharsets.US_ASCII));
+        if (!MessageDigest.isEqual(expected, signature)) {
+            return null;
+        }
+        return EncodingUtils.decodeUrlSafeBase64(
+            new String(value, firstSeparator + 1, secondSeparator - firstSeparator - 1, StandardCharsets.US_ASCII));
+    }
+
+    private static int indexOf(final byte[] value, final int from) {
+        for (var i = from; i < value.length; i++) {
+            if (value[i] == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSupportedHeader(final String encodedHeader) {
+        try {
+            val header = JsonUtil.parseJson(new String(EncodingUtils.decodeUrlSafeBase64(encodedHeader), StandardCharsets.UTF_8));
+            return AlgorithmIdentifiers.HMAC_SHA512.equals(header.get("alg")) && SUPPORTED_HEADERS.containsAll(header.keySet());
+        } catch (final Exception e) {
+            LOGGER.trace("Unable to parse signature header: [{}]", e.getMessage());
+            return false;
+        }
+    }
+
+    private byte[] mac(final byte[] input, final int length) {
+        var mac = macs.poll();
+        if (mac == null) {
+            mac = FunctionUtils.doUnchecked(() -> {
+                val instance = Mac.getInstance(MAC_ALGORITHM);
+                instance.init(macKey);
+                return instance;
+            });
+        }
+        mac.update(input, 0, length);
+        val result = mac.doFinal();
+        macs.offer(mac);
+        return result;
+    }
+}
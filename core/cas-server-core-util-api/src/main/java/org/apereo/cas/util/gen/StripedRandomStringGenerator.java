@@ -0,0 +1,147 @@
+package org.apereo.cas.util.gen;
+
+import org.apereo.cas.util.RandomUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This is {@link StripedRandomStringGenerator}.
+ * <p>
+ * URL safe base64 encoding implementation of the RandomStringGenerator that draws random bytes
+ * from a number of {@code DRBG} instances, picking one per calling thread, instead of sharing
+ * a single {@link SecureRandom} across all threads. Threads only contend with each other when
+ * they are assigned the same instance. Each instance is created on first use, and is reseeded from
+ * the entropy source after it has produced a given number of random strings.
+ * If {@link RandomUtils#SYSTEM_PROPERTY_SECURE_RANDOM_ALG} is defined, instances are created
+ * using that algorithm instead. Unless given explicitly, the number of instances and the reseed interval
+ * may be controlled via the {@value #SYSTEM_PROPERTY_STRIPES} and {@value #SYSTEM_PROPERTY_RESEED_INTERVAL}
+ * system properties.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class StripedRandomStringGenerator extends Base64RandomStringGenerator {
+    /**
+     * Default number of random strings produced by an instance before it is reseeded.
+     */
+    public static final long DEFAULT_RESEED_INTERVAL = 100_000;
+
+    /**
+     * System property to define the number of secure random instances.
+     */
+    public static final String SYSTEM_PROPERTY_STRIPES = "CAS_SECURE_RANDOM_STRIPES";
+
+    /**
+     * System property to define the number of random strings produced by an instance before it is reseeded.
+     */
+    public static final String SYSTEM_PROPERTY_RESEED_INTERVAL = "CAS_SECURE_RANDOM_RESEED_INTERVAL";
+
+    private static final String DRBG_ALGORITHM = "DRBG";
+
+    private static final int DRBG_SECURITY_STRENGTH = 256;
+
+    private final AtomicReferenceArray<Stripe> stripes;
+
+    private final long reseedInterval;
+
+    public StripedRandomStringGenerator() {
+        this(DEFAULT_LENGTH);
+    }
+
+    public StripedRandomStringGenerator(final long defaultLength) {
+        this(defaultLength,
+            Integer.getInteger(SYSTEM_PROPERTY_STRIPES, Runtime.getRuntime().availableProcessors() * 2),
+            Long.getLong(SYSTEM_PROPERTY_RESEED_INTERVAL, DEFAULT_RESEED_INTERVAL));
+    }
+
+    public StripedRandomStringGenerator(final long defaultLength, final int stripeCount, final long reseedInterval) {
+        super(defaultLength);
+        this.stripes = new AtomicReferenceArray<>(Math.max(stripeCount, 1));
+        this.reseedInterval = reseedInterval;
+    }
+
+    private static SecureRandom newSecureRandom(final int index) {
+        val algorithm = System.getProperty(RandomUtils.SYSTEM_PROPERTY_SECURE_RANDOM_ALG);
+        if (StringUtils.isNotBlank(algorithm)) {
+            return RandomUtils.getNativeInstance();
+        }
+        try {
+            val personalization = ByteBuffer.allocate(Integer.BYTES + Long.BYTES)
+                .putInt(index)
+                .putLong(System.nanoTime())
+                .array();
+            return SecureRandom.getInstance(DRBG_ALGORITHM, DrbgParameters.instantiation(DRBG_SECURITY_STRENGTH,
+                DrbgParameters.Capability.RESEED_ONLY, personalization));
+        } catch (final NoSuchAlgorithmException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return RandomUtils.getNativeInstance();
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return getStripe().getRandom().getAlgorithm();
+    }
+
+    @Override
+    public byte[] getNewStringAsBytes(final int size) {
+        val random = new byte[size];
+        getStripe().nextBytes(random);
+        return random;
+    }
+
+    /**
+     * Gets the stripe assigned to the current thread, creating it on first use.
+     *
+     * @return the stripe
+     */
+    protected Stripe getStripe() {
+        val index = (int) (Thread.currentThread().getId() % stripes.length());
+        val stripe = stripes.get(index);
+        if (stripe != null) {
+            return stripe;
+        }
+        stripes.compareAndSet(index, null, new Stripe(newSecureRandom(index), reseedInterval));
+        return stripes.get(index);
+    }
+
+    /**
+     * A secure random instance along with the number of random strings it has produced.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class Stripe {
+        private final SecureRandom random;
+
+        private final long reseedInterval;
+
+        private final AtomicLong count = new AtomicLong();
+
+        void nextBytes(final byte[] bytes) {
+            if (reseedInterval > 0 && count.incrementAndGet() % reseedInterval == 0) {
+                reseed();
+            }
+            random.nextBytes(bytes);
+        }
+
+        private void reseed() {
+            try {
+                random.reseed();
+            } catch (final UnsupportedOperationException e) {
+                LOGGER.trace("Secure random algorithm [{}] does not support reseeding", random.getAlgorithm());
+            }
+        }
+    }
+}
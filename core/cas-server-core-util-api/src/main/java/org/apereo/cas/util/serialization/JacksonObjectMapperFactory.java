@@ -11,6 +11,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -95,6 +97,9 @@ public class JacksonObjectMapperFactory {
         if (jsonFactory instanceof XmlFactory) {
             return XmlMapper.builder((XmlFactory) jsonFactory);
         }
+        if (jsonFactory instanceof SmileFactory) {
+            return SmileMapper.builder((SmileFactory) jsonFactory);
+        }
         return JsonMapper.builder(jsonFactory);
     }
 
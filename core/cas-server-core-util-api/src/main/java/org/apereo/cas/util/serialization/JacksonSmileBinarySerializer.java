@@ -0,0 +1,92 @@
+package org.apereo.cas.util.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Synchronized;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * This is {@link JacksonSmileBinarySerializer}. Serializes objects using the binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> format,
+ * which shares the data model and annotations of JSON without having to render and parse text.
+ * Serialized data always begins with the Smile header, allowing it to be told apart from JSON.
+ *
+ * @author Misagh Moayyed
+ * @param <T> the type parameter
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class JacksonSmileBinarySerializer<T> implements BinarySerializer<T> {
+    private static final long serialVersionUID = -2747231549625402763L;
+
+    private final Class<T> typeToSerialize;
+
+    private transient ObjectMapper objectMapper;
+
+    /**
+     * Whether the data begins with the Smile header.
+     *
+     * @param data the data
+     * @return true/false
+     */
+    public static boolean isSmile(final byte[] data) {
+        return data != null && data.length >= 3
+            && data[0] == SmileConstants.HEADER_BYTE_1
+            && data[1] == SmileConstants.HEADER_BYTE_2
+            && data[2] == SmileConstants.HEADER_BYTE_3;
+    }
+
+    @Override
+    public byte[] toBytes(final T object) {
+        try {
+            return getObjectMapper().writeValueAsBytes(object);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("Unable to serialize object of type " + typeToSerialize.getName(), e);
+        }
+    }
+
+    @Override
+    public T from(final byte[] data) {
+        try {
+            return getObjectMapper().readValue(data, typeToSerialize);
+        } catch (final Exception e) {
+            LOGGER.error("Cannot read/parse binary data to deserialize into type [{}]. Internal parsing error is [{}]",
+                typeToSerialize, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean supports(final byte[] data) {
+        return isSmile(data);
+    }
+
+    /**
+     * Gets object mapper and builds on if uninitialized.
+     *
+     * @return the object mapper
+     */
+    @Synchronized
+    public ObjectMapper getObjectMapper() {
+        if (this.objectMapper == null) {
+            val factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+            this.objectMapper = JacksonObjectMapperFactory
+                .builder()
+                .defaultTypingEnabled(true)
+                .jsonFactory(factory)
+                .build()
+                .toObjectMapper();
+        }
+        return this.objectMapper;
+    }
+}
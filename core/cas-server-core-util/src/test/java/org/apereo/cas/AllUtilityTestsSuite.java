@@ -25,6 +25,7 @@ import org.apereo.cas.util.gen.DefaultLongNumericGeneratorTests;
 import org.apereo.cas.util.gen.DefaultRandomStringGeneratorTests;
 import org.apereo.cas.util.gen.HexRandomStringGeneratorTests;
 import org.apereo.cas.util.gen.RandomStringGeneratorTests;
+import org.apereo.cas.util.gen.StripedRandomStringGeneratorTests;
 import org.apereo.cas.util.http.HttpMessageTests;
 import org.apereo.cas.util.http.SimpleHttpClientTests;
 
@@ -56,6 +57,7 @@ import org.junit.platform.suite.api.Suite;
     EncodingUtilsTests.class,
     DefaultCasRuntimeModuleLoaderTests.class,
     HexRandomStringGeneratorTests.class,
+    StripedRandomStringGeneratorTests.class,
     RegexUtilsTests.class,
     JasyptNumberCipherExecutorTests.class,
     StringCipherExecutorTests.class,
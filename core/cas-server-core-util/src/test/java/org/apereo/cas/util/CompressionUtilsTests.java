@@ -4,7 +4,15 @@ import lombok.val;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,4 +62,74 @@ public class CompressionUtilsTests {
 
         assertEquals(srcTxt, originalStr);
     }
+
+    @Test
+    public void verifyLargePayloads() throws Exception {
+        val source = IntStream.range(0, 2_000)
+            .mapToObj(i -> UUID.randomUUID().toString())
+            .collect(Collectors.joining(","));
+        assertTrue(source.length() > 10_000);
+
+        val deflated = EncodingUtils.decodeBase64(CompressionUtils.deflate(source));
+        assertEquals(source, CompressionUtils.decodeByteArrayToString(deflated));
+        assertEquals(source, CompressionUtils.decompress(CompressionUtils.compress(source)));
+
+        val raw = CompressionUtils.deflate(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)), true);
+        val rawBytes = Arrays.copyOfRange(raw.array(), raw.position(), raw.limit());
+        assertEquals(source, CompressionUtils.inflate(rawBytes));
+        assertEquals(source, StandardCharsets.UTF_8.decode(CompressionUtils.inflate(ByteBuffer.wrap(rawBytes), true)).toString());
+    }
+
+    @Test
+    public void verifyStreams() throws Exception {
+        val source = RandomUtils.randomAlphanumeric(50_000).getBytes(StandardCharsets.UTF_8);
+        for (val nowrap : new boolean[]{true, false}) {
+            val deflated = new ByteArrayOutputStream();
+            val count = CompressionUtils.deflate(new ByteArrayInputStream(source), deflated, nowrap);
+            assertEquals(deflated.size(), count);
+
+            val inflated = new ByteArrayOutputStream();
+            assertEquals(source.length, CompressionUtils.inflate(new ByteArrayInputStream(deflated.toByteArray()), inflated, nowrap));
+            assertArrayEquals(source, inflated.toByteArray());
+
+            try (val is = CompressionUtils.inflating(new ByteArrayInputStream(deflated.toByteArray()), nowrap)) {
+                assertArrayEquals(source, is.readAllBytes());
+            }
+
+            val truncated = Arrays.copyOf(deflated.toByteArray(), deflated.size() / 2);
+            assertThrows(EOFException.class,
+                () -> CompressionUtils.inflate(new ByteArrayInputStream(truncated), new ByteArrayOutputStream(), nowrap));
+        }
+
+        val gzipped = new ByteArrayOutputStream();
+        CompressionUtils.gzip(new ByteArrayInputStream(source), gzipped);
+        val gunzipped = new ByteArrayOutputStream();
+        CompressionUtils.gunzip(new ByteArrayInputStream(gzipped.toByteArray()), gunzipped);
+        assertArrayEquals(source, gunzipped.toByteArray());
+    }
+
+    @Test
+    public void verifyMaximumInflatedSize() throws Exception {
+        val source = "A".repeat(100_000).getBytes(StandardCharsets.UTF_8);
+        val raw = new ByteArrayOutputStream();
+        CompressionUtils.deflate(new ByteArrayInputStream(source), raw, true);
+        val wrapped = new ByteArrayOutputStream();
+        CompressionUtils.deflate(new ByteArrayInputStream(source), wrapped, false);
+
+        assertEquals(source.length, CompressionUtils.inflate(raw.toByteArray(), source.length).length());
+        assertEquals(source.length, CompressionUtils.decodeByteArrayToString(wrapped.toByteArray(), 0).length());
+        assertThrows(InflatedSizeExceededException.class, () -> CompressionUtils.inflate(raw.toByteArray(), 1_000));
+        assertThrows(InflatedSizeExceededException.class,
+            () -> CompressionUtils.decodeByteArrayToString(wrapped.toByteArray(), 1_000));
+        try (val is = CompressionUtils.inflating(new ByteArrayInputStream(raw.toByteArray()), true, 1_000)) {
+            assertThrows(InflatedSizeExceededException.class, is::readAllBytes);
+        }
+    }
+
+    @Test
+    public void verifyMalformedInput() {
+        val bytes = "malformed".getBytes(StandardCharsets.UTF_8);
+        assertNull(CompressionUtils.decodeByteArrayToString(bytes));
+        assertNull(CompressionUtils.inflate(EncodingUtils.decodeBase64(CompressionUtils.deflate("cas"))));
+    }
 }
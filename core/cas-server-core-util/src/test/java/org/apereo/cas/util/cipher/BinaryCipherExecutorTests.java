@@ -1,16 +1,21 @@
 package org.apereo.cas.util.cipher;
 
+import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.crypto.DecryptionException;
+import org.apereo.cas.util.jwt.JsonWebTokenSigner;
 
 import lombok.val;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jooq.lambda.UncheckedException;
+import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.lang.JoseException;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 import static org.apereo.cas.util.junit.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -65,6 +70,43 @@ public class BinaryCipherExecutorTests {
         assertEquals(TEST_VALUE, new String(decoded, StandardCharsets.UTF_8));
     }
 
+    @Test
+    public void checkSignatureInteroperability() {
+        val cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        val encoded = cc.encode(TEST_VALUE.getBytes(StandardCharsets.UTF_8), ArrayUtils.EMPTY_OBJECT_ARRAY);
+        val encrypted = EncodingUtils.verifyJwsSignature(cc.getSigningKey(), encoded);
+        assertNotNull(encrypted);
+
+        val signed = JsonWebTokenSigner.builder()
+            .key(cc.getSigningKey())
+            .algorithm(AlgorithmIdentifiers.HMAC_SHA512)
+            .build()
+            .sign(encrypted);
+        assertEquals(TEST_VALUE, new String(cc.decode(signed, ArrayUtils.EMPTY_OBJECT_ARRAY), StandardCharsets.UTF_8));
+
+        val tampered = Arrays.copyOf(encoded, encoded.length);
+        val position = tampered.length - 10;
+        tampered[position] = (byte) (tampered[position] == 'A' ? 'B' : 'A');
+        assertThrows(DecryptionException.class, () -> cc.decode(tampered, ArrayUtils.EMPTY_OBJECT_ARRAY));
+    }
+
+    @Test
+    public void checkConcurrentEncodingDecoding() {
+        val cc = new TestBinaryCipherExecutor("MTIzNDU2Nzg5MDEyMzQ1Ng==",
+            "szxK-5_eJjs-aUj-64MpUZ-GPPzGLhYPLGl0wrYjYNVAGva2P0lLe6UGKGM7k8dWxsOVGutZWgvmY3l5oVPO3w",
+            512,
+            16);
+        IntStream.range(0, 500).parallel().forEach(i -> {
+            val value = TEST_VALUE + i;
+            val bytes = cc.encode(value.getBytes(StandardCharsets.UTF_8), ArrayUtils.EMPTY_OBJECT_ARRAY);
+            val decoded = cc.decode(bytes, ArrayUtils.EMPTY_OBJECT_ARRAY);
+            assertEquals(value, new String(decoded, StandardCharsets.UTF_8));
+        });
+    }
+
     private static class TestBinaryCipherExecutor extends BaseBinaryCipherExecutor {
         TestBinaryCipherExecutor(final String encKey, final String signingKey, final int sKey, final int eKey) {
             super(encKey, signingKey, sKey, eKey, "Test");
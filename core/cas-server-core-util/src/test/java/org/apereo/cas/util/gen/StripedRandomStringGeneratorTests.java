@@ -0,0 +1,83 @@
+package org.apereo.cas.util.gen;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StripedRandomStringGenerator}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Simple")
+public class StripedRandomStringGeneratorTests {
+
+    private static final int LENGTH = 36;
+
+    @Test
+    public void verifyDefaultLength() {
+        val generator = new StripedRandomStringGenerator(LENGTH);
+        assertEquals(LENGTH, generator.getDefaultLength());
+        assertEquals(LENGTH, generator.getNewStringAsBytes(LENGTH).length);
+        assertEquals(RandomStringGenerator.DEFAULT_LENGTH, new StripedRandomStringGenerator().getDefaultLength());
+        assertNotNull(generator.getAlgorithm());
+    }
+
+    @Test
+    public void verifyRandomStringWithReseeding() {
+        val generator = new StripedRandomStringGenerator(LENGTH, 1, 2);
+        val results = ConcurrentHashMap.<String>newKeySet();
+        for (var i = 0; i < 10; i++) {
+            assertTrue(results.add(generator.getNewString()));
+        }
+        assertEquals(10, generator.getStripe().getCount().get());
+    }
+
+    @Test
+    public void verifyReseedIntervalFromSystemProperty() {
+        System.setProperty(StripedRandomStringGenerator.SYSTEM_PROPERTY_RESEED_INTERVAL, "25");
+        try {
+            val generator = new StripedRandomStringGenerator(LENGTH);
+            assertEquals(25, generator.getStripe().getReseedInterval());
+            assertNotNull(generator.getNewString());
+        } finally {
+            System.clearProperty(StripedRandomStringGenerator.SYSTEM_PROPERTY_RESEED_INTERVAL);
+        }
+        assertEquals(StripedRandomStringGenerator.DEFAULT_RESEED_INTERVAL,
+            new StripedRandomStringGenerator(LENGTH).getStripe().getReseedInterval());
+    }
+
+    @Test
+    public void verifyConcurrentGeneration() throws Exception {
+        val generator = new StripedRandomStringGenerator(LENGTH, 4, 50);
+        val results = ConcurrentHashMap.<String>newKeySet();
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val futures = new ArrayList<Future<Set<String>>>();
+            for (var i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (var j = 0; j < 500; j++) {
+                        results.add(generator.getNewString());
+                    }
+                    return results;
+                }));
+            }
+            for (val future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(8 * 500, results.size());
+    }
+}
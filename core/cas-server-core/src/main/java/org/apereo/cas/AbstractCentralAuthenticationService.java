@@ -21,6 +21,7 @@ import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.Synchronized;
@@ -34,7 +35,9 @@ import org.springframework.util.ObjectUtils;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,6 +57,8 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
 
     private static final long serialVersionUID = -7572316677901391166L;
 
+    private static final int MAX_OPTIMISTIC_LOCKING_ATTEMPTS = 5;
+
     /**
      * Configuration context.
      */
@@ -231,6 +236,61 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
         return false;
     }
 
+    /**
+     * Execute an operation that updates tickets. When optimistic locking is enabled and supported
+     * by the ticket registry, the operation runs without obtaining a lock and is retried if a conflicting
+     * update is detected by {@link #updateTicketIfUnchanged(Ticket, long)}. Otherwise, the operation
+     * runs while holding a lock on the given key.
+     *
+     * @param <T>       the type parameter
+     * @param lockKey   the lock key
+     * @param operation the operation
+     * @return the result of the operation, or empty if the lock could not be obtained or attempts were exhausted
+     */
+    protected <T> Optional<T> executeTicketOperation(final Object lockKey, final Supplier<T> operation) {
+        if (!isOptimisticLockingEnabled()) {
+            return configurationContext.getLockRepository().execute(lockKey, operation);
+        }
+        for (var attempt = 1; attempt <= MAX_OPTIMISTIC_LOCKING_ATTEMPTS; attempt++) {
+            try {
+                return Optional.ofNullable(operation.get());
+            } catch (final TicketVersionConflictException e) {
+                LOGGER.debug("Ticket [{}] was updated concurrently; attempt [{}] of [{}] failed",
+                    e.getTicketId(), attempt, MAX_OPTIMISTIC_LOCKING_ATTEMPTS);
+            }
+        }
+        LOGGER.warn("Unable to complete ticket operation for [{}] after [{}] attempts due to concurrent updates",
+            lockKey, MAX_OPTIMISTIC_LOCKING_ATTEMPTS);
+        return Optional.empty();
+    }
+
+    /**
+     * Update the ticket, only if it has not changed since it was read
+     * when optimistic locking is enabled. Otherwise, the ticket is updated unconditionally.
+     *
+     * @param ticket          the ticket
+     * @param expectedVersion the version of the ticket, as it was read from the registry
+     * @throws Exception the exception
+     */
+    protected void updateTicketIfUnchanged(final Ticket ticket, final long expectedVersion) throws Exception {
+        val ticketRegistry = configurationContext.getTicketRegistry();
+        if (!isOptimisticLockingEnabled()) {
+            ticketRegistry.updateTicket(ticket);
+        } else if (!ticketRegistry.updateTicketIfVersion(ticket, expectedVersion)) {
+            throw new TicketVersionConflictException(ticket.getId());
+        }
+    }
+
+    /**
+     * Whether tickets should be updated using optimistic locking.
+     *
+     * @return true/false
+     */
+    protected boolean isOptimisticLockingEnabled() {
+        return configurationContext.isOptimisticLockingEnabled()
+            && configurationContext.getTicketRegistry().isOptimisticLockingSupported();
+    }
+
     @Override
     public TicketFactory getTicketFactory() {
         return this.configurationContext.getTicketFactory();
@@ -247,4 +307,16 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
         }
         return st;
     }
+
+    @Getter
+    private static final class TicketVersionConflictException extends RuntimeException {
+        private static final long serialVersionUID = 2748162961478936142L;
+
+        private final String ticketId;
+
+        TicketVersionConflictException(final String ticketId) {
+            super("Ticket " + ticketId + " was updated concurrently");
+            this.ticketId = ticketId;
+        }
+    }
 }
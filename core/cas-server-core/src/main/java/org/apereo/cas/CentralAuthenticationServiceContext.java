@@ -29,6 +29,8 @@ public class CentralAuthenticationServiceContext {
 
     private final LockRepository lockRepository;
 
+    private final boolean optimisticLockingEnabled;
+
     private final CipherExecutor cipherExecutor;
 
     private final PrincipalFactory principalFactory;
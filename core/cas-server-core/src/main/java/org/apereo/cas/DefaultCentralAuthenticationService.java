@@ -53,6 +53,7 @@ import org.jooq.lambda.fi.util.function.CheckedSupplier;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Concrete implementation of a {@link CentralAuthenticationService}, and also the
@@ -100,11 +101,12 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         throws AuthenticationException, AbstractTicketException {
 
         val credentialProvided = authenticationResult != null && authenticationResult.isCredentialProvided();
-        return configurationContext.getLockRepository().execute(ticketGrantingTicketId,
+        return executeTicketOperation(ticketGrantingTicketId,
             Unchecked.supplier(new CheckedSupplier<ServiceTicket>() {
                 @Override
                 public ServiceTicket get() throws Throwable {
                     val ticketGrantingTicket = getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+                    val version = ticketGrantingTicket.getCountOfUses();
                     val selectedService = resolveServiceFromAuthenticationRequest(service);
                     val registeredService = configurationContext.getServicesManager().findServiceBy(selectedService);
 
@@ -132,7 +134,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
                     val factory = (ServiceTicketFactory) configurationContext.getTicketFactory().get(ServiceTicket.class);
                     val serviceTicket = factory.create(ticketGrantingTicket, selectedService, credentialProvided, ServiceTicket.class);
-                    configurationContext.getTicketRegistry().updateTicket(ticketGrantingTicket);
+                    updateTicketIfUnchanged(ticketGrantingTicket, version);
                     configurationContext.getTicketRegistry().addTicket(serviceTicket);
 
                     LOGGER.info("Granted service ticket [{}] for service [{}] and principal [{}]",
@@ -170,21 +172,25 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         val authentication = proxyGrantingTicketObject.getRoot().getAuthentication();
         AuthenticationCredentialsThreadLocalBinder.bindCurrent(authentication);
 
-        return configurationContext.getLockRepository().execute(proxyGrantingTicketObject.getId(),
+        return executeTicketOperation(proxyGrantingTicketObject.getId(),
                 Unchecked.supplier(new CheckedSupplier<ProxyTicket>() {
                     @Override
                     public ProxyTicket get() throws Throwable {
+                        val grantingTicket = isOptimisticLockingEnabled()
+                            ? getTicket(proxyGrantingTicket, ProxyGrantingTicket.class)
+                            : proxyGrantingTicketObject;
+                        val version = grantingTicket.getCountOfUses();
                         val principal = authentication.getPrincipal();
                         val factory = (ProxyTicketFactory) configurationContext.getTicketFactory().get(ProxyTicket.class);
-                        val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
+                        val proxyTicket = factory.create(grantingTicket, service, ProxyTicket.class);
 
-                        configurationContext.getTicketRegistry().updateTicket(proxyGrantingTicketObject);
+                        updateTicketIfUnchanged(grantingTicket, version);
                         configurationContext.getTicketRegistry().addTicket(proxyTicket);
 
                         LOGGER.info("Granted proxy ticket [{}] for service [{}] for user [{}]",
                             proxyTicket.getId(), service.getId(), principal.getId());
 
-                        doPublishEvent(new CasProxyTicketGrantedEvent(this, proxyGrantingTicketObject, proxyTicket));
+                        doPublishEvent(new CasProxyTicketGrantedEvent(this, grantingTicket, proxyTicket));
                         return proxyTicket;
                     }
                 }))
@@ -256,27 +262,38 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             throw new InvalidTicketException(serviceTicketId);
         }
 
+        val validatedTicket = new AtomicReference<ServiceTicket>(serviceTicket);
         try {
             val selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
             val resolvedService = resolveServiceFromAuthenticationRequest(service);
             LOGGER.debug("Resolved service [{}] from the authentication request with service [{}] linked to service ticket [{}]",
                 resolvedService, selectedService, serviceTicket.getId());
 
-            configurationContext.getLockRepository().execute(serviceTicket.getId(),
+            val validationResult = executeTicketOperation(serviceTicket.getId(),
                 Unchecked.supplier(() -> {
-                    if (serviceTicket.isExpired()) {
+                    val ticket = isOptimisticLockingEnabled()
+                        ? configurationContext.getTicketRegistry().getTicket(serviceTicketId, ServiceTicket.class)
+                        : serviceTicket;
+                    if (ticket == null || ticket.isExpired()) {
                         LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
                         throw new InvalidTicketException(serviceTicketId);
                     }
                     if (!configurationContext.getServiceMatchingStrategy().matches(selectedService, resolvedService)) {
                         LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
-                            serviceTicketId, serviceTicket.getService().getId(), resolvedService.getId());
+                            serviceTicketId, ticket.getService().getId(), resolvedService.getId());
                         throw new UnrecognizableServiceForServiceTicketValidationException(selectedService);
                     }
-                    serviceTicket.update();
-                    configurationContext.getTicketRegistry().updateTicket(serviceTicket);
-                    return serviceTicket;
+                    val version = ticket.getCountOfUses();
+                    ticket.update();
+                    updateTicketIfUnchanged(ticket, version);
+                    return ticket;
                 }));
+            if (validationResult.isPresent()) {
+                validatedTicket.set(validationResult.get());
+            } else if (isOptimisticLockingEnabled()) {
+                LOGGER.warn("Service ticket [{}] could not be validated due to concurrent updates", serviceTicketId);
+                throw new InvalidTicketException(serviceTicketId);
+            }
 
             val registeredService = configurationContext.getServicesManager().findServiceBy(selectedService);
             LOGGER.trace("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
@@ -338,14 +355,15 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                 .with(((RenewableServiceTicket) serviceTicket).isFromNewLogin())
                 .build();
 
-            doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
+            doPublishEvent(new CasServiceTicketValidatedEvent(this, validatedTicket.get(), assertion));
             return assertion;
         } finally {
             FunctionUtils.doUnchecked(s -> {
-                if (serviceTicket.isExpired()) {
+                val ticket = validatedTicket.get();
+                if (ticket.isExpired()) {
                     deleteTicket(serviceTicketId);
-                } else {
-                    configurationContext.getTicketRegistry().updateTicket(serviceTicket);
+                } else if (!isOptimisticLockingEnabled()) {
+                    configurationContext.getTicketRegistry().updateTicket(ticket);
                 }
             });
         }
@@ -115,10 +115,12 @@ public class CasCoreConfiguration {
             final ServiceMatchingStrategy serviceMatchingStrategy,
             @Qualifier(LockRepository.BEAN_NAME)
             final LockRepository casTicketRegistryLockRepository,
+            final CasConfigurationProperties casProperties,
             final ConfigurableApplicationContext applicationContext) {
             return CentralAuthenticationServiceContext.builder()
                 .authenticationServiceSelectionPlan(authenticationServiceSelectionPlan)
                 .lockRepository(casTicketRegistryLockRepository)
+                .optimisticLockingEnabled(casProperties.getTicket().getRegistry().getCore().isEnableOptimisticLocking())
                 .cipherExecutor(cipherExecutor)
                 .principalFactory(principalFactory)
                 .ticketRegistry(ticketRegistry)
@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepositoryTests;
+import org.apereo.cas.authentication.principal.cache.DefaultPrincipalAttributesRepositoryCacheTests;
 
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
@@ -18,7 +19,8 @@ import org.junit.platform.suite.api.Suite;
     DefaultCasAttributeEncoderTests.class,
     DefaultCentralAuthenticationServiceLockingTests.class,
     DefaultPrincipalAttributesRepositoryTests.class,
-    CachingPrincipalAttributesRepositoryTests.class
+    CachingPrincipalAttributesRepositoryTests.class,
+    DefaultPrincipalAttributesRepositoryCacheTests.class
 })
 @Suite
 public class AllCoreTestsSuite {
@@ -62,6 +62,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -95,6 +96,8 @@ public class DefaultCentralAuthenticationServiceMockitoTests extends BaseCasCore
 
     private TicketRegistry ticketRegMock;
 
+    private ServicesManager servicesManager;
+
     private static ServicesManager getServicesManager(final Service service1, final Service service2) {
         val mockRegSvc1 = createMockRegisteredService(service1.getId(), true, getServiceProxyPolicy(false));
         val mockRegSvc2 = createMockRegisteredService("test", false, getServiceProxyPolicy(true));
@@ -196,31 +199,8 @@ public class DefaultCentralAuthenticationServiceMockitoTests extends BaseCasCore
 
 
         mockTicketRegistry(stMock, tgtMock, stMock2, tgtMock2);
-        val smMock = getServicesManager(service1, service2);
-        val factory = getTicketFactory();
-
-        val authenticationRequestServiceSelectionStrategies =
-            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy());
-        val enforcer = mock(AuditableExecution.class);
-        when(enforcer.execute(any())).thenReturn(new AuditableExecutionResult());
-
-
-        val applicationContext = new StaticApplicationContext();
-        applicationContext.refresh();
-        val context = CentralAuthenticationServiceContext.builder()
-            .applicationContext(applicationContext)
-            .ticketRegistry(ticketRegMock)
-            .servicesManager(smMock)
-            .ticketFactory(factory)
-            .lockRepository(LockRepository.asDefault())
-            .authenticationServiceSelectionPlan(authenticationRequestServiceSelectionStrategies)
-            .authenticationPolicyFactory(new AcceptAnyAuthenticationPolicyFactory())
-            .principalFactory(PrincipalFactoryUtils.newPrincipalFactory())
-            .cipherExecutor(CipherExecutor.noOpOfStringToString())
-            .registeredServiceAccessStrategyEnforcer(enforcer)
-            .serviceMatchingStrategy(new DefaultServiceMatchingStrategy(smMock))
-            .build();
-        this.cas = new DefaultCentralAuthenticationService(context);
+        this.servicesManager = getServicesManager(service1, service2);
+        this.cas = getCentralAuthenticationService(LockRepository.asDefault(), false);
     }
 
     @Test
@@ -271,6 +251,48 @@ public class DefaultCentralAuthenticationServiceMockitoTests extends BaseCasCore
             .forEach(i -> assertEquals(assertion.getChainedAuthentications().get(i), authentication));
     }
 
+    @Test
+    public void verifyOptimisticUpdateRetriedOnConflict() throws Exception {
+        when(ticketRegMock.isOptimisticLockingSupported()).thenReturn(true);
+        when(ticketRegMock.updateTicketIfVersion(any(), anyLong())).thenReturn(false, true);
+        val optimisticCas = getCentralAuthenticationService(mock(LockRepository.class), true);
+
+        val svc = RegisteredServiceTestUtils.getService(SVC2_ID);
+        val st = optimisticCas.grantServiceTicket(TGT2_ID, svc, getAuthenticationContext());
+        assertNotNull(st);
+        val order = inOrder(ticketRegMock);
+        order.verify(ticketRegMock, times(2)).updateTicketIfVersion(argThat(ticket -> TGT2_ID.equals(ticket.getId())), anyLong());
+        order.verify(ticketRegMock).addTicket(st);
+        verify(ticketRegMock, never()).updateTicket(any());
+    }
+
+    @Test
+    public void verifyOptimisticUpdateGivesUpAfterMaxAttempts() throws Exception {
+        when(ticketRegMock.isOptimisticLockingSupported()).thenReturn(true);
+        when(ticketRegMock.updateTicketIfVersion(any(), anyLong())).thenReturn(false);
+        val optimisticCas = getCentralAuthenticationService(mock(LockRepository.class), true);
+
+        val svc = RegisteredServiceTestUtils.getService(SVC2_ID);
+        assertThrows(InvalidTicketException.class, () -> optimisticCas.grantServiceTicket(TGT2_ID, svc, getAuthenticationContext()));
+        verify(ticketRegMock, times(5)).updateTicketIfVersion(any(), anyLong());
+        verify(ticketRegMock, never()).addTicket(any(Ticket.class));
+
+        assertThrows(InvalidTicketException.class, () -> optimisticCas.validateServiceTicket(ST2_ID, svc));
+    }
+
+    @Test
+    public void verifyValidationProceedsWhenLockIsNotObtained() throws Exception {
+        val lockRepository = mock(LockRepository.class);
+        when(lockRepository.execute(any(), any())).thenReturn(Optional.empty());
+        val lockingCas = getCentralAuthenticationService(lockRepository, false);
+
+        val svc = RegisteredServiceTestUtils.getService(SVC2_ID);
+        val assertion = lockingCas.validateServiceTicket(ST2_ID, svc);
+        assertNotNull(assertion);
+        assertEquals(svc, assertion.getService());
+        verify(ticketRegMock, never()).updateTicketIfVersion(any(), anyLong());
+    }
+
     private static class VerifyServiceByIdMatcher implements ArgumentMatcher<Service> {
         private final String id;
 
@@ -284,6 +306,32 @@ public class DefaultCentralAuthenticationServiceMockitoTests extends BaseCasCore
         }
     }
 
+    private DefaultCentralAuthenticationService getCentralAuthenticationService(final LockRepository lockRepository,
+                                                                                final boolean optimisticLockingEnabled) {
+        val authenticationRequestServiceSelectionStrategies =
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy());
+        val enforcer = mock(AuditableExecution.class);
+        when(enforcer.execute(any())).thenReturn(new AuditableExecutionResult());
+
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        val context = CentralAuthenticationServiceContext.builder()
+            .applicationContext(applicationContext)
+            .ticketRegistry(ticketRegMock)
+            .servicesManager(servicesManager)
+            .ticketFactory(getTicketFactory())
+            .lockRepository(lockRepository)
+            .optimisticLockingEnabled(optimisticLockingEnabled)
+            .authenticationServiceSelectionPlan(authenticationRequestServiceSelectionStrategies)
+            .authenticationPolicyFactory(new AcceptAnyAuthenticationPolicyFactory())
+            .principalFactory(PrincipalFactoryUtils.newPrincipalFactory())
+            .cipherExecutor(CipherExecutor.noOpOfStringToString())
+            .registeredServiceAccessStrategyEnforcer(enforcer)
+            .serviceMatchingStrategy(new DefaultServiceMatchingStrategy(servicesManager))
+            .build();
+        return new DefaultCentralAuthenticationService(context);
+    }
+
     private AuthenticationResult getAuthenticationContext() {
         val ctx = mock(AuthenticationResult.class);
         when(ctx.getAuthentication()).thenReturn(this.authentication);
@@ -0,0 +1,107 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultPrincipalAttributesRepositoryCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Attributes")
+public class DefaultPrincipalAttributesRepositoryCacheTests {
+    private static RegisteredService getRegisteredService(final long id) {
+        val service = mock(RegisteredService.class);
+        when(service.getId()).thenReturn(id);
+        when(service.getName()).thenReturn("Service" + id);
+        return service;
+    }
+
+    @Test
+    public void verifyEntriesPerServiceAndPrincipal() {
+        val meterRegistry = new SimpleMeterRegistry();
+        val cache = new DefaultPrincipalAttributesRepositoryCache(DefaultPrincipalAttributesRepositoryCache.DEFAULT_MAXIMUM_CACHE_WEIGHT,
+            meterRegistry);
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        val service1 = getRegisteredService(1);
+        val service2 = getRegisteredService(2);
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+
+        assertTrue(cache.fetchAttributes(service1, repository, principal).isEmpty());
+        cache.putAttributes(service1, repository, principal.getId(), CollectionUtils.wrap("name", List.of("CAS")));
+        assertEquals(List.of("CAS"), cache.fetchAttributes(service1, repository, principal).get("name"));
+        assertTrue(cache.fetchAttributes(service2, repository, principal).isEmpty());
+        assertEquals(1, cache.size());
+
+        val stats = cache.getCacheStatistics();
+        assertEquals(1, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "principalAttributesRepositoryCache").functionCounter());
+
+        cache.close();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void verifyExpirationPerService() throws Exception {
+        val cache = new DefaultPrincipalAttributesRepositoryCache(DefaultPrincipalAttributesRepositoryCache.DEFAULT_MAXIMUM_CACHE_WEIGHT,
+            new SimpleMeterRegistry());
+        val shortLived = new CachingPrincipalAttributesRepository(TimeUnit.MILLISECONDS.name(), 100);
+        val longLived = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        val service1 = getRegisteredService(1);
+        val service2 = getRegisteredService(2);
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+        val attributes = CollectionUtils.<String, List<Object>>wrap("name", List.of("CAS"));
+
+        cache.putAttributes(service1, shortLived, principal.getId(), attributes);
+        cache.putAttributes(service2, longLived, principal.getId(), attributes);
+        Thread.sleep(500);
+        assertTrue(cache.fetchAttributes(service1, shortLived, principal).isEmpty());
+        assertFalse(cache.fetchAttributes(service2, longLived, principal).isEmpty());
+
+        val disabled = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 0);
+        cache.putAttributes(getRegisteredService(3), disabled, principal.getId(), attributes);
+        assertTrue(cache.fetchAttributes(getRegisteredService(3), disabled, principal).isEmpty());
+    }
+
+    @Test
+    public void verifyEntriesPerServiceName() {
+        val cache = new DefaultPrincipalAttributesRepositoryCache(DefaultPrincipalAttributesRepositoryCache.DEFAULT_MAXIMUM_CACHE_WEIGHT,
+            new SimpleMeterRegistry());
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        val service = getRegisteredService(1);
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+        cache.putAttributes(service, repository, principal.getId(), CollectionUtils.wrap("name", List.of("CAS")));
+        assertFalse(cache.fetchAttributes(service, repository, principal).isEmpty());
+
+        val renamed = getRegisteredService(1);
+        when(renamed.getName()).thenReturn("RenamedService");
+        assertTrue(cache.fetchAttributes(renamed, repository, principal).isEmpty());
+    }
+
+    @Test
+    public void verifyBoundedByWeight() {
+        val cache = new DefaultPrincipalAttributesRepositoryCache(100, new SimpleMeterRegistry());
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        val attributes = Map.<String, List<Object>>of("name", List.of("CAS"), "mail", List.of("cas@example.org"));
+        for (var i = 0; i < 1_000; i++) {
+            cache.putAttributes(getRegisteredService(i), repository, "casuser", attributes);
+        }
+        assertTrue(cache.size() <= 100 / 3);
+        assertTrue(cache.getCacheStatistics().evictionCount() > 0);
+    }
+}
@@ -46,8 +46,10 @@ public class CasSupportCouchbaseAuditConfiguration {
         final CouchbaseClientFactory auditsCouchbaseClientFactory,
         final CasConfigurationProperties casProperties) {
         val cb = casProperties.getAudit().getCouchbase();
-        return new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory,
+        val manager = new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory,
             new AuditActionContextJsonSerializer(), cb.isAsynchronous());
+        manager.setAsynchronousQueue(casProperties.getAudit().getEngine().getAsynchronousQueue());
+        return manager;
     }
 
     @Bean
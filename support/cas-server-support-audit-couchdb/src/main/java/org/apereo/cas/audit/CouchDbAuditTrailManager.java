@@ -10,8 +10,10 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apereo.inspektr.audit.AuditActionContext;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link CouchDbAuditTrailManager}.
@@ -35,6 +37,11 @@ public class CouchDbAuditTrailManager extends AbstractAuditTrailManager {
         couchDb.add(new CouchDbAuditActionContext(audit));
     }
 
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        couchDb.addAll(audits.stream().map(CouchDbAuditActionContext::new).collect(Collectors.toList()));
+    }
+
     @Override
     public Set<? extends AuditActionContext> getAuditRecords(final Map<WhereClauseFields, Object> whereClause) {
         return CollectionUtils.wrapHashSet(couchDb.findAuditRecords(whereClause));
@@ -12,6 +12,7 @@ import org.ektorp.support.View;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,15 @@ public class AuditActionContextCouchDbRepository extends CouchDbRepositorySuppor
         super(CouchDbAuditActionContext.class, db, createIfNotExists);
     }
 
+    /**
+     * Add audit records in bulk.
+     *
+     * @param records the records
+     */
+    public void addAll(final Collection<CouchDbAuditActionContext> records) {
+        db.executeBulk(records);
+    }
+
     /**
      * Find audit records.
      *
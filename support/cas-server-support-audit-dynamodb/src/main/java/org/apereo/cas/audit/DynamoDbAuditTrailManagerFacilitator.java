@@ -17,15 +17,21 @@ import org.apereo.inspektr.audit.AuditTrailManager;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +48,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @SuppressWarnings("JavaUtilDate")
 public class DynamoDbAuditTrailManagerFacilitator {
+    /**
+     * Maximum number of items that can be written in a single batch request.
+     */
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+
     private final AuditDynamoDbProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
@@ -101,6 +112,34 @@ public class DynamoDbAuditTrailManagerFacilitator {
         LOGGER.debug("Record added with result [{}]", putItemResult);
     }
 
+    /**
+     * Save records using batch write requests.
+     * Records are keyed by principal, and since a batch request may not
+     * contain the same key twice, the last record of each principal wins.
+     *
+     * @param records the records
+     */
+    public void save(final Collection<AuditActionContext> records) {
+        val requests = new LinkedHashMap<String, WriteRequest>(records.size());
+        records.forEach(record -> requests.put(record.getPrincipal(), WriteRequest.builder()
+            .putRequest(PutRequest.builder().item(buildTableAttributeValuesMap(record)).build())
+            .build()));
+        val items = new ArrayList<>(requests.values());
+        for (var i = 0; i < items.size(); i += MAX_BATCH_WRITE_ITEMS) {
+            val batch = items.subList(i, Math.min(i + MAX_BATCH_WRITE_ITEMS, items.size()));
+            var request = BatchWriteItemRequest.builder()
+                .requestItems(Map.of(dynamoDbProperties.getTableName(), batch))
+                .build();
+            LOGGER.debug("Submitting batch write request for [{}] record(s)", batch.size());
+            var result = amazonDynamoDBClient.batchWriteItem(request);
+            while (result.hasUnprocessedItems() && !result.unprocessedItems().isEmpty()) {
+                LOGGER.debug("Resubmitting unprocessed records [{}]", result.unprocessedItems());
+                request = BatchWriteItemRequest.builder().requestItems(result.unprocessedItems()).build();
+                result = amazonDynamoDBClient.batchWriteItem(request);
+            }
+        }
+    }
+
     /**
      * Remove all.
      */
@@ -3,22 +3,42 @@ package org.apereo.cas.audit;
 import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.LoggingUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
  * This is {@link RedisAuditTrailManager}.
+ * Audit records are kept in sorted sets that are bucketed by day, scored by
+ * the time the action was performed, along with a per-principal sorted set for each day.
+ * Queries only read the buckets that cover the requested range, and retention
+ * is enforced by letting each bucket expire as a whole. Records stored under the legacy
+ * per-record keys can be moved into the buckets via {@link #migrateLegacyAuditRecords()}.
  *
  * @author Misagh Moayyed
  * @since 6.1.0
@@ -33,11 +53,26 @@ public class RedisAuditTrailManager extends AbstractAuditTrailManager {
      */
     public static final String CAS_AUDIT_CONTEXT_PREFIX = AuditActionContext.class.getSimpleName() + ':';
 
-    private final CasRedisTemplate redisTemplate;
+    /**
+     * Redis key that records the completion of the legacy audit records migration.
+     */
+    public static final String CAS_AUDIT_LEGACY_MIGRATION_KEY = "CAS_AUDIT_LEGACY_MIGRATION_COMPLETED";
+
+    private static final int LEGACY_KEY_MIN_TIME_DIGITS = 10;
+
+    private static final int LEGACY_MIGRATION_BATCH_SIZE = 500;
+
+    private final CasRedisTemplate<String, Object> redisTemplate;
 
     private final long scanCount;
 
-    public RedisAuditTrailManager(final CasRedisTemplate redisTemplate,
+    /**
+     * Number of days after which a bucket of audit records is dropped.
+     * Zero or negative keeps buckets indefinitely.
+     */
+    private int maxAgeDays;
+
+    public RedisAuditTrailManager(final CasRedisTemplate<String, Object> redisTemplate,
                                   final boolean asynchronous,
                                   final long scanCount) {
         super(asynchronous);
@@ -45,48 +80,167 @@ public class RedisAuditTrailManager extends AbstractAuditTrailManager {
         this.scanCount = scanCount;
     }
 
-    private static String getPatternAuditRedisKey(final String time, final String principal) {
-        return CAS_AUDIT_CONTEXT_PREFIX + time + ':' + principal;
+    /**
+     * Gets audit records recorded since the given date, reading only the daily buckets
+     * that cover the range in a single pipelined round trip. When a principal is specified,
+     * only the buckets that index the principal's records are read; principals are matched ignoring case.
+     *
+     * @param redisTemplate the redis template
+     * @param since         the date
+     * @param principal     the principal, may be blank
+     * @return the audit records
+     */
+    public static Stream<AuditActionContext> getAuditRecordsSince(final CasRedisTemplate<String, Object> redisTemplate,
+                                                                  final Date since, final String principal) {
+        val from = getEpochDay(since.getTime());
+        val to = LocalDate.now(ZoneOffset.UTC).toEpochDay() + 1;
+        val keySerializer = StringRedisSerializer.UTF_8;
+        val keys = LongStream.rangeClosed(from, to)
+            .mapToObj(day -> StringUtils.isBlank(principal) ? getAuditBucketKey(day) : getAuditBucketKey(day, principal))
+            .map(keySerializer::serialize)
+            .collect(Collectors.toList());
+        val results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.zSetCommands().zRangeByScore(key, since.getTime(), Double.POSITIVE_INFINITY));
+            return null;
+        });
+        return results
+            .stream()
+            .filter(Collection.class::isInstance)
+            .flatMap(result -> ((Collection<?>) result).stream())
+            .map(AuditActionContext.class::cast);
+    }
+
+    private static long getEpochDay(final long time) {
+        return Instant.ofEpochMilli(time).atZone(ZoneOffset.UTC).toLocalDate().toEpochDay();
+    }
+
+    private static String getAuditBucketKey(final long epochDay) {
+        return CAS_AUDIT_CONTEXT_PREFIX + epochDay;
+    }
+
+    private static String getAuditBucketKey(final long epochDay, final String principal) {
+        return getAuditBucketKey(epochDay) + ':' + principal.toLowerCase(Locale.ENGLISH);
     }
 
     private static String getPatternAuditRedisKey() {
         return CAS_AUDIT_CONTEXT_PREFIX + '*';
     }
 
+    private static String getPatternLegacyAuditRedisKey() {
+        return CAS_AUDIT_CONTEXT_PREFIX + "[0-9]".repeat(LEGACY_KEY_MIN_TIME_DIGITS) + '*';
+    }
+
+    /**
+     * Move audit records stored under legacy {@code AuditActionContext:<time>:<principal>} keys
+     * into the daily buckets, and remove the legacy keys. Legacy keys are told apart from
+     * bucket keys by the number of digits that follow the prefix, since buckets are keyed by epoch day.
+     * Once the migration completes, it is recorded under {@link #CAS_AUDIT_LEGACY_MIGRATION_KEY}
+     * and subsequent calls on any node return without scanning keys.
+     *
+     * @return the number of migrated audit records
+     */
+    public long migrateLegacyAuditRecords() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(CAS_AUDIT_LEGACY_MIGRATION_KEY))) {
+            LOGGER.trace("Legacy audit records are already migrated into daily buckets");
+            return 0;
+        }
+        val count = new AtomicLong();
+        try (val keys = redisTemplate.keys(getPatternLegacyAuditRedisKey(), this.scanCount)) {
+            val batch = new ArrayList<String>(LEGACY_MIGRATION_BATCH_SIZE);
+            keys.forEach(key -> {
+                batch.add(key);
+                if (batch.size() >= LEGACY_MIGRATION_BATCH_SIZE) {
+                    count.addAndGet(migrateLegacyAuditRecords(batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                count.addAndGet(migrateLegacyAuditRecords(batch));
+            }
+            redisTemplate.boundValueOps(CAS_AUDIT_LEGACY_MIGRATION_KEY).set(Instant.now().toString());
+            LOGGER.info("Migrated [{}] legacy audit record(s) into daily buckets", count.get());
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to migrate legacy audit records into daily buckets");
+            LoggingUtils.error(LOGGER, e);
+        }
+        return count.get();
+    }
+
+    private long migrateLegacyAuditRecords(final List<String> keys) {
+        val values = redisTemplate.opsForValue().multiGet(keys);
+        val audits = Objects.requireNonNull(values)
+            .stream()
+            .filter(AuditActionContext.class::isInstance)
+            .map(AuditActionContext.class::cast)
+            .collect(Collectors.toList());
+        if (!audits.isEmpty()) {
+            saveAuditRecords(audits);
+        }
+        redisTemplate.delete(keys);
+        return audits.size();
+    }
+
     @Override
     public Set<? extends AuditActionContext> getAuditRecords(final Map<WhereClauseFields, Object> whereClause) {
-        val localDate = (LocalDate) whereClause.get(WhereClauseFields.DATE);
+        var localDate = (LocalDate) whereClause.get(WhereClauseFields.DATE);
+        if (maxAgeDays > 0) {
+            val oldest = LocalDate.now(ZoneOffset.UTC).minusDays(maxAgeDays);
+            localDate = localDate.isBefore(oldest) ? oldest : localDate;
+        }
         val dt = DateTimeUtils.dateOf(localDate);
         LOGGER.debug("Retrieving audit records since [{}]", dt);
 
-        val keys = whereClause.containsKey(WhereClauseFields.PRINCIPAL)
-            ? getAuditRedisKeys(whereClause.get(WhereClauseFields.PRINCIPAL).toString())
-            : getAuditRedisKeys();
-
-        return keys
-            .map(redisKey -> redisTemplate.boundValueOps(redisKey).get())
-            .filter(Objects::nonNull)
-            .map(AuditActionContext.class::cast)
-            .filter(audit -> audit.getWhenActionWasPerformed().compareTo(dt) >= 0)
-            .collect(Collectors.toSet());
+        if (whereClause.containsKey(WhereClauseFields.PRINCIPAL)) {
+            val principal = whereClause.get(WhereClauseFields.PRINCIPAL).toString();
+            return getAuditRecordsSince(redisTemplate, dt, principal)
+                .filter(audit -> principal.equals(audit.getPrincipal()))
+                .collect(Collectors.toSet());
+        }
+        return getAuditRecordsSince(redisTemplate, dt, null).collect(Collectors.toSet());
     }
 
     @Override
     public void removeAll() {
-        getAuditRedisKeys().forEach(redisTemplate::delete);
+        try (val keys = redisTemplate.keys(getPatternAuditRedisKey(), this.scanCount)) {
+            val allKeys = keys.collect(Collectors.toList());
+            if (!allKeys.isEmpty()) {
+                redisTemplate.delete(allKeys);
+            }
+        }
     }
 
     @Override
     protected void saveAuditRecord(final AuditActionContext audit) {
-        val redisKey = getPatternAuditRedisKey(String.valueOf(audit.getWhenActionWasPerformed().getTime()), audit.getPrincipal());
-        this.redisTemplate.boundValueOps(redisKey).set(audit);
+        saveAuditRecords(List.of(audit));
     }
 
-    private Stream<String> getAuditRedisKeys() {
-        return redisTemplate.keys(getPatternAuditRedisKey(), this.scanCount);
-    }
-
-    private Stream<String> getAuditRedisKeys(final String principal) {
-        return redisTemplate.keys(getPatternAuditRedisKey("*", principal), this.scanCount);
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val keySerializer = StringRedisSerializer.UTF_8;
+        val valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        val expirations = new HashMap<String, Long>();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            audits.forEach(audit -> {
+                val time = audit.getWhenActionWasPerformed().getTime();
+                val day = getEpochDay(time);
+                val member = valueSerializer.serialize(audit);
+                val bucket = getAuditBucketKey(day);
+                connection.zSetCommands().zAdd(keySerializer.serialize(bucket), time, member);
+                expirations.put(bucket, day);
+                if (StringUtils.isNotBlank(audit.getPrincipal())) {
+                    val principalBucket = getAuditBucketKey(day, audit.getPrincipal());
+                    connection.zSetCommands().zAdd(keySerializer.serialize(principalBucket), time, member);
+                    expirations.put(principalBucket, day);
+                }
+            });
+            if (maxAgeDays > 0) {
+                expirations.forEach((key, day) -> {
+                    val expireAt = LocalDate.ofEpochDay(day + 1 + maxAgeDays).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+                    connection.keyCommands().expireAt(keySerializer.serialize(key), expireAt);
+                });
+            }
+            return null;
+        });
     }
 }
@@ -23,6 +23,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This is {@link CasSupportRedisAuditConfiguration}.
  *
@@ -47,7 +49,13 @@ public class CasSupportRedisAuditConfiguration {
             .when(CONDITION.given(applicationContext.getEnvironment()))
             .supply(() -> {
                 val redis = casProperties.getAudit().getRedis();
-                return new RedisAuditTrailManager(auditRedisTemplate, redis.isAsynchronous(), redis.getScanCount());
+                val manager = new RedisAuditTrailManager(auditRedisTemplate, redis.isAsynchronous(), redis.getScanCount());
+                manager.setAsynchronousQueue(casProperties.getAudit().getEngine().getAsynchronousQueue());
+                manager.setMaxAgeDays(redis.getMaxAgeDays());
+                if (redis.isLegacyRecordsMigrationEnabled()) {
+                    CompletableFuture.runAsync(manager::migrateLegacyAuditRecords);
+                }
+                return manager;
             })
             .otherwiseProxy()
             .get();
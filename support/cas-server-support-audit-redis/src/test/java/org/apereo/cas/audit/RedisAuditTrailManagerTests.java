@@ -7,17 +7,31 @@ import org.apereo.cas.config.CasCoreUtilConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.CasSupportRedisAuditConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
 import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link RedisAuditTrailManagerTests}.
  *
@@ -41,9 +55,65 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
     })
 @Tag("Redis")
 @Getter
+@SuppressWarnings("JavaUtilDate")
 @EnabledIfListeningOnPort(port = 6379)
 public class RedisAuditTrailManagerTests extends BaseAuditConfigurationTests {
     @Autowired
     @Qualifier("redisAuditTrailManager")
     private AuditTrailManager auditTrailManager;
+
+    @Autowired
+    @Qualifier("auditRedisTemplate")
+    private CasRedisTemplate<String, Object> auditRedisTemplate;
+
+    @Test
+    public void verifyLegacyRecordsMigrated() {
+        val principal = "CasUser-" + UUID.randomUUID();
+        val when = DateTimeUtils.dateOf(LocalDate.now(ZoneOffset.UTC).atTime(0, 30));
+        val legacyKey = RedisAuditTrailManager.CAS_AUDIT_CONTEXT_PREFIX + when.getTime() + ':' + principal;
+        auditRedisTemplate.boundValueOps(legacyKey).set(new AuditActionContext(principal, "TEST", "TEST",
+            "CAS", when, "1.2.3.4", "1.2.3.4", "GoogleChrome"));
+
+        auditRedisTemplate.delete(RedisAuditTrailManager.CAS_AUDIT_LEGACY_MIGRATION_KEY);
+        val manager = new RedisAuditTrailManager(auditRedisTemplate, false, 10);
+        assertTrue(RedisAuditTrailManager.getAuditRecordsSince(auditRedisTemplate, when, principal).findAny().isEmpty());
+        assertTrue(manager.migrateLegacyAuditRecords() >= 1);
+        assertFalse(auditRedisTemplate.hasKey(legacyKey));
+        assertEquals(1, RedisAuditTrailManager.getAuditRecordsSince(auditRedisTemplate, when, principal).count());
+        assertTrue(auditRedisTemplate.hasKey(RedisAuditTrailManager.CAS_AUDIT_LEGACY_MIGRATION_KEY));
+
+        auditRedisTemplate.boundValueOps(legacyKey).set(new AuditActionContext(principal, "TEST", "TEST",
+            "CAS", when, "1.2.3.4", "1.2.3.4", "GoogleChrome"));
+        assertEquals(0, manager.migrateLegacyAuditRecords());
+        assertTrue(auditRedisTemplate.hasKey(legacyKey));
+        auditRedisTemplate.delete(List.of(legacyKey, RedisAuditTrailManager.CAS_AUDIT_LEGACY_MIGRATION_KEY));
+        manager.removeAll();
+    }
+
+    @Test
+    public void verifyAuditBuckets() {
+        val principal = "CasUser-" + UUID.randomUUID();
+        val yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        auditTrailManager.record(new AuditActionContext(principal, "TEST", "TEST",
+            "CAS", DateTimeUtils.dateOf(yesterday.atTime(12, 0)), "1.2.3.4",
+            "1.2.3.4", "GoogleChrome"));
+
+        val today = Map.<AuditTrailManager.WhereClauseFields, Object>of(
+            AuditTrailManager.WhereClauseFields.DATE, yesterday.plusDays(1),
+            AuditTrailManager.WhereClauseFields.PRINCIPAL, principal);
+        assertTrue(auditTrailManager.getAuditRecords(today).isEmpty());
+
+        val sinceYesterday = Map.<AuditTrailManager.WhereClauseFields, Object>of(
+            AuditTrailManager.WhereClauseFields.DATE, yesterday,
+            AuditTrailManager.WhereClauseFields.PRINCIPAL, principal);
+        assertEquals(1, auditTrailManager.getAuditRecords(sinceYesterday).size());
+
+        val otherCase = Map.<AuditTrailManager.WhereClauseFields, Object>of(
+            AuditTrailManager.WhereClauseFields.DATE, yesterday,
+            AuditTrailManager.WhereClauseFields.PRINCIPAL, principal.toUpperCase(Locale.ENGLISH));
+        assertTrue(auditTrailManager.getAuditRecords(otherCase).isEmpty());
+
+        auditTrailManager.removeAll();
+        assertTrue(auditTrailManager.getAuditRecords(sinceYesterday).isEmpty());
+    }
 }
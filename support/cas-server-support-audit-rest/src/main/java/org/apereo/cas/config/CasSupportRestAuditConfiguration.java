@@ -32,7 +32,9 @@ public class CasSupportRestAuditConfiguration {
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public AuditTrailManager restAuditTrailManager(final CasConfigurationProperties casProperties) {
         val rest = casProperties.getAudit().getRest();
-        return new RestAuditTrailManager(rest);
+        val manager = new RestAuditTrailManager(rest);
+        manager.setAsynchronousQueue(casProperties.getAudit().getEngine().getAsynchronousQueue());
+        return manager;
     }
 
     @Bean
@@ -8,6 +8,7 @@ import org.apereo.cas.util.LoggingUtils;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -155,7 +156,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             val results = hazelcastInstance.getSql().execute(sql, encodeTicketId(principalId));
             return results.iterator().next().getObject(0);
         }
-        return super.countSessionsFor(principalId);
+        return getTicketGrantingTicketsFor(principalId).size();
     }
 
     @Override
@@ -171,7 +172,11 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
                     return decodeTicket(ticket);
                 });
         }
-        return super.getSessionsFor(principalId);
+        return getTicketGrantingTicketsFor(principalId)
+            .stream()
+            .map(HazelcastTicketHolder::getTicket)
+            .map(this::decodeTicket)
+            .filter(ticket -> ticket != null && !ticket.isExpired());
     }
 
     /**
@@ -196,6 +201,19 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
+    /**
+     * Query the ticket-granting ticket map by principal,
+     * using the hash index that is defined on the principal attribute.
+     *
+     * @param principalId the principal id
+     * @return the ticket holders
+     */
+    private Collection<HazelcastTicketHolder> getTicketGrantingTicketsFor(final String principalId) {
+        val md = ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val map = getTicketMapInstanceByMetadata(md);
+        return map.values(Predicates.equal("principal", encodeTicketId(principalId)));
+    }
+
     private IMap<String, HazelcastTicketHolder> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -5,6 +5,7 @@ import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -22,8 +23,10 @@ import org.springframework.beans.factory.DisposableBean;
 import javax.cache.Cache;
 import javax.cache.expiry.Duration;
 import javax.cache.expiry.ExpiryPolicy;
+import javax.cache.expiry.ModifiedExpiryPolicy;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -48,6 +51,7 @@ import java.util.stream.Collectors;
 @ToString(callSuper = true)
 @RequiredArgsConstructor
 public class IgniteTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
+    private static final String PRINCIPAL_INDEX_CACHE_SUFFIX = "PrincipalIndex";
 
     private final TicketCatalog ticketCatalog;
 
@@ -66,11 +70,12 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         LOGGER.debug("Adding ticket [{}] to the cache [{}] with policy [{}]", ticket.getId(), cache.getName(), policy);
         val entries = cache.withExpiryPolicy(policy);
         entries.put(encodedTicket.getId(), encodedTicket);
+        indexTicket(ticket, encodedTicket.getId());
     }
 
     @Override
     public long deleteAll() {
-        return this.ticketCatalog.findAll()
+        val count = this.ticketCatalog.findAll()
             .stream()
             .map(this::getIgniteCacheFromMetadata)
             .filter(Objects::nonNull)
@@ -80,6 +85,10 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
                 return size;
             })
             .sum();
+        if (principalTicketIndex != null) {
+            principalTicketIndex.clear();
+        }
+        return count;
     }
 
     @Override
@@ -88,7 +97,9 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
             val cache = getIgniteCacheFromMetadata(metadata);
-            return cache.remove(encTicketId);
+            val removed = cache.getAndRemove(encTicketId);
+            unindexTicket(removed, encTicketId);
+            return removed != null;
         }
         return true;
     }
@@ -156,6 +167,52 @@ public class IgniteTicketRegistry extends AbstractTicketRegistry implements Disp
             this.ignite = Ignition.ignite();
             LOGGER.debug("Ignite cache engine has started");
         }
+        val tgtDefinition = ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        if (tgtDefinition != null) {
+            val indexCache = this.ignite.<String, Set<String>>getOrCreateCache(
+                tgtDefinition.getProperties().getStorageName() + PRINCIPAL_INDEX_CACHE_SUFFIX);
+            val timeout = tgtDefinition.getProperties().getStorageTimeout();
+            val indexEntries = timeout > 0
+                ? indexCache.withExpiryPolicy(new ModifiedExpiryPolicy(new Duration(TimeUnit.SECONDS, timeout)))
+                : indexCache;
+            setPrincipalTicketIndex(new PrincipalTicketIndex(new IgnitePrincipalTicketIndexStorage(indexEntries)));
+        }
+    }
+
+    @Override
+    protected Ticket getIndexedTicket(final String encodedTicketId) {
+        val metadata = ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        return getIgniteCacheFromMetadata(metadata).get(encodedTicketId);
+    }
+
+    @RequiredArgsConstructor
+    private static class IgnitePrincipalTicketIndexStorage implements PrincipalTicketIndex.Storage {
+        private final IgniteCache<String, Set<String>> cache;
+
+        @Override
+        public Set<String> get(final String key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public Set<String> putIfAbsent(final String key, final Set<String> value) {
+            return cache.getAndPutIfAbsent(key, value);
+        }
+
+        @Override
+        public boolean replace(final String key, final Set<String> oldValue, final Set<String> newValue) {
+            return cache.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public boolean remove(final String key, final Set<String> value) {
+            return cache.remove(key, value);
+        }
+
+        @Override
+        public void clear() {
+            cache.removeAll();
+        }
     }
 
     @ToString
@@ -32,6 +32,7 @@ public class InfinispanTicketRegistry extends AbstractTicketRegistry {
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         val encodedTicket = encodeTicket(ticket);
         this.cache.put(encodedTicket.getId(), encodedTicket);
+        indexTicket(ticket, encodedTicket.getId());
         return ticket;
     }
 
@@ -46,6 +47,7 @@ public class InfinispanTicketRegistry extends AbstractTicketRegistry {
         val ttl = getTimeToLive(expirationPolicy);
         LOGGER.debug("Adding ticket [{}] to cache to live [{}] seconds and stay idle for [{}] seconds", ticketToAdd.getId(), ttl, idleTime);
         this.cache.put(ticket.getId(), ticket, ttl, TimeUnit.SECONDS, idleTime, TimeUnit.SECONDS);
+        indexTicket(ticketToAdd, ticket.getId());
     }
 
     @Override
@@ -63,7 +65,9 @@ public class InfinispanTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        this.cache.remove(encodeTicketId(ticketId));
+        val encTicketId = encodeTicketId(ticketId);
+        val removed = this.cache.remove(encTicketId);
+        unindexTicket(removed, encTicketId);
         return true;
     }
 
@@ -71,8 +75,16 @@ public class InfinispanTicketRegistry extends AbstractTicketRegistry {
     public long deleteAll() {
         val size = this.cache.size();
         this.cache.clear();
+        if (principalTicketIndex != null) {
+            principalTicketIndex.clear();
+        }
         return size;
     }
+
+    @Override
+    protected Ticket getIndexedTicket(final String encodedTicketId) {
+        return this.cache.get(encodedTicketId);
+    }
     
     @Override
     public Collection<? extends Ticket> getTickets() {
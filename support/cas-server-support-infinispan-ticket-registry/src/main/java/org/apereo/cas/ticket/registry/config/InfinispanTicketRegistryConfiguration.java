@@ -3,7 +3,10 @@ package org.apereo.cas.ticket.registry.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.InfinispanTicketRegistry;
+import org.apereo.cas.ticket.registry.PrincipalTicketIndex;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
@@ -11,14 +14,19 @@ import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ScopedProxyMode;
 
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is {@link InfinispanTicketRegistryConfiguration}.
  *
@@ -31,6 +39,8 @@ import org.springframework.context.annotation.ScopedProxyMode;
 @AutoConfiguration
 @Deprecated(since = "6.6")
 public class InfinispanTicketRegistryConfiguration {
+    private static final String PRINCIPAL_INDEX_CACHE_SUFFIX = "-principal-index";
+
     private static Cache<String, Ticket> getCache(final String cacheName,
                                                   final EmbeddedCacheManager cacheManager) {
         if (StringUtils.isBlank(cacheName)) {
@@ -42,9 +52,25 @@ public class InfinispanTicketRegistryConfiguration {
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public TicketRegistry ticketRegistry(final CasConfigurationProperties casProperties,
+                                         @Qualifier(TicketCatalog.BEAN_NAME)
+                                         final TicketCatalog ticketCatalog,
                                          final EmbeddedCacheManager cacheManager) throws Exception {
         val span = casProperties.getTicket().getRegistry().getInfinispan();
-        val r = new InfinispanTicketRegistry(getCache(span.getCacheName(), cacheManager));
+        val cache = getCache(span.getCacheName(), cacheManager);
+        val r = new InfinispanTicketRegistry(cache);
+        val indexCacheName = cache.getName() + PRINCIPAL_INDEX_CACHE_SUFFIX;
+        if (!cacheManager.cacheExists(indexCacheName)) {
+            val tgtDefinition = ticketCatalog.find(TicketGrantingTicket.PREFIX);
+            val lifespan = tgtDefinition != null && tgtDefinition.getProperties().getStorageTimeout() > 0
+                ? tgtDefinition.getProperties().getStorageTimeout()
+                : -1;
+            val indexCacheConfig = new ConfigurationBuilder()
+                .read(cache.getCacheConfiguration())
+                .expiration().lifespan(lifespan, TimeUnit.SECONDS).maxIdle(-1)
+                .build();
+            cacheManager.defineConfiguration(indexCacheName, indexCacheConfig);
+        }
+        r.setPrincipalTicketIndex(PrincipalTicketIndex.of(cacheManager.<String, Set<String>>getCache(indexCacheName)));
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(span.getCrypto(), "infinispan"));
         return r;
     }
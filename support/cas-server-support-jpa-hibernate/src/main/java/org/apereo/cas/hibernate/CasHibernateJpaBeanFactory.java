@@ -55,6 +55,9 @@ public class CasHibernateJpaBeanFactory implements JpaBeanFactory {
         properties.put(Environment.DIALECT, jpaProperties.getDialect());
         properties.put(Environment.HBM2DDL_AUTO, jpaProperties.getDdlAuto());
         properties.put(Environment.STATEMENT_BATCH_SIZE, jpaProperties.getBatchSize());
+        properties.put(Environment.ORDER_INSERTS, Boolean.TRUE);
+        properties.put(Environment.ORDER_UPDATES, Boolean.TRUE);
+        properties.put(Environment.BATCH_VERSIONED_DATA, Boolean.TRUE);
         properties.put(Environment.GENERATE_STATISTICS, jpaProperties.isGenerateStatistics());
 
         if (StringUtils.isNotBlank(jpaProperties.getDefaultCatalog())) {
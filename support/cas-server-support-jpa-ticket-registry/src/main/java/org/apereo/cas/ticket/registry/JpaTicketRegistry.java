@@ -17,6 +17,7 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionOperations;
 
@@ -24,8 +25,10 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,6 +36,9 @@ import java.util.stream.Stream;
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * Expiration times and principals are stored in indexed columns alongside
+ * the ticket body, allowing expired tickets to be located and removed,
+ * and sessions to be counted, without decoding ticket bodies.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -62,6 +68,8 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private EntityManager entityManager;
 
+    private volatile JpaTicketEntityFactory jpaTicketEntityFactory;
+
     private static long countToLong(final Object result) {
         return ((Number) result).longValue();
     }
@@ -83,8 +91,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     protected BaseTicketEntity getTicketEntityFrom(final Ticket ticket) {
         return FunctionUtils.doUnchecked(() -> {
             val encodeTicket = encodeTicket(ticket);
+            val principalId = getPrincipalIdFrom(ticket);
             return getJpaTicketEntityFactory().fromTicket(encodeTicket)
-                .setPrincipalId(encodeTicketId(getPrincipalIdFrom(ticket)));
+                .setPrincipalId(encodeTicketId(principalId))
+                .setNormalizedPrincipalId(StringUtils.isBlank(principalId) ? null : getPrincipalIndexKey(principalId))
+                .setExpirationTime(getIndexedExpirationTime(ticket));
         });
     }
 
@@ -178,6 +189,93 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return countToLong(query.getSingleResult());
     }
 
+    @Override
+    public Stream<? extends Ticket> getExpirationCandidates(final ZonedDateTime expirationTime) {
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("SELECT t FROM %s t WHERE t.expirationTime IS NULL OR t.expirationTime <= :expirationTime",
+            factory.getEntityName());
+        val query = entityManager.createQuery(sql, factory.getType())
+            .setParameter("expirationTime", expirationTime.toEpochSecond());
+        query.setLockMode(LockModeType.NONE);
+        return jpaBeanFactory
+            .streamQuery(query)
+            .map(BaseTicketEntity.class::cast)
+            .map(factory::toTicket)
+            .map(this::decodeTicket);
+    }
+
+    /**
+     * Expired tickets are removed in batches, each in its own transaction,
+     * so that the cleaner never holds locks on a large number of rows at once.
+     *
+     * @param expirationTime the expiration time
+     * @return the number of tickets deleted
+     */
+    @Override
+    @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, propagation = Propagation.NOT_SUPPORTED)
+    public long deleteExpiredTickets(final ZonedDateTime expirationTime) {
+        val ticketTypes = getBulkRemovableTicketTypes();
+        if (ticketTypes.isEmpty()) {
+            return 0;
+        }
+        val factory = getJpaTicketEntityFactory();
+        val selectSql = String.format("SELECT t.id FROM %s t WHERE t.expirationTime <= :expirationTime AND t.type IN :types",
+            factory.getEntityName());
+        val deleteSql = String.format("DELETE FROM %s t WHERE t.id IN :ids", factory.getEntityName());
+        val batchSize = Math.max(casProperties.getTicket().getRegistry().getJpa().getDeleteBatchSize(), 1);
+
+        var total = 0L;
+        var deleted = 0;
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                val ticketIds = entityManager.createQuery(selectSql, String.class)
+                    .setParameter("expirationTime", expirationTime.toEpochSecond())
+                    .setParameter("types", ticketTypes)
+                    .setMaxResults(batchSize)
+                    .getResultList();
+                if (ticketIds.isEmpty()) {
+                    return 0;
+                }
+                LOGGER.trace("Deleting [{}] expired tickets in bulk", ticketIds.size());
+                return entityManager.createQuery(deleteSql).setParameter("ids", ticketIds).executeUpdate();
+            }));
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+
+    /**
+     * Ticket types that may be removed with a bulk delete. Ticket-granting tickets
+     * and tickets whose removal cascades to other tickets must go through the cleaner.
+     * When tickets are encoded, ticket types cannot be told apart and nothing is removed in bulk.
+     *
+     * @return the ticket types
+     */
+    protected Set<String> getBulkRemovableTicketTypes() {
+        if (isCipherExecutorEnabled()) {
+            return Set.of();
+        }
+        return ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> !definition.getProperties().isCascadeRemovals())
+            .filter(definition -> !TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass()))
+            .map(definition -> definition.getImplementationClass().getName())
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
+    public long countSessionsFor(final String principalId) {
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("SELECT COUNT(t.id) FROM %s t WHERE t.type=:type AND (t.normalizedPrincipalId=:normalizedPrincipalId "
+            + "OR (t.normalizedPrincipalId IS NULL AND t.principalId=:principalId))", factory.getEntityName());
+        val query = entityManager.createQuery(sql)
+            .setParameter("normalizedPrincipalId", getPrincipalIndexKey(principalId))
+            .setParameter("principalId", encodeTicketId(principalId))
+            .setParameter("type", getTicketTypeName(TicketGrantingTicket.class));
+        return countToLong(query.getSingleResult());
+    }
+
     @Override
     @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
@@ -233,8 +331,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     }
 
     protected JpaTicketEntityFactory getJpaTicketEntityFactory() {
-        val jpa = casProperties.getTicket().getRegistry().getJpa();
-        return new JpaTicketEntityFactory(jpa.getDialect());
+        if (jpaTicketEntityFactory == null) {
+            val jpa = casProperties.getTicket().getRegistry().getJpa();
+            jpaTicketEntityFactory = new JpaTicketEntityFactory(jpa.getDialect());
+        }
+        return jpaTicketEntityFactory;
     }
 
     protected int deleteTicketGrantingTickets(final String ticketId) {
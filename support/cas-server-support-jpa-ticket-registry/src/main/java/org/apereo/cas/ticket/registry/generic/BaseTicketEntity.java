@@ -42,9 +42,24 @@ public class BaseTicketEntity implements Serializable {
     @Column(length = 1024)
     private String principalId;
 
+    /**
+     * Lower-cased principal id, encoded the same way as the principal id,
+     * used to count sessions regardless of the principal id's case.
+     * Rows stored before this column was introduced carry no value.
+     */
+    @Column(length = 1024)
+    private String normalizedPrincipalId;
+
     @Column(nullable = false, length = 1024)
     private String type;
 
     @Column(nullable = false, length = 512)
     private ZonedDateTime creationTime;
+
+    /**
+     * Earliest time, in epoch seconds, at which the ticket may expire.
+     * Rows stored before this column was introduced carry no value.
+     */
+    @Column
+    private Long expirationTime;
 }
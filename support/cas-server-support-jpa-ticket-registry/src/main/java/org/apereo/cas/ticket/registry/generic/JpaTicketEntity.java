@@ -4,6 +4,7 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 /**
@@ -15,6 +16,11 @@ import javax.persistence.Table;
 @SuperBuilder
 @NoArgsConstructor
 @Entity(name = "JpaTicketEntity")
-@Table(name = "CasTickets")
+@Table(name = "CasTickets", indexes = {
+    @Index(name = "IDX_CAS_TICKETS_EXPIRATION", columnList = "expirationTime"),
+    @Index(name = "IDX_CAS_TICKETS_PRINCIPAL", columnList = "principalId"),
+    @Index(name = "IDX_CAS_TICKETS_NORMALIZED_PRINCIPAL", columnList = "normalizedPrincipalId"),
+    @Index(name = "IDX_CAS_TICKETS_PARENT", columnList = "parentId")
+})
 public class JpaTicketEntity extends BaseTicketEntity {
 }
@@ -9,6 +9,7 @@ import javax.persistence.AttributeOverride;
 import javax.persistence.AttributeOverrides;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 /**
@@ -20,10 +21,18 @@ import javax.persistence.Table;
 @SuperBuilder
 @NoArgsConstructor
 @AttributeOverrides({
-    @AttributeOverride(name = "body", column = @Column(columnDefinition = "text"))
+    @AttributeOverride(name = "body", column = @Column(columnDefinition = "text")),
+    @AttributeOverride(name = "parentId", column = @Column(length = 768)),
+    @AttributeOverride(name = "principalId", column = @Column(length = 768)),
+    @AttributeOverride(name = "normalizedPrincipalId", column = @Column(length = 768))
 })
 @Entity(name = "MySQLJpaTicketEntity")
-@Table(name = "CasTickets")
+@Table(name = "CasTickets", indexes = {
+    @Index(name = "IDX_CAS_TICKETS_EXPIRATION", columnList = "expirationTime"),
+    @Index(name = "IDX_CAS_TICKETS_PRINCIPAL", columnList = "principalId"),
+    @Index(name = "IDX_CAS_TICKETS_NORMALIZED_PRINCIPAL", columnList = "normalizedPrincipalId"),
+    @Index(name = "IDX_CAS_TICKETS_PARENT", columnList = "parentId")
+})
 public class MySQLJpaTicketEntity extends BaseTicketEntity {
     private static final long serialVersionUID = 6546716187959834795L;
 }
@@ -9,6 +9,8 @@ import javax.persistence.AttributeOverride;
 import javax.persistence.AttributeOverrides;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 
 /**
@@ -23,6 +25,12 @@ import javax.persistence.Entity;
     @AttributeOverride(name = "body", column = @Column(columnDefinition = "text"))
 })
 @Entity(name = "PostgresJpaTicketEntity")
+@Table(indexes = {
+    @Index(name = "IDX_CAS_TICKETS_EXPIRATION", columnList = "expirationTime"),
+    @Index(name = "IDX_CAS_TICKETS_PRINCIPAL", columnList = "principalId"),
+    @Index(name = "IDX_CAS_TICKETS_NORMALIZED_PRINCIPAL", columnList = "normalizedPrincipalId"),
+    @Index(name = "IDX_CAS_TICKETS_PARENT", columnList = "parentId")
+})
 public class PostgresJpaTicketEntity extends BaseTicketEntity {
     private static final long serialVersionUID = 6546716187959834795L;
 }
@@ -45,6 +45,8 @@ import org.springframework.boot.autoconfigure.integration.IntegrationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Clock;
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Timer;
@@ -123,6 +125,35 @@ public class JpaTicketRegistryCleanerTests {
         assertEquals(0, ticketRegistry.serviceTicketCount());
     }
 
+    @Test
+    @Order(10)
+    public void verifyExpiredTicketsDeletedInBulk() throws Exception {
+        val tgtFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        val tgt = tgtFactory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+        ticketRegistry.addTicket(tgt);
+
+        val stFactory = (ServiceTicketFactory) ticketFactory.get(ServiceTicket.class);
+        for (var i = 0; i < 3; i++) {
+            val st = stFactory.create(tgt, RegisteredServiceTestUtils.getService(), true, ServiceTicket.class);
+            st.markTicketExpired();
+            ticketRegistry.addTicket(st);
+        }
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(3, ticketRegistry.serviceTicketCount());
+
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        assertEquals(3, ticketRegistry.deleteExpiredTickets(now));
+        assertEquals(0, ticketRegistry.serviceTicketCount());
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(0, ticketRegistry.getExpirationCandidates(now).count());
+
+        tgt.markTicketExpired();
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(0, ticketRegistry.deleteExpiredTickets(now));
+        assertEquals(1, ticketRegistry.getExpirationCandidates(now).count());
+    }
+
     @Test
     @Order(10)
     public void verifyTransientTicketCleaning() throws Exception {
@@ -46,6 +46,8 @@ import org.springframework.context.annotation.Import;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Locale;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -130,6 +132,18 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
         assertNull(this.newTicketRegistry.getTicket(token.getId()));
     }
 
+    @RepeatedTest(2)
+    public void verifyCountSessionsIgnoringCase() throws Exception {
+        val principalId = "CasUser-" + UUID.randomUUID();
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(tgt);
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId));
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId.toUpperCase(Locale.ENGLISH)));
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId.toLowerCase(Locale.ENGLISH)));
+        assertEquals(0, newTicketRegistry.countSessionsFor("unknown"));
+    }
+
     @RepeatedTest(2)
     public void verifyLogoutCascades() throws Exception {
         val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
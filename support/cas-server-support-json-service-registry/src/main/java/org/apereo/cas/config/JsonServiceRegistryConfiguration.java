@@ -13,6 +13,7 @@ import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -25,6 +26,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.Ordered;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -59,6 +61,11 @@ public class JsonServiceRegistryConfiguration {
             registeredServiceReplicationStrategy,
             resourceNamingStrategy,
             Optional.ofNullable(serviceRegistryListeners.getIfAvailable()).orElseGet(ArrayList::new));
+        json.setParallelism(registry.getJson().getParallelism());
+        if (StringUtils.isNotBlank(registry.getJson().getSnapshotLocation())) {
+            json.setSnapshotFile(new File(registry.getJson().getSnapshotLocation()));
+            json.setSnapshotSigningKey(registry.getJson().getSnapshotSigningKey());
+        }
         if (registry.getJson().isWatcherEnabled()) {
             json.enableDefaultWatcherService();
         }
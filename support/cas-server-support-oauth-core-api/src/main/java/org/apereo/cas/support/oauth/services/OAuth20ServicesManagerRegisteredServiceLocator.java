@@ -44,6 +44,11 @@ public class OAuth20ServicesManagerRegisteredServiceLocator extends DefaultServi
         });
     }
 
+    @Override
+    public boolean isCacheable(final Service service) {
+        return !service.getAttributes().containsKey(OAuth20Constants.CLIENT_ID);
+    }
+
     @Override
     public boolean supports(final RegisteredService registeredService, final Service service) {
         return registeredService instanceof OAuthRegisteredService && supportsInternal(registeredService, service);
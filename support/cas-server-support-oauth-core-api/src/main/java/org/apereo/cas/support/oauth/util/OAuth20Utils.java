@@ -34,7 +34,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -47,6 +46,8 @@ import java.util.stream.Stream;
 @Slf4j
 @UtilityClass
 public class OAuth20Utils {
+    private static final String INDEX_CLIENT_ID = "clientId";
+
     private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
         .singleArrayElementUnwrapped(true).build().toObjectMapper();
 
@@ -105,7 +106,8 @@ public class OAuth20Utils {
         if (StringUtils.isBlank(clientId)) {
             return null;
         }
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equalsIgnoreCase(clientId));
+        return servicesManager.findServiceByIndexedKey(INDEX_CLIENT_ID, clientId,
+            OAuthRegisteredService.class, OAuthRegisteredService::getClientId);
     }
 
     /**
@@ -120,14 +122,9 @@ public class OAuth20Utils {
         if (StringUtils.isBlank(redirectUri)) {
             return null;
         }
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.matches(redirectUri));
-    }
-
-    private static OAuthRegisteredService getRegisteredOAuthServiceByPredicate(final ServicesManager servicesManager,
-                                                                               final Predicate<OAuthRegisteredService> predicate) {
-        val services = servicesManager.getAllServicesOfType(OAuthRegisteredService.class);
-        return services.stream()
-            .filter(predicate)
+        return servicesManager.getCandidateServicesOfType(redirectUri, OAuthRegisteredService.class)
+            .stream()
+            .filter(s -> s.matches(redirectUri))
             .findFirst()
             .orElse(null);
     }
@@ -41,6 +41,8 @@ public class OAuth20IdTokenResponseTypeAuthorizationRequestValidatorTests extend
 
         when(serviceManager.getAllServices()).thenReturn((Collection) CollectionUtils.toCollection(service));
         when(serviceManager.getAllServicesOfType(any())).thenReturn((Collection) CollectionUtils.toCollection(service));
+        when(serviceManager.findServiceByIndexedKey(any(), any(), any(), any())).thenCallRealMethod();
+        when(serviceManager.getCandidateServicesOfType(any(), any())).thenCallRealMethod();
         val v = new OAuth20IdTokenResponseTypeAuthorizationRequestValidator(serviceManager, new WebApplicationServiceFactory(),
             new RegisteredServiceAccessStrategyAuditableEnforcer(casProperties), oauthRequestParameterResolver);
 
@@ -21,8 +21,7 @@ import java.util.Collection;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link OAuth20TokenResponseTypeAuthorizationRequestValidatorTests}.
@@ -44,6 +43,8 @@ public class OAuth20TokenResponseTypeAuthorizationRequestValidatorTests extends
 
         when(serviceManager.getAllServices()).thenReturn((Collection) CollectionUtils.toCollection(service));
         when(serviceManager.getAllServicesOfType(any())).thenReturn((Collection) CollectionUtils.toCollection(service));
+        when(serviceManager.findServiceByIndexedKey(any(), any(), any(), any())).thenCallRealMethod();
+        when(serviceManager.getCandidateServicesOfType(any(), any())).thenCallRealMethod();
         val v = new OAuth20TokenResponseTypeAuthorizationRequestValidator(serviceManager, new WebApplicationServiceFactory(),
             new RegisteredServiceAccessStrategyAuditableEnforcer(casProperties), oauthRequestParameterResolver);
 
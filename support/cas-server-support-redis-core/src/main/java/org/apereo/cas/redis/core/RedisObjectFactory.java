@@ -25,6 +25,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.StringUtils;
 
@@ -53,11 +54,25 @@ public class RedisObjectFactory {
      * @return the redis template
      */
     public static <K, V> CasRedisTemplate<K, V> newRedisTemplate(final RedisConnectionFactory connectionFactory) {
+        return newRedisTemplate(connectionFactory, new JdkSerializationRedisSerializer());
+    }
+
+    /**
+     * New redis template whose values are serialized using the given serializer.
+     *
+     * @param <K>               the type parameter
+     * @param <V>               the type parameter
+     * @param connectionFactory the connection factory
+     * @param valueSerializer   the value serializer
+     * @return the redis template
+     */
+    public static <K, V> CasRedisTemplate<K, V> newRedisTemplate(final RedisConnectionFactory connectionFactory,
+                                                                 final RedisSerializer<?> valueSerializer) {
         val template = new DefaultCasRedisTemplate<K, V>();
         val string = new StringRedisSerializer();
         val jdk = new JdkSerializationRedisSerializer();
         template.setKeySerializer(string);
-        template.setValueSerializer(jdk);
+        template.setValueSerializer(valueSerializer);
         template.setHashValueSerializer(jdk);
         template.setHashKeySerializer(string);
         template.setConnectionFactory(connectionFactory);
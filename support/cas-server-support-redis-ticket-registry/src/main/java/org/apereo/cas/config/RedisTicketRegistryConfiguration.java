@@ -8,7 +8,10 @@ import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
+import org.apereo.cas.ticket.registry.RedisTicketSerializer;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.lock.DefaultLockRepository;
 import org.apereo.cas.util.lock.LockRepository;
@@ -68,11 +71,22 @@ public class RedisTicketRegistryConfiguration {
         @ConditionalOnMissingBean(name = "ticketRedisTemplate")
         public CasRedisTemplate<String, Ticket> ticketRedisTemplate(
             final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties,
+            @Qualifier("ticketSerializationManager")
+            final TicketSerializationManager ticketSerializationManager,
+            @Qualifier("ticketSerializationExecutionPlan")
+            final TicketSerializationExecutionPlan ticketSerializationExecutionPlan,
             @Qualifier("redisTicketConnectionFactory")
             final RedisConnectionFactory redisTicketConnectionFactory) {
             return BeanSupplier.of(CasRedisTemplate.class)
                 .when(CONDITION.given(applicationContext.getEnvironment()))
-                .supply(() -> RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory))
+                .supply(() -> {
+                    val redis = casProperties.getTicket().getRegistry().getRedis();
+                    return redis.isBinarySerializationEnabled()
+                        ? RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory,
+                            new RedisTicketSerializer(ticketSerializationManager, ticketSerializationExecutionPlan))
+                        : RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory);
+                })
                 .otherwiseProxy()
                 .get();
         }
@@ -90,6 +104,9 @@ public class RedisTicketRegistryConfiguration {
                     val redis = casProperties.getTicket().getRegistry().getRedis();
                     val r = new RedisTicketRegistry(ticketRedisTemplate, redis.getScanCount());
                     r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
+                    r.setLegacyKeyLayoutEnabled(redis.isLegacyKeyLayoutEnabled());
+                    r.setBatchSize(redis.getBatchSize());
+                    r.setTrackedServicesStoredSeparately(redis.isTrackedServicesStoredSeparately());
                     return r;
                 })
                 .otherwise(DefaultTicketRegistry::new)
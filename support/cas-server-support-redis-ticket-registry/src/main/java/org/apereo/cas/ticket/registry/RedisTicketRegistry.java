@@ -1,23 +1,79 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketAwareTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Ticket-granting tickets are also tracked in a per-principal set
+ * so that sessions can be located and counted without scanning the keyspace.
+ * Operations that span the registry read and delete tickets in batches,
+ * so that each batch costs a single round trip and only one batch
+ * of keys is held in memory at a time. Tickets may be updated conditionally
+ * using a compare-and-set script, allowing callers to skip distributed locks.
+ * Expiration times of tickets are indexed in a fixed number of sorted sets, so that no single key
+ * receives every write, and expired tickets are located by paging through each of them.
+ * Services tracked by ticket-granting tickets may be kept in a separate hash per ticket,
+ * so that granting a service ticket only appends to the hash instead of rewriting
+ * the ever-growing collection of services along with the ticket-granting ticket.
+ * Services are then left out of the stored ticket as it is serialized, which also applies
+ * to ticket-granting tickets that are embedded in service and proxy tickets.
  *
  * @author serv
  * @since 5.1.0
@@ -27,10 +83,74 @@ import java.util.stream.Stream;
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_PRINCIPAL_PREFIX = "CAS_PRINCIPAL:";
+
+    private static final String CAS_TICKET_SERVICES_SUFFIX = "}:SERVICES";
+
+    private static final String CAS_TICKET_EXPIRATIONS_PREFIX = "CAS_TICKET_EXPIRATIONS:";
+
+    private static final int EXPIRATION_INDEX_SHARDS = 16;
+
+    private static final RedisSerializer<String> STRING_SERIALIZER = RedisSerializer.string();
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Stores the ticket along with changes to its tracked services. If {@code ARGV[1]} is {@code 1},
+     * the ticket is only stored if its current value matches {@code ARGV[2]}. {@code ARGV[5]} is the
+     * number of service fields to remove, which are followed by field and value pairs to add.
+     */
+    private static final byte[] STORE_TICKET_SCRIPT = ("if ARGV[1] == '1' and redis.call('GET', KEYS[1]) ~= ARGV[2] then return 0 end "
+        + "redis.call('SET', KEYS[1], ARGV[3], 'EX', ARGV[4]) "
+        + "local removed = tonumber(ARGV[5]) "
+        + "for i = 6, 5 + removed do redis.call('HDEL', KEYS[2], ARGV[i]) end "
+        + "for i = 6 + removed, #ARGV - 1, 2 do redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1]) end "
+        + "redis.call('EXPIRE', KEYS[2], ARGV[4]) return 1").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Adds {@code ARGV[1]} to the principal index, and extends the expiration
+     * of the index to {@code ARGV[2]} seconds if it would otherwise expire sooner.
+     */
+    private static final byte[] ADD_PRINCIPAL_TICKET_SCRIPT = ("redis.call('SADD', KEYS[1], ARGV[1]) "
+        + "if redis.call('TTL', KEYS[1]) < tonumber(ARGV[2]) then redis.call('EXPIRE', KEYS[1], ARGV[2]) end "
+        + "return 1").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] EMPTY_VALUE = new byte[0];
+
     private final CasRedisTemplate<String, Ticket> client;
 
     private final long scanCount;
 
+    /**
+     * Encoded ids of the services that were loaded for each ticket-granting ticket instance,
+     * so that only services removed from that instance are removed from its hash.
+     */
+    private final Cache<Ticket, Set<String>> loadedTrackedServices = Caffeine.newBuilder().weakKeys().build();
+
+    /**
+     * Whether tickets should also be looked up using the legacy
+     * {@code CAS_TICKET:<ticket-id>:<principal-id>} key layout.
+     */
+    @Setter
+    private boolean legacyKeyLayoutEnabled;
+
+    /**
+     * Number of keys that are fetched or deleted per round trip
+     * when operating on many tickets at once.
+     */
+    @Setter
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Whether services tracked by ticket-granting tickets are stored in a separate hash
+     * rather than along with the ticket. Nodes that do not support this layout only see
+     * the services that are stored along with the ticket, so this should only be turned on
+     * once all nodes are able to read the separate hash. Only takes effect for value serializers
+     * that are able to read tickets stored using Java serialization.
+     */
+    @Setter
+    private boolean trackedServicesStoredSeparately;
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -47,42 +167,134 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return ttl;
     }
 
-    private static String getTicketRedisKey(final String ticketId, final String user) {
+    private static String getTicketRedisKey(final String ticketId) {
+        return CAS_TICKET_PREFIX + ticketId.trim();
+    }
+
+    private static String getLegacyTicketRedisKey(final String ticketId, final String user) {
         return CAS_TICKET_PREFIX
                + StringUtils.defaultIfBlank(ticketId.trim(), "*")
                + ':'
                + StringUtils.defaultIfBlank(user.trim(), "*");
     }
 
+    /**
+     * The services hash is hash-tagged with the ticket key, so that both keys
+     * are assigned to the same slot and can be updated together by a script.
+     *
+     * @param ticketId the encoded ticket id
+     * @return the redis key
+     */
+    private static String getTicketServicesRedisKey(final String ticketId) {
+        return '{' + getTicketRedisKey(ticketId) + CAS_TICKET_SERVICES_SUFFIX;
+    }
+
+    private static String getExpirationIndexRedisKey(final String ticketId) {
+        return getExpirationIndexRedisKey(Math.floorMod(ticketId.hashCode(), EXPIRATION_INDEX_SHARDS));
+    }
+
+    private static String getExpirationIndexRedisKey(final int shard) {
+        return CAS_TICKET_EXPIRATIONS_PREFIX + shard;
+    }
+
+    private static String getPrincipalRedisKey(final String principalId) {
+        return CAS_PRINCIPAL_PREFIX + principalId.trim();
+    }
+
     private static String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private static String getPatternPrincipalRedisKey() {
+        return CAS_PRINCIPAL_PREFIX + '*';
+    }
+
+    /**
+     * Group the elements of the stream into lists of the given size, lazily.
+     * Closing the returned stream closes the source stream.
+     *
+     * @param <T>    the type parameter
+     * @param source the source
+     * @param size   the size of each batch
+     * @return the stream of batches
+     */
+    private static <T> Stream<List<T>> partition(final Stream<T> source, final int size) {
+        val iterator = source.iterator();
+        val batches = new Iterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                val batch = new ArrayList<T>(size);
+                while (iterator.hasNext() && batch.size() < size) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(source::close);
+    }
+
     @Override
     @SuppressWarnings("java:S2583")
     public long deleteAll() {
-        val redisKeys = getKeysStream().collect(Collectors.toSet());
-        val size = Objects.requireNonNull(redisKeys).size();
-        this.client.delete(redisKeys);
+        val size = deleteKeys(getKeysStream());
+        deleteKeys(getKeysStream(getPatternPrincipalRedisKey()));
+        deleteKeys(getKeysStream('{' + getPatternTicketRedisKey()));
+        this.client.delete(IntStream.range(0, EXPIRATION_INDEX_SHARDS)
+            .mapToObj(RedisTicketRegistry::getExpirationIndexRedisKey)
+            .collect(Collectors.toList()));
         return size;
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        val redisKey = getTicketRedisKey(encodeTicketId(ticketId), StringUtils.EMPTY);
-        getKeysStream(redisKey).forEach(client::delete);
+        val encodedTicketId = encodeTicketId(ticketId);
+        client.delete(List.of(getTicketRedisKey(encodedTicketId), getTicketServicesRedisKey(encodedTicketId)));
+        removeExpirationEntry(encodedTicketId);
+        if (legacyKeyLayoutEnabled) {
+            val redisKey = getLegacyTicketRedisKey(encodedTicketId, StringUtils.EMPTY);
+            getKeysStream(redisKey).forEach(client::delete);
+        }
         return true;
     }
 
+    @Override
+    public int deleteTicketsInBulk(final Collection<? extends Ticket> tickets) throws Exception {
+        val ticketIds = new LinkedHashSet<String>();
+        var count = 0;
+        for (val ticket : tickets) {
+            if (ticket instanceof ProxyGrantingTicket
+                || ticket instanceof TicketGrantingTicket && !((TicketGrantingTicket) ticket).getProxyGrantingTickets().isEmpty()) {
+                count += deleteTicket(ticket);
+            } else {
+                ticketIds.add(ticket.getId());
+                if (ticket instanceof TicketGrantingTicket) {
+                    ticketIds.addAll(((TicketGrantingTicket) ticket).getServices().keySet());
+                }
+            }
+        }
+        if (!ticketIds.isEmpty()) {
+            val encodedTicketIds = ticketIds.stream().map(this::encodeTicketId).collect(Collectors.toList());
+            val redisKeys = encodedTicketIds.stream().map(RedisTicketRegistry::getTicketRedisKey).collect(Collectors.toList());
+            LOGGER.debug("Deleting [{}] tickets in bulk", redisKeys.size());
+            count += Objects.requireNonNull(client.delete(redisKeys)).intValue();
+            client.delete(encodedTicketIds.stream().map(RedisTicketRegistry::getTicketServicesRedisKey).collect(Collectors.toList()));
+            removeExpirationEntries(encodedTicketIds);
+        }
+        return count;
+    }
+
     @Override
     public void addTicketInternal(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            val userId = getPrincipalIdFrom(ticket);
-            val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()), encodeTicketId(userId));
-            val encodeTicket = encodeTicket(ticket);
-            val timeout = getTimeout(ticket);
-            this.client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
+            storeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
@@ -92,14 +304,28 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
-            val redisKey = getTicketRedisKey(encodeTicketId(ticketId), StringUtils.EMPTY);
-            return getKeysStream(redisKey)
-                .map(key -> client.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .map(this::decodeTicket)
-                .filter(predicate)
-                .findFirst()
-                .orElse(null);
+            val encodedTicketId = encodeTicketId(ticketId);
+            val ticket = client.boundValueOps(getTicketRedisKey(encodedTicketId)).get();
+            if (ticket != null) {
+                return Stream.of(ticket)
+                    .map(this::decodeTicket)
+                    .filter(Objects::nonNull)
+                    .map(result -> attachTrackedServices(List.of(result)).get(0))
+                    .filter(predicate)
+                    .findFirst()
+                    .orElse(null);
+            }
+            if (legacyKeyLayoutEnabled) {
+                val redisKey = getLegacyTicketRedisKey(encodedTicketId, StringUtils.EMPTY);
+                return getKeysStream(redisKey)
+                    .map(key -> client.boundValueOps(key).get())
+                    .filter(Objects::nonNull)
+                    .map(this::decodeTicket)
+                    .filter(Objects::nonNull)
+                    .filter(predicate)
+                    .findFirst()
+                    .orElse(null);
+            }
         } catch (final Exception e) {
             LOGGER.error("Failed fetching [{}]", ticketId);
             LoggingUtils.error(LOGGER, e);
@@ -116,33 +342,19 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<? extends Ticket> stream() {
-        return getKeysStream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
-            })
-            .filter(Objects::nonNull)
-            .map(this::decodeTicket)
-            .filter(Objects::nonNull);
+        return getTicketsInBatches(getKeysStream(), redisKey -> redisKey, this.client::delete, this::attachTrackedServices);
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
-            val encodeTicket = encodeTicket(ticket);
-
-            val userId = getPrincipalIdFrom(ticket);
-            val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()), encodeTicketId(userId));
-            LOGGER.debug("Fetched redis key [{}] for ticket [{}]", redisKey, ticket);
-
-            val timeout = getTimeout(ticket);
-            client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
-            return encodeTicket;
+            storeTicket(ticket);
+            if (legacyKeyLayoutEnabled) {
+                val legacyKey = getLegacyTicketRedisKey(encodeTicketId(ticket.getId()), StringUtils.EMPTY);
+                getKeysStream(legacyKey).forEach(client::delete);
+            }
+            return ticket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
@@ -150,14 +362,384 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean updateTicketIfVersion(final Ticket ticket, final long expectedVersion) throws Exception {
+        val encodedTicketId = encodeTicketId(ticket.getId());
+        val key = STRING_SERIALIZER.serialize(getTicketRedisKey(encodedTicketId));
+        val valueSerializer = (RedisSerializer<Ticket>) client.getValueSerializer();
+        val current = client.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+        val currentTicket = current == null ? null : decodeTicket(valueSerializer.deserialize(current));
+        if (currentTicket == null || currentTicket.getCountOfUses() != expectedVersion
+            || !storeTicket(ticket, encodedTicketId, current)) {
+            LOGGER.debug("Ticket [{}] was changed or removed since version [{}] was read", ticket.getId(), expectedVersion);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isOptimisticLockingSupported() {
+        return !legacyKeyLayoutEnabled;
+    }
+
     @Override
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
-        val redisKey = getTicketRedisKey(StringUtils.EMPTY, encodeTicketId(principalId));
-        return getKeysStream(redisKey)
-            .map(key -> client.boundValueOps(key).get())
-            .filter(Objects::nonNull)
-            .map(this::decodeTicket)
-            .filter(Objects::nonNull);
+        return getSessionsFor(principalId, this::attachTrackedServices);
+    }
+
+    /**
+     * Count the sessions of the principal using its index, without attaching the services
+     * tracked by each ticket-granting ticket, which are not needed to count them.
+     *
+     * @param principalId the principal id
+     * @return the number of sessions
+     */
+    @Override
+    public long countSessionsFor(final String principalId) {
+        try (val sessions = getSessionsFor(principalId, UnaryOperator.identity())) {
+            return sessions.count();
+        }
+    }
+
+    private Stream<? extends Ticket> getSessionsFor(final String principalId, final UnaryOperator<List<Ticket>> postProcessor) {
+        val principalKey = getPrincipalRedisKey(encodeTicketId(principalId));
+        val members = getPrincipalTicketIds(principalKey);
+        val tickets = getTicketsInBatches(members.stream(), RedisTicketRegistry::getTicketRedisKey, ticketIds -> {
+            LOGGER.trace("Removing expired tickets [{}] from principal index [{}]", ticketIds, principalKey);
+            removePrincipalTicketIds(principalKey, ticketIds);
+        }, postProcessor).filter(TicketGrantingTicket.class::isInstance);
+
+        if (legacyKeyLayoutEnabled) {
+            val redisKey = getLegacyTicketRedisKey(StringUtils.EMPTY, encodeTicketId(principalId));
+            val legacyTickets = getKeysStream(redisKey)
+                .map(key -> client.boundValueOps(key).get())
+                .filter(Objects::nonNull)
+                .map(this::decodeTicket)
+                .filter(TicketGrantingTicket.class::isInstance);
+            return Stream.concat(tickets, legacyTickets);
+        }
+        return tickets;
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpirationCandidates(final ZonedDateTime expirationTime) {
+        val entries = new ExpirationIndexIterator(expirationTime.toEpochSecond());
+        val ticketIds = StreamSupport.stream(Spliterators.spliteratorUnknownSize(entries,
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return getTicketsInBatches(ticketIds, RedisTicketRegistry::getTicketRedisKey, missing -> {
+            LOGGER.trace("Removing tickets [{}] that no longer exist from the expiration index", missing);
+            removeExpirationEntries(missing);
+        }, this::attachTrackedServices);
+    }
+
+    /**
+     * Fetch tickets in batches, using a single {@code MGET} per batch.
+     * Entries whose tickets no longer exist are reported to the given consumer, one batch at a time.
+     *
+     * @param entries        the entries to look up
+     * @param keyFunction    maps each entry to its redis key
+     * @param missingEntries consumer of entries whose tickets no longer exist
+     * @param postProcessor  applied to the decoded tickets of each batch
+     * @return the decoded tickets
+     */
+    private Stream<? extends Ticket> getTicketsInBatches(final Stream<String> entries,
+                                                         final Function<String, String> keyFunction,
+                                                         final Consumer<List<String>> missingEntries,
+                                                         final UnaryOperator<List<Ticket>> postProcessor) {
+        return partition(entries, Math.max(batchSize, 1))
+            .flatMap(batch -> {
+                val redisKeys = batch.stream().map(keyFunction).collect(Collectors.toList());
+                val values = client.opsForValue().multiGet(redisKeys);
+                val tickets = new ArrayList<Ticket>(batch.size());
+                val missing = new ArrayList<String>();
+                for (var i = 0; i < batch.size(); i++) {
+                    val value = values == null ? null : values.get(i);
+                    if (value == null) {
+                        missing.add(batch.get(i));
+                    } else {
+                        Optional.ofNullable(decodeTicket(value)).ifPresent(tickets::add);
+                    }
+                }
+                if (!missing.isEmpty()) {
+                    missingEntries.accept(missing);
+                }
+                return postProcessor.apply(tickets).stream();
+            });
+    }
+
+    /**
+     * Delete keys in batches as they are scanned, using a single {@code DEL} per batch.
+     *
+     * @param keys the keys
+     * @return the number of keys that were scanned
+     */
+    private long deleteKeys(final Stream<String> keys) {
+        try (val batches = partition(keys, Math.max(batchSize, 1))) {
+            return batches
+                .mapToLong(batch -> {
+                    client.delete(batch);
+                    return batch.size();
+                })
+                .sum();
+        }
+    }
+
+    private void storeTicket(final Ticket ticket) throws Exception {
+        storeTicket(ticket, encodeTicketId(ticket.getId()), null);
+    }
+
+    /**
+     * Store the ticket, along with the services it tracks if it's a ticket-granting ticket.
+     * If tracked services are stored separately, services are left out of the stored ticket
+     * and kept in a separate hash instead. Services that were added since the ticket was loaded
+     * are written to the hash, and only services that were loaded and later removed from the ticket
+     * are removed from the hash, so that services added concurrently by other callers are left in place.
+     * The ticket and its services are stored atomically, and are sent along with the expiration
+     * and principal index entries of the ticket in a single pipelined round trip. Index entries
+     * are idempotent and entries of tickets that do not exist are pruned as they are found, so they
+     * are sent even if the ticket is only stored conditionally.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     * @param expectedValue   if defined, the ticket is only stored if its current value matches
+     * @return true if the ticket was stored
+     * @throws Exception the exception
+     */
+    private boolean storeTicket(final Ticket ticket, final String encodedTicketId, final byte[] expectedValue) throws Exception {
+        val redisKey = getTicketRedisKey(encodedTicketId);
+        val key = STRING_SERIALIZER.serialize(redisKey);
+        val timeout = getTimeout(ticket);
+        val storedSeparately = isTrackedServicesStoredSeparately();
+        val trackedServices = new LinkedHashMap<String, Service>();
+        val value = serializeTicket(ticket, encodedTicketId, trackedServices);
+        LOGGER.debug("Storing ticket [{}] under redis key [{}]", ticket, redisKey);
+
+        val fields = trackedServices.keySet().stream()
+            .collect(Collectors.toMap(this::encodeTicketId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+        val loaded = Optional.ofNullable(loadedTrackedServices.getIfPresent(ticket)).orElseGet(Set::of);
+        val removed = loaded.stream().filter(field -> !fields.containsKey(field)).collect(Collectors.toList());
+        val grantingTicket = ticket instanceof TicketGrantingTicketImpl;
+
+        val scripted = expectedValue != null || grantingTicket && (storedSeparately || !removed.isEmpty());
+        val arguments = new ArrayList<byte[]>();
+        if (scripted) {
+            arguments.add(key);
+            arguments.add(STRING_SERIALIZER.serialize(getTicketServicesRedisKey(encodedTicketId)));
+            arguments.add(STRING_SERIALIZER.serialize(expectedValue == null ? "0" : "1"));
+            arguments.add(expectedValue == null ? EMPTY_VALUE : expectedValue);
+            arguments.add(value);
+            arguments.add(STRING_SERIALIZER.serialize(String.valueOf(timeout)));
+            arguments.add(STRING_SERIALIZER.serialize(String.valueOf(removed.size())));
+            removed.forEach(field -> arguments.add(STRING_SERIALIZER.serialize(field)));
+            if (storedSeparately) {
+                fields.forEach((field, id) -> {
+                    if (!loaded.contains(field)) {
+                        arguments.add(STRING_SERIALIZER.serialize(field));
+                        arguments.add(serializeTrackedService(new AbstractMap.SimpleImmutableEntry<>(id, trackedServices.get(id))));
+                    }
+                });
+            }
+        }
+        val results = client.executePipelined((RedisCallback<Object>) connection -> {
+            if (scripted) {
+                connection.scriptingCommands().eval(STORE_TICKET_SCRIPT, ReturnType.INTEGER, 2, arguments.toArray(byte[][]::new));
+            } else {
+                connection.stringCommands().setEx(key, timeout, value);
+            }
+            addIndexEntries(connection, ticket, encodedTicketId, timeout);
+            return null;
+        }, RedisSerializer.byteArray());
+
+        if (scripted) {
+            if (!Long.valueOf(1).equals(results.get(0))) {
+                return false;
+            }
+            if (grantingTicket) {
+                val stored = new HashSet<>(fields.keySet());
+                if (!storedSeparately) {
+                    stored.retainAll(loaded);
+                }
+                loadedTrackedServices.put(ticket, stored);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serialize the ticket, collecting the services tracked by ticket-granting tickets into the given map.
+     * Ticket-granting tickets are serialized while holding their lock, so that services
+     * granted concurrently are either both tracked and stored or neither.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     * @param trackedServices the tracked services
+     * @return the serialized ticket
+     * @throws Exception the exception
+     */
+    private byte[] serializeTicket(final Ticket ticket, final String encodedTicketId,
+                                   final Map<String, Service> trackedServices) throws Exception {
+        if (ticket instanceof TicketGrantingTicketImpl) {
+            synchronized (ticket) {
+                trackedServices.putAll(((TicketGrantingTicketImpl) ticket).getServices());
+                return serializeTicket(ticket, encodedTicketId);
+            }
+        }
+        return serializeTicket(ticket, encodedTicketId);
+    }
+
+    /**
+     * Serialize the ticket using the value serializer. If tracked services are stored separately,
+     * the ticket is written using Java serialization instead, leaving out the services of the ticket
+     * and of the ticket-granting tickets embedded in it, which the value serializer is able to read back.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     * @return the serialized ticket
+     * @throws Exception the exception
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] serializeTicket(final Ticket ticket, final String encodedTicketId) throws Exception {
+        val valueSerializer = (RedisSerializer<Ticket>) client.getValueSerializer();
+        val excludedServices = isTrackedServicesStoredSeparately() ? getTrackedServices(ticket) : Set.of();
+        if (excludedServices.isEmpty()) {
+            return valueSerializer.serialize(encodeTicket(ticket));
+        }
+        val bytes = new ByteArrayOutputStream();
+        try (val out = new TrackedServicesExcludingOutputStream(bytes, excludedServices)) {
+            out.writeObject(ticket);
+        }
+        if (isCipherExecutorEnabled()) {
+            val encoded = (byte[]) cipherExecutor.encode(bytes.toByteArray());
+            return valueSerializer.serialize(new DefaultEncodedTicket(encodedTicketId, encoded, ticket.getPrefix()));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Collect the services of the ticket, if it's a ticket-granting ticket,
+     * and of all the ticket-granting tickets it's linked to.
+     *
+     * @param ticket the ticket
+     * @return the services, compared by identity
+     */
+    private static Set<Object> getTrackedServices(final Ticket ticket) {
+        val services = Collections.newSetFromMap(new IdentityHashMap<>());
+        var current = ticket;
+        while (current != null) {
+            if (current instanceof TicketGrantingTicketImpl) {
+                services.add(((TicketGrantingTicketImpl) current).getServices());
+            }
+            current = current instanceof TicketGrantingTicketAwareTicket
+                ? ((TicketGrantingTicketAwareTicket) current).getTicketGrantingTicket()
+                : null;
+        }
+        return services;
+    }
+
+    private boolean isTrackedServicesStoredSeparately() {
+        val valueSerializer = client.getValueSerializer();
+        return trackedServicesStoredSeparately
+            && (valueSerializer instanceof JdkSerializationRedisSerializer || valueSerializer instanceof RedisTicketSerializer);
+    }
+
+    /**
+     * Restore the services tracked by ticket-granting tickets from their hashes,
+     * using a single pipelined round trip for all tickets.
+     *
+     * @param tickets the tickets
+     * @return the tickets
+     */
+    @SuppressWarnings("unchecked")
+    private List<Ticket> attachTrackedServices(final List<Ticket> tickets) {
+        val grantingTickets = tickets.stream()
+            .filter(TicketGrantingTicketImpl.class::isInstance)
+            .map(TicketGrantingTicketImpl.class::cast)
+            .collect(Collectors.toList());
+        if (!grantingTickets.isEmpty()) {
+            val results = client.executePipelined((RedisCallback<Object>) connection -> {
+                grantingTickets.forEach(ticket -> connection.hashCommands()
+                    .hVals(STRING_SERIALIZER.serialize(getTicketServicesRedisKey(encodeTicketId(ticket.getId())))));
+                return null;
+            }, RedisSerializer.byteArray());
+            for (var i = 0; i < grantingTickets.size(); i++) {
+                val ticket = grantingTickets.get(i);
+                val services = ticket.getServices();
+                val loaded = new HashSet<String>();
+                Optional.ofNullable((List<byte[]>) results.get(i))
+                    .orElseGet(List::of)
+                    .stream()
+                    .map(this::deserializeTrackedService)
+                    .forEach(entry -> {
+                        services.putIfAbsent(entry.getKey(), entry.getValue());
+                        loaded.add(encodeTicketId(entry.getKey()));
+                    });
+                loadedTrackedServices.put(ticket, loaded);
+            }
+        }
+        return tickets;
+    }
+
+    private byte[] serializeTrackedService(final AbstractMap.SimpleImmutableEntry<String, Service> entry) {
+        return isCipherExecutorEnabled()
+            ? SerializationUtils.serializeAndEncodeObject(cipherExecutor, entry)
+            : SerializationUtils.serialize(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map.Entry<String, Service> deserializeTrackedService(final byte[] value) {
+        return isCipherExecutorEnabled()
+            ? SerializationUtils.decodeAndDeserializeObject(value, cipherExecutor, AbstractMap.SimpleImmutableEntry.class)
+            : SerializationUtils.deserialize(value, AbstractMap.SimpleImmutableEntry.class);
+    }
+
+    /**
+     * Add the ticket to the expiration index and, if it's a ticket-granting ticket, to the index
+     * of its principal, making sure the principal index outlives the longest-lived ticket that is tracked by it.
+     *
+     * @param connection the connection
+     * @param ticket     the ticket
+     * @param ticketId   the encoded ticket id
+     * @param timeout    the timeout of the ticket
+     */
+    private void addIndexEntries(final RedisConnection connection, final Ticket ticket, final String ticketId, final long timeout) {
+        val member = STRING_SERIALIZER.serialize(ticketId);
+        connection.zSetCommands().zAdd(STRING_SERIALIZER.serialize(getExpirationIndexRedisKey(ticketId)),
+            getIndexedExpirationTime(ticket), member);
+        val userId = ticket instanceof TicketGrantingTicket ? getPrincipalIdFrom(ticket) : null;
+        if (StringUtils.isNotBlank(userId)) {
+            val principalKey = STRING_SERIALIZER.serialize(getPrincipalRedisKey(encodeTicketId(userId)));
+            connection.scriptingCommands().eval(ADD_PRINCIPAL_TICKET_SCRIPT, ReturnType.INTEGER, 1,
+                principalKey, member, STRING_SERIALIZER.serialize(String.valueOf(timeout)));
+        }
+    }
+
+    private void removeExpirationEntry(final String ticketId) {
+        removeExpirationEntries(List.of(ticketId));
+    }
+
+    private void removeExpirationEntries(final Collection<String> ticketIds) {
+        val entries = ticketIds.stream().collect(Collectors.groupingBy(RedisTicketRegistry::getExpirationIndexRedisKey));
+        client.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, ids) -> connection.zSetCommands().zRem(STRING_SERIALIZER.serialize(key),
+                ids.stream().map(STRING_SERIALIZER::serialize).toArray(byte[][]::new)));
+            return null;
+        }, RedisSerializer.byteArray());
+    }
+
+    private void removePrincipalTicketIds(final String principalKey, final Collection<String> ticketIds) {
+        val key = STRING_SERIALIZER.serialize(principalKey);
+        val members = ticketIds.stream().map(STRING_SERIALIZER::serialize).toArray(byte[][]::new);
+        client.execute((RedisCallback<Object>) connection -> connection.setCommands().sRem(key, members));
+    }
+
+    private Set<String> getPrincipalTicketIds(final String principalKey) {
+        val key = STRING_SERIALIZER.serialize(principalKey);
+        val members = client.execute((RedisCallback<Set<byte[]>>) connection -> connection.setCommands().sMembers(key));
+        return Objects.requireNonNull(members)
+            .stream()
+            .map(STRING_SERIALIZER::deserialize)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     /**
@@ -172,4 +754,84 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     private Stream<String> getKeysStream(final String key) {
         return client.keys(key, this.scanCount);
     }
+
+    /**
+     * Pages through each sorted set of the expiration index in turn, one batch at a time.
+     * Pages start at the score of the last entry that was returned rather than at an offset,
+     * so that entries removed by callers while paging do not cause other entries to be skipped.
+     * Entries that share that score and were already returned are skipped instead.
+     */
+    private class ExpirationIndexIterator implements Iterator<String> {
+        private final Queue<String> entries = new ArrayDeque<>();
+
+        private final Set<String> returnedAtLastScore = new HashSet<>();
+
+        private final long expirationTime;
+
+        private int shard;
+
+        private double lastScore;
+
+        ExpirationIndexIterator(final long expirationTime) {
+            this.expirationTime = expirationTime;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (entries.isEmpty() && shard < EXPIRATION_INDEX_SHARDS) {
+                fetchNextPage();
+            }
+            return !entries.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return entries.remove();
+        }
+
+        private void fetchNextPage() {
+            val key = STRING_SERIALIZER.serialize(getExpirationIndexRedisKey(shard));
+            val count = Math.max(batchSize, 1) + returnedAtLastScore.size();
+            val range = RedisZSetCommands.Range.range().gte(lastScore).lte(expirationTime);
+            val limit = RedisZSetCommands.Limit.limit().count(count);
+            val page = Objects.requireNonNull(client.execute((RedisCallback<Set<RedisZSetCommands.Tuple>>) connection ->
+                connection.zSetCommands().zRangeByScoreWithScores(key, range, limit)));
+            page.forEach(tuple -> {
+                if (tuple.getScore() > lastScore) {
+                    lastScore = tuple.getScore();
+                    returnedAtLastScore.clear();
+                }
+                val ticketId = STRING_SERIALIZER.deserialize(tuple.getValue());
+                if (returnedAtLastScore.add(ticketId)) {
+                    entries.add(ticketId);
+                }
+            });
+            if (page.size() < count) {
+                shard++;
+                lastScore = 0;
+                returnedAtLastScore.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes objects, replacing the services maps of ticket-granting tickets with empty maps.
+     */
+    private static class TrackedServicesExcludingOutputStream extends ObjectOutputStream {
+        private final Set<?> services;
+
+        TrackedServicesExcludingOutputStream(final OutputStream out, final Set<?> services) throws IOException {
+            super(out);
+            this.services = services;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            return services.contains(obj) ? new HashMap<String, Service>(0) : obj;
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This is {@link RedisTicketSerializer}. Serializes tickets into their compact binary form
+ * using the ticket serialization manager, for ticket types that have a binary serializer registered.
+ * Binary values are prefixed by a format marker followed by the ticket type, so they can be told apart from
+ * tickets that are stored using Java serialization, which remains in use for all other ticket types
+ * and is used to read tickets that were stored before binary serialization was turned on.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiredArgsConstructor
+public class RedisTicketSerializer implements RedisSerializer<Ticket> {
+    private static final byte[] FORMAT_MARKER = {'C', 'T', 1};
+
+    private final RedisSerializer<Object> jdkSerializer = new JdkSerializationRedisSerializer();
+
+    private final TicketSerializationManager ticketSerializationManager;
+
+    private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    private static boolean isMarked(final byte[] bytes) {
+        return bytes.length > FORMAT_MARKER.length + Short.BYTES
+            && Arrays.equals(bytes, 0, FORMAT_MARKER.length, FORMAT_MARKER, 0, FORMAT_MARKER.length);
+    }
+
+    @Override
+    public byte[] serialize(final Ticket ticket) throws SerializationException {
+        if (ticket == null) {
+            return null;
+        }
+        val type = ticket.getClass().getName();
+        if (ticketSerializationExecutionPlan.getTicketBinarySerializer(type) == null) {
+            return jdkSerializer.serialize(ticket);
+        }
+        try {
+            val typeBytes = type.getBytes(StandardCharsets.UTF_8);
+            val content = ticketSerializationManager.serializeTicketToBytes(ticket);
+            return ByteBuffer.allocate(FORMAT_MARKER.length + Short.BYTES + typeBytes.length + content.length)
+                .put(FORMAT_MARKER)
+                .putShort((short) typeBytes.length)
+                .put(typeBytes)
+                .put(content)
+                .array();
+        } catch (final Exception e) {
+            throw new SerializationException("Unable to serialize ticket " + ticket.getId(), e);
+        }
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isMarked(bytes)) {
+            return (Ticket) jdkSerializer.deserialize(bytes);
+        }
+        try {
+            val buffer = ByteBuffer.wrap(bytes, FORMAT_MARKER.length, bytes.length - FORMAT_MARKER.length);
+            val typeBytes = new byte[buffer.getShort()];
+            buffer.get(typeBytes);
+            val content = new byte[buffer.remaining()];
+            buffer.get(content);
+            return ticketSerializationManager.deserializeTicketFromBytes(content, new String(typeBytes, StandardCharsets.UTF_8));
+        } catch (final Exception e) {
+            throw new SerializationException("Unable to deserialize ticket", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return Ticket.class;
+    }
+}
@@ -1,10 +1,15 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
@@ -12,8 +17,18 @@ import lombok.val;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -34,6 +49,31 @@ import static org.junit.jupiter.api.Assertions.*;
 @EnabledIfListeningOnPort(port = 6379)
 @Tag("Redis")
 public class RedisServerTicketRegistryTests extends BaseRedisSentinelTicketRegistryTests {
+    @Autowired
+    @Qualifier("ticketSerializationManager")
+    private TicketSerializationManager ticketSerializationManager;
+
+    @Autowired
+    @Qualifier("ticketSerializationExecutionPlan")
+    private TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    @RepeatedTest(1)
+    public void verifyBinarySerialization() throws Exception {
+        val serializer = new RedisTicketSerializer(ticketSerializationManager, ticketSerializationExecutionPlan);
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        val binary = serializer.serialize(tgt);
+        assertEquals('C', binary[0]);
+        assertEquals(tgt, serializer.deserialize(binary));
+        assertEquals(tgt, serializer.deserialize(new JdkSerializationRedisSerializer().serialize(tgt)));
+
+        val template = RedisObjectFactory.<String, Ticket>newRedisTemplate(ticketRedisTemplate.getConnectionFactory(), serializer);
+        template.initialize();
+        val registry = new RedisTicketRegistry(template, 0);
+        registry.addTicket(tgt);
+        assertEquals(tgt, registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class));
+        registry.deleteTicket(ticketGrantingTicketId);
+    }
 
     @RepeatedTest(1)
     @Tag("TicketRegistryTestWithEncryption")
@@ -52,6 +92,211 @@ public class RedisServerTicketRegistryTests extends BaseRedisSentinelTicketRegis
         assertEquals(0, getNewTicketRegistry().stream().count());
     }
 
+    @RepeatedTest(1)
+    public void verifyLegacyKeyLayout() throws Exception {
+        val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId, originalAuthn, NeverExpiresExpirationPolicy.INSTANCE);
+        val legacyKey = "CAS_TICKET:" + ticketGrantingTicketId + ':' + originalAuthn.getPrincipal().getId();
+        ticketRedisTemplate.boundValueOps(legacyKey).set(tgt, 60, TimeUnit.SECONDS);
+
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        assertNull(registry.getTicket(ticketGrantingTicketId));
+        registry.setLegacyKeyLayoutEnabled(true);
+        assertNotNull(registry.getTicket(ticketGrantingTicketId));
+        assertEquals(1, registry.getSessionsFor(originalAuthn.getPrincipal().getId()).count());
+        registry.updateTicket(tgt);
+        assertNull(ticketRedisTemplate.boundValueOps(legacyKey).get());
+        assertNotNull(registry.getTicket(ticketGrantingTicketId));
+        assertTrue(registry.deleteSingleTicket(ticketGrantingTicketId));
+        assertNull(registry.getTicket(ticketGrantingTicketId));
+    }
+
+    @RepeatedTest(1)
+    public void verifyBatchedOperations() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        registry.setBatchSize(2);
+        registry.deleteAll();
+        val originalAuthn = CoreAuthenticationTestUtils.getAuthentication(UUID.randomUUID().toString());
+        for (var i = 0; i < 5; i++) {
+            registry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId + '-' + i,
+                originalAuthn, NeverExpiresExpirationPolicy.INSTANCE));
+        }
+        assertEquals(5, registry.stream().count());
+        assertEquals(5, registry.getSessionsFor(originalAuthn.getPrincipal().getId()).count());
+        assertEquals(5, registry.countSessionsFor(originalAuthn.getPrincipal().getId()));
+        ticketRedisTemplate.delete("CAS_TICKET:" + ticketGrantingTicketId + "-0");
+        assertEquals(4, registry.getSessionsFor(originalAuthn.getPrincipal().getId()).count());
+        assertEquals(4, registry.countSessionsFor(originalAuthn.getPrincipal().getId()));
+        assertEquals(4, registry.deleteAll());
+        assertEquals(0, registry.stream().count());
+        assertEquals(0, registry.getSessionsFor(originalAuthn.getPrincipal().getId()).count());
+    }
+
+    @RepeatedTest(1)
+    public void verifyExpirationCandidatesArePaged() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        registry.setBatchSize(1);
+        registry.deleteAll();
+        val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
+        for (var i = 0; i < 50; i++) {
+            val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId + '-' + i, originalAuthn, NeverExpiresExpirationPolicy.INSTANCE);
+            registry.addTicket(tgt);
+            if (i % 2 == 0) {
+                tgt.markTicketExpired();
+                registry.updateTicket(tgt);
+            }
+        }
+        val ticketIds = new ArrayList<String>();
+        try (val candidates = registry.getExpirationCandidates(ZonedDateTime.now(Clock.systemUTC()))) {
+            candidates.forEach(ticket -> {
+                ticketIds.add(ticket.getId());
+                registry.deleteSingleTicket(ticket.getId());
+            });
+        }
+        assertEquals(25, ticketIds.size());
+        assertEquals(25, new HashSet<>(ticketIds).size());
+        assertEquals(25, registry.stream().count());
+        assertEquals(0, registry.getExpirationCandidates(ZonedDateTime.now(Clock.systemUTC())).count());
+        registry.deleteAll();
+    }
+
+    @RepeatedTest(1)
+    public void verifyPrincipalIndexTracksTicketGrantingTickets() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        registry.deleteAll();
+        val originalAuthn = CoreAuthenticationTestUtils.getAuthentication(UUID.randomUUID().toString());
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId, originalAuthn, NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        registry.addTicket(tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService("https://app1"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false));
+        registry.updateTicket(tgt);
+
+        val principalKey = "CAS_PRINCIPAL:" + originalAuthn.getPrincipal().getId();
+        assertEquals(1, ticketRedisTemplate.opsForSet().size(principalKey));
+        assertTrue(ticketRedisTemplate.getExpire(principalKey) > 0);
+        assertEquals(1, registry.countSessionsFor(originalAuthn.getPrincipal().getId()));
+        assertEquals(1, registry.getSessionsFor(originalAuthn.getPrincipal().getId()).count());
+        assertEquals(2, registry.deleteTicket(ticketGrantingTicketId));
+        assertEquals(0, registry.countSessionsFor(originalAuthn.getPrincipal().getId()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyUpdateTicketIfVersion() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        assertTrue(registry.isOptimisticLockingSupported());
+        registry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+
+        val first = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        val second = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        val version = first.getCountOfUses();
+        first.update();
+        assertTrue(registry.updateTicketIfVersion(first, version));
+        second.update();
+        assertFalse(registry.updateTicketIfVersion(second, version));
+        assertEquals(version + 1, registry.getTicket(ticketGrantingTicketId).getCountOfUses());
+
+        registry.deleteTicket(ticketGrantingTicketId);
+        assertFalse(registry.updateTicketIfVersion(first, first.getCountOfUses()));
+        registry.setLegacyKeyLayoutEnabled(true);
+        assertFalse(registry.isOptimisticLockingSupported());
+    }
+
+    @RepeatedTest(1)
+    public void verifyTrackedServicesStoredSeparately() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        registry.setTrackedServicesStoredSeparately(true);
+        registry.deleteAll();
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        for (var i = 1; i <= 3; i++) {
+            val st = tgt.grantServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService("https://app" + i),
+                NeverExpiresExpirationPolicy.INSTANCE, false, false);
+            registry.updateTicket(tgt);
+            registry.addTicket(st);
+        }
+        assertEquals(3, tgt.getServices().size());
+        val stored = (TicketGrantingTicket) ticketRedisTemplate.boundValueOps("CAS_TICKET:" + ticketGrantingTicketId).get();
+        assertNotNull(stored);
+        assertTrue(stored.getServices().isEmpty());
+        assertEquals(3, ticketRedisTemplate.opsForHash().size("{CAS_TICKET:" + ticketGrantingTicketId + "}:SERVICES"));
+        val storedServiceTicket = (ServiceTicket) ticketRedisTemplate.boundValueOps("CAS_TICKET:ST-3").get();
+        assertNotNull(storedServiceTicket);
+        assertTrue(storedServiceTicket.getTicketGrantingTicket().getServices().isEmpty());
+        assertEquals(3, tgt.getServices().size());
+
+        val found = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        assertEquals(tgt.getServices().keySet(), found.getServices().keySet());
+        assertEquals(3, tgt.getServices().size());
+        assertEquals(3, registry.stream()
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .findFirst()
+            .orElseThrow()
+            .getServices()
+            .size());
+
+        found.removeAllServices();
+        registry.updateTicket(found);
+        assertTrue(registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices().isEmpty());
+        val st = found.grantServiceTicket("ST-4", RegisteredServiceTestUtils.getService("https://app4"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        registry.updateTicket(found);
+        registry.addTicket(st);
+        assertEquals(1, registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices().size());
+        assertEquals(2, registry.deleteTicket(ticketGrantingTicketId));
+        assertFalse(ticketRedisTemplate.hasKey("{CAS_TICKET:" + ticketGrantingTicketId + "}:SERVICES"));
+    }
+
+    @RepeatedTest(1)
+    public void verifyTrackedServicesStoredWithTicket() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        registry.deleteAll();
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService("https://app1"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        registry.updateTicket(tgt);
+        registry.addTicket(st);
+
+        val stored = (TicketGrantingTicket) ticketRedisTemplate.boundValueOps("CAS_TICKET:" + ticketGrantingTicketId).get();
+        assertNotNull(stored);
+        assertEquals(1, stored.getServices().size());
+        val storedServiceTicket = (ServiceTicket) ticketRedisTemplate.boundValueOps("CAS_TICKET:ST-1").get();
+        assertNotNull(storedServiceTicket);
+        assertEquals(1, storedServiceTicket.getTicketGrantingTicket().getServices().size());
+        assertFalse(ticketRedisTemplate.hasKey("{CAS_TICKET:" + ticketGrantingTicketId + "}:SERVICES"));
+        assertEquals(1, registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices().size());
+        assertEquals(2, registry.deleteTicket(ticketGrantingTicketId));
+    }
+
+    @RepeatedTest(1)
+    public void verifyConcurrentTrackedServices() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        registry.setTrackedServicesStoredSeparately(true);
+        registry.deleteAll();
+        registry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+        val first = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        val second = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        first.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService("https://app1"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        second.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService("https://app2"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        registry.updateTicket(first);
+        registry.updateTicket(second);
+        assertEquals(1, first.getServices().size());
+        assertEquals(2, registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices().size());
+
+        second.removeAllServices();
+        registry.updateTicket(second);
+        val services = registry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices();
+        assertEquals(1, services.size());
+        assertTrue(services.containsKey("ST-1"));
+    }
+
     @RepeatedTest(1)
     public void verifyFailure() throws Exception {
         val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
@@ -5,6 +5,7 @@ import org.apereo.cas.util.function.FunctionUtils;
 import com.codahale.metrics.MetricRegistry;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.shibboleth.utilities.java.support.xml.ParserPool;
 import org.opensaml.core.config.ConfigurationService;
@@ -29,6 +30,11 @@ public class OpenSamlConfigBean {
      * Default bean name.
      */
     public static final String DEFAULT_BEAN_NAME = "shibboleth.OpenSAMLConfig";
+
+    /**
+     * Default maximum number of bytes a deflated SAML message may inflate to.
+     */
+    public static final long DEFAULT_MAXIMUM_INFLATED_SIZE = 1_048_576;
     
     private final ParserPool parserPool;
 
@@ -40,6 +46,12 @@ public class OpenSamlConfigBean {
 
     private final XMLObjectProviderRegistry xmlObjectProviderRegistry;
 
+    /**
+     * Maximum number of bytes a deflated SAML message may inflate to.
+     */
+    @Setter
+    private long maximumInflatedSize = DEFAULT_MAXIMUM_INFLATED_SIZE;
+
     public OpenSamlConfigBean(final @NonNull ParserPool parserPool) {
         this.parserPool = parserPool;
 
@@ -512,17 +512,28 @@ public abstract class AbstractSaml20ObjectBuilder extends AbstractSamlObjectBuil
         return attribute;
     }
 
+    /**
+     * Gets the maximum number of bytes a deflated authn request may inflate to.
+     *
+     * @return the maximum inflated size, or zero for no limit
+     */
+    protected long getMaximumInflatedSize() {
+        return openSamlConfigBean == null ? 0 : openSamlConfigBean.getMaximumInflatedSize();
+    }
+
     /**
      * Inflate authn request string.
      *
      * @param decodedBytes the decoded bytes
      * @return the string
+     * @throws org.apereo.cas.util.InflatedSizeExceededException if the request inflates past the maximum allowed size
      */
     protected String inflateAuthnRequest(final byte[] decodedBytes) {
-        val inflated = CompressionUtils.inflate(decodedBytes);
+        val maximumInflatedSize = getMaximumInflatedSize();
+        val inflated = CompressionUtils.inflate(decodedBytes, maximumInflatedSize);
         if (!StringUtils.isEmpty(inflated)) {
             return inflated;
         }
-        return CompressionUtils.decodeByteArrayToString(decodedBytes);
+        return CompressionUtils.decodeByteArrayToString(decodedBytes, maximumInflatedSize);
     }
 }
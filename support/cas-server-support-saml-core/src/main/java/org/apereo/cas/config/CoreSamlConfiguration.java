@@ -74,9 +74,12 @@ public class CoreSamlConfiguration {
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     @Bean(name = {OpenSamlConfigBean.DEFAULT_BEAN_NAME, OpenSamlConfigBean.DEFAULT_BEAN_NAME})
     public OpenSamlConfigBean openSamlConfigBean(
+        final CasConfigurationProperties casProperties,
         @Qualifier("shibboleth.ParserPool")
         final BasicParserPool parserPool) throws Exception {
-        return new OpenSamlConfigBean(parserPool);
+        val bean = new OpenSamlConfigBean(parserPool);
+        bean.setMaximumInflatedSize(casProperties.getSamlCore().getMaximumInflatedSize());
+        return bean;
     }
 
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -6,7 +6,9 @@ import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPSamlRegisteredSer
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
+import org.apereo.cas.util.CompressionUtils;
 import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.InflatedSizeExceededException;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.experimental.UtilityClass;
@@ -15,6 +17,7 @@ import lombok.val;
 import net.shibboleth.utilities.java.support.codec.Base64Support;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jooq.lambda.Unchecked;
 import org.opensaml.core.xml.util.XMLObjectSupport;
@@ -48,8 +51,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 /**
  * This is {@link SamlIdPUtils}.
@@ -101,11 +102,16 @@ public class SamlIdPUtils {
         try {
             LOGGER.trace("Retrieving SAML request from [{}]", requestValue);
             val decodedBytes = Base64Support.decode(requestValue);
-            try (val is = new InflaterInputStream(new ByteArrayInputStream(decodedBytes), new Inflater(true))) {
+            try (val is = CompressionUtils.inflating(new ByteArrayInputStream(decodedBytes), true,
+                openSamlConfigBean.getMaximumInflatedSize())) {
                 return clazz.cast(XMLObjectSupport.unmarshallFromInputStream(
                     openSamlConfigBean.getParserPool(), is));
             }
         } catch (final Exception e) {
+            val exceeded = ExceptionUtils.throwableOfType(e, InflatedSizeExceededException.class);
+            if (exceeded != null) {
+                throw exceeded;
+            }
             return FunctionUtils.doUnchecked(() -> {
                 val encodedRequest = EncodingUtils.decodeBase64(requestValue.getBytes(StandardCharsets.UTF_8));
                 try (val is = new ByteArrayInputStream(encodedRequest)) {
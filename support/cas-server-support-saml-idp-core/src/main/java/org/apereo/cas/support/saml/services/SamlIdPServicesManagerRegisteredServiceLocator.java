@@ -55,6 +55,13 @@ public class SamlIdPServicesManagerRegisteredServiceLocator extends DefaultServi
         });
     }
 
+    @Override
+    public boolean isCacheable(final Service service) {
+        return SamlProtocolServiceAttribute.values()
+            .stream()
+            .noneMatch(attr -> service.getAttributes().containsKey(attr.getAttributeName()));
+    }
+
     @Override
     public boolean supports(final RegisteredService registeredService, final Service service) {
         val matched = SamlRegisteredService.class.isAssignableFrom(registeredService.getClass())
@@ -0,0 +1,76 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link SamlRegisteredServiceAggregateMetadataStore}. Holds on to metadata resolvers
+ * that are built from metadata sources, such as federation aggregates, that may be referenced
+ * by many SAML service definitions. A metadata source is fetched, parsed and verified once per refresh,
+ * and the resulting resolver, which indexes entity descriptors by entity id,
+ * is handed out to every service definition that references the source with the same
+ * verification and filtering settings.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class SamlRegisteredServiceAggregateMetadataStore {
+    private static final long MAX_CACHE_SIZE = 1_000;
+
+    private final Cache<String, List<MetadataResolver>> resolvers;
+
+    public SamlRegisteredServiceAggregateMetadataStore(final Duration expiration) {
+        this.resolvers = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .expireAfterWrite(expiration)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Resolve metadata resolvers for the metadata source,
+     * loading them if the source is not already known.
+     * Concurrent requests for the same source wait for a single load,
+     * and empty results are not stored.
+     *
+     * @param sourceKey the source key
+     * @param loader    the loader
+     * @return the metadata resolvers
+     */
+    public Collection<? extends MetadataResolver> resolve(final String sourceKey,
+                                                          final Supplier<Collection<? extends MetadataResolver>> loader) {
+        val result = resolvers.get(sourceKey, key -> {
+            LOGGER.debug("Loading metadata source with key [{}] into the aggregate metadata store", key);
+            val loaded = loader.get();
+            return loaded == null || loaded.isEmpty() ? null : List.copyOf(loaded);
+        });
+        return result == null ? new ArrayList<>(0) : result;
+    }
+
+    /**
+     * Remove all metadata sources from the store.
+     */
+    public void invalidate() {
+        resolvers.invalidateAll();
+    }
+
+    /**
+     * Gets statistics.
+     *
+     * @return the statistics
+     */
+    CacheStats getCacheStatistics() {
+        return resolvers.stats();
+    }
+}
@@ -3,15 +3,22 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.Iterables;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Getter;
-import lombok.Synchronized;
+import lombok.NonNull;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -21,28 +28,54 @@ import org.opensaml.saml.metadata.criteria.entity.impl.EvaluableEntityRoleEntity
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.saml2.metadata.EntityDescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Metadata resolvers are loaded per cache key, so that concurrent requests for the same key
+ * wait for a single load while requests for other keys proceed in parallel. Once an entry has
+ * used up most of the default cache lifetime, it is refreshed in the background on the next request
+ * while the existing resolver continues to be served.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
+public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver, DisposableBean {
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final double REFRESH_AHEAD_FACTOR = 0.75;
+
+    private static final int REFRESH_POOL_SIZE = 4;
+
+    private static final String METRIC_PREFIX = "cas.saml.metadata.resolver";
+
     private final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> chainingMetadataResolverCacheLoader;
 
+    private final SamlRegisteredServiceMetadataExpirationPolicy expirationPolicy;
+
     private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
 
+    private final ExecutorService refreshExecutor;
+
+    private final Timer loadTimer;
+
+    private final Timer refreshTimer;
+
+    private final Counter refreshFailureCounter;
+
     @Getter
     private final OpenSamlConfigBean openSamlConfigBean;
 
@@ -50,13 +83,39 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         final Duration metadataCacheExpiration,
         final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> loader,
         final OpenSamlConfigBean openSamlConfigBean) {
+        this(metadataCacheExpiration, loader, openSamlConfigBean, Metrics.globalRegistry);
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(
+        final Duration metadataCacheExpiration,
+        final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> loader,
+        final OpenSamlConfigBean openSamlConfigBean,
+        final MeterRegistry meterRegistry) {
         this.openSamlConfigBean = openSamlConfigBean;
         this.chainingMetadataResolverCacheLoader = loader;
+        this.expirationPolicy = new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpiration);
+        this.refreshExecutor = Executors.newFixedThreadPool(REFRESH_POOL_SIZE,
+            new CustomizableThreadFactory("cas-saml-metadata-refresh-"));
+
+        val refreshInterval = Math.max((long) (metadataCacheExpiration.toNanos() * REFRESH_AHEAD_FACTOR), 1L);
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
             .recordStats()
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpiration))
-            .build(this.chainingMetadataResolverCacheLoader);
+            .expireAfter(new RefreshableMetadataResolverExpirationPolicy())
+            .refreshAfterWrite(refreshInterval, TimeUnit.NANOSECONDS)
+            .executor(refreshExecutor)
+            .build(new MetadataResolverCacheLoader());
+
+        this.loadTimer = Timer.builder(METRIC_PREFIX + ".load")
+            .description("Time taken to load SAML metadata resolvers")
+            .register(meterRegistry);
+        this.refreshTimer = Timer.builder(METRIC_PREFIX + ".refresh")
+            .description("Time taken to refresh SAML metadata resolvers in the background")
+            .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder(METRIC_PREFIX + ".refresh.failures")
+            .description("Number of background refreshes of SAML metadata resolvers that have failed")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "samlRegisteredServiceMetadataResolverCache");
     }
 
     private static long countResolvableEntityDescriptors(final MetadataResolver resolver) {
@@ -67,7 +126,6 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
     }
 
     @Override
-    @Synchronized
     public MetadataResolver resolve(final SamlRegisteredService service, final CriteriaSet criteriaSet) {
         LOGGER.debug("Resolving metadata for [{}] at [{}]", service.getName(), service.getMetadataLocation());
         val cacheKey = new SamlRegisteredServiceCacheKey(service, criteriaSet);
@@ -92,6 +150,11 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         });
     }
 
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
     @Override
     public void invalidate() {
         LOGGER.trace("Invalidating cache, removing all metadata resolvers");
@@ -173,4 +236,53 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
     CacheStats getCacheStatistics() {
         return this.cache.stats();
     }
+
+    private class MetadataResolverCacheLoader implements CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> {
+        @Override
+        public MetadataResolver load(@NonNull final SamlRegisteredServiceCacheKey cacheKey) throws Exception {
+            return loadTimer.recordCallable(() -> chainingMetadataResolverCacheLoader.load(cacheKey));
+        }
+
+        @Override
+        public MetadataResolver reload(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                       @NonNull final MetadataResolver oldValue) throws Exception {
+            LOGGER.debug("Refreshing metadata resolver with key [{}] in the background", cacheKey.getId());
+            try {
+                return refreshTimer.recordCallable(() -> chainingMetadataResolverCacheLoader.load(cacheKey));
+            } catch (final Exception e) {
+                refreshFailureCounter.increment();
+                LOGGER.warn("Unable to refresh metadata resolver with key [{}]; the existing resolver is used until it expires",
+                    cacheKey.getId());
+                LoggingUtils.error(LOGGER, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Expiration policy that starts a new lifetime for a metadata resolver
+     * once it is replaced by a refresh, rather than keeping the lifetime of the resolver it replaces.
+     */
+    private class RefreshableMetadataResolverExpirationPolicy implements Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> {
+        @Override
+        public long expireAfterCreate(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                      @NonNull final MetadataResolver resolver,
+                                      final long currentTime) {
+            return expirationPolicy.expireAfterCreate(cacheKey, resolver, currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                      @NonNull final MetadataResolver resolver,
+                                      final long currentTime, final long currentDuration) {
+            return expirationPolicy.expireAfterCreate(cacheKey, resolver, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                    @NonNull final MetadataResolver resolver,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -6,6 +6,8 @@ import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlMetadataDocument;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceAggregateMetadataStore;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
@@ -13,9 +15,11 @@ import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilterChain;
 import org.opensaml.saml.metadata.resolver.filter.impl.EntityRoleFilter;
@@ -30,7 +34,9 @@ import org.springframework.core.io.Resource;
 import javax.xml.namespace.QName;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * This is {@link BaseSamlRegisteredServiceMetadataResolver}.
@@ -51,6 +57,12 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
      */
     protected final OpenSamlConfigBean configBean;
 
+    /**
+     * The store that shares metadata sources across service definitions, if any.
+     */
+    @Setter
+    protected SamlRegisteredServiceAggregateMetadataStore aggregateMetadataStore;
+
     private static void buildEntityRoleFilterIfNeeded(final SamlRegisteredService service, final List<MetadataFilter> metadataFilterList) {
         if (StringUtils.isNotBlank(service.getMetadataCriteriaRoles())) {
             val roles = new ArrayList<QName>();
@@ -156,6 +168,50 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         addSignatureValidationFilterIfNeeded(service, signatureValidationFilter, metadataFilterList);
     }
 
+    /**
+     * Resolve metadata resolvers for the service from the aggregate metadata store,
+     * if one is available, so that the metadata source is only loaded once
+     * for all services that reference it with the same settings.
+     *
+     * @param service          the service
+     * @param metadataLocation the resolved metadata location
+     * @param loader           the loader
+     * @return the metadata resolvers
+     */
+    protected Collection<? extends MetadataResolver> resolveFromAggregateMetadataStore(
+        final SamlRegisteredService service, final String metadataLocation,
+        final Supplier<Collection<? extends MetadataResolver>> loader) {
+        if (aggregateMetadataStore == null) {
+            return loader.get();
+        }
+        return aggregateMetadataStore.resolve(getAggregateMetadataSourceKey(service, metadataLocation), loader);
+    }
+
+    /**
+     * Gets the key of the metadata source for the service in the aggregate metadata store.
+     * Services share metadata resolvers only if they agree on the metadata location
+     * and on all settings that control how metadata is verified and filtered.
+     *
+     * @param service          the service
+     * @param metadataLocation the resolved metadata location
+     * @return the key
+     */
+    protected String getAggregateMetadataSourceKey(final SamlRegisteredService service, final String metadataLocation) {
+        val signatureLocation = StringUtils.isBlank(service.getMetadataSignatureLocation())
+            ? StringUtils.EMPTY
+            : SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataSignatureLocation());
+        val key = String.join("|", getClass().getName(), metadataLocation, signatureLocation,
+            StringUtils.defaultString(service.getMetadataProxyLocation()),
+            String.valueOf(service.isRequireSignedRoot()),
+            String.valueOf(service.getMetadataMaxValidity()),
+            StringUtils.defaultString(service.getMetadataCriteriaRoles()),
+            String.valueOf(service.isMetadataCriteriaRemoveEmptyEntitiesDescriptors()),
+            String.valueOf(service.isMetadataCriteriaRemoveRolelessEntityDescriptors()),
+            StringUtils.defaultString(service.getMetadataCriteriaDirection()),
+            StringUtils.defaultString(service.getMetadataCriteriaPattern()));
+        return DigestUtils.sha512(key);
+    }
+
     /**
      * Build metadata resolver from document.
      *
@@ -34,6 +34,18 @@ public class ClasspathResourceMetadataResolver extends BaseSamlRegisteredService
     @Override
     public Collection<? extends MetadataResolver> resolve(final SamlRegisteredService service, final CriteriaSet criteriaSet) {
         val metadataLocation = SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataLocation());
+        return resolveFromAggregateMetadataStore(service, metadataLocation, () -> resolveMetadataFrom(service, metadataLocation));
+    }
+
+    /**
+     * Parse metadata from the location and build metadata resolvers from it.
+     *
+     * @param service          the service
+     * @param metadataLocation the metadata location
+     * @return the metadata resolvers
+     */
+    protected Collection<? extends MetadataResolver> resolveMetadataFrom(final SamlRegisteredService service,
+                                                                         final String metadataLocation) {
         LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
         try (val in = ResourceUtils.getResourceFrom(metadataLocation).getInputStream()) {
             LOGGER.debug("Parsing metadata from [{}]", metadataLocation);
@@ -46,6 +46,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
@@ -61,6 +65,8 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
 
     private final File metadataBackupDirectory;
 
+    private final Map<String, Lock> backupFileLocks = new ConcurrentHashMap<>();
+
     public UrlResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                        final OpenSamlConfigBean configBean) {
         super(samlIdPProperties, configBean);
@@ -82,36 +88,16 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
 
     @Override
     public Collection<? extends MetadataResolver> resolve(final SamlRegisteredService service, final CriteriaSet criteriaSet) {
-        HttpResponse response = null;
         try {
             RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(service);
-
             val metadataLocation = getMetadataLocationForService(service, criteriaSet);
-            LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
-            val metadataResource = new UrlResource(metadataLocation);
-
-            val backupFile = getMetadataBackupFile(metadataResource, service);
-            if (backupFile.exists() && samlIdPProperties.getMetadata().getHttp().isForceMetadataRefresh()) {
-                cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
-            }
-            val canonicalPath = backupFile.getCanonicalPath();
-            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
-            FileUtils.forceMkdirParent(backupFile);
-
-            response = fetchMetadata(service, metadataLocation, criteriaSet, backupFile);
-            val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
-            if (shouldHttpResponseStatusBeProcessed(status)) {
-                val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
-                configureAndInitializeSingleMetadataResolver(metadataProvider, service);
-                return CollectionUtils.wrap(metadataProvider);
-            }
+            return resolveFromAggregateMetadataStore(service, metadataLocation,
+                () -> resolveMetadataFrom(service, criteriaSet, metadataLocation));
         } catch (final UnauthorizedServiceException e) {
             LoggingUtils.error(LOGGER, e);
             throw new SamlException(e.getMessage(), e);
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
-        } finally {
-            HttpUtils.close(response);
         }
         return new ArrayList<>(0);
     }
@@ -139,6 +125,53 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return false;
     }
 
+    /**
+     * Fetch metadata from the location and build metadata resolvers from it.
+     * Services that share a metadata location share the same backup file,
+     * so fetching metadata and writing the backup file are serialized per backup file.
+     *
+     * @param service          the service
+     * @param criteriaSet      the criteria set
+     * @param metadataLocation the metadata location
+     * @return the metadata resolvers
+     */
+    protected Collection<? extends MetadataResolver> resolveMetadataFrom(final SamlRegisteredService service,
+                                                                         final CriteriaSet criteriaSet,
+                                                                         final String metadataLocation) {
+        HttpResponse response = null;
+        try {
+            LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
+            val metadataResource = new UrlResource(metadataLocation);
+
+            val backupFile = getMetadataBackupFile(metadataResource, service);
+            if (backupFile.exists() && samlIdPProperties.getMetadata().getHttp().isForceMetadataRefresh()) {
+                cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
+            }
+            val canonicalPath = backupFile.getCanonicalPath();
+            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
+            FileUtils.forceMkdirParent(backupFile);
+
+            val lock = backupFileLocks.computeIfAbsent(canonicalPath, path -> new ReentrantLock());
+            lock.lock();
+            try {
+                response = fetchMetadata(service, metadataLocation, criteriaSet, backupFile);
+                val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+                if (shouldHttpResponseStatusBeProcessed(status)) {
+                    val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
+                    configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                    return CollectionUtils.wrap(metadataProvider);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+        } finally {
+            HttpUtils.close(response);
+        }
+        return new ArrayList<>(0);
+    }
+
     /**
      * Should http response status be processed?
      *
@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.support.saml.services.SamlIdPEntityIdAuthenticationServiceSelectionStrategyTests;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceAggregateMetadataStoreTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCacheKeyTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolverTests;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataResolverCacheLoaderTests;
@@ -32,7 +33,8 @@ import org.junit.platform.suite.api.Suite;
     SamlRegisteredServiceDefaultCachingMetadataResolverTests.class,
     SamlRegisteredServiceMetadataResolverCacheLoaderTests.class,
     FileSystemResourceMetadataResolverTests.class,
-    JsonResourceMetadataResolverTests.class
+    JsonResourceMetadataResolverTests.class,
+    SamlRegisteredServiceAggregateMetadataStoreTests.class
 })
 @Suite
 public class SamlIdPMetadataTestsSuite {
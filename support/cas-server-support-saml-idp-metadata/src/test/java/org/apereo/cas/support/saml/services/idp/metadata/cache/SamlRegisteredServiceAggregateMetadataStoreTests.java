@@ -0,0 +1,73 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.opensaml.core.criterion.EntityIdCriterion;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SamlRegisteredServiceAggregateMetadataStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("SAMLMetadata")
+public class SamlRegisteredServiceAggregateMetadataStoreTests extends BaseSamlIdPServicesTests {
+    private static SamlRegisteredService getAggregateService(final long id) {
+        val service = new SamlRegisteredService();
+        service.setName("AggregateMetadata" + id);
+        service.setId(id);
+        service.setServiceId("https://.+");
+        service.setMetadataLocation("classpath:aggregate-md.xml");
+        return service;
+    }
+
+    @Test
+    public void verifySharedAcrossServices() throws Exception {
+        val store = new SamlRegisteredServiceAggregateMetadataStore(Duration.ofMinutes(1));
+        val resolver = new ClasspathResourceMetadataResolver(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean);
+        resolver.setAggregateMetadataStore(store);
+
+        val results1 = resolver.resolve(getAggregateService(1000), new CriteriaSet());
+        val results2 = resolver.resolve(getAggregateService(2000), new CriteriaSet());
+        assertEquals(1, results1.size());
+        assertSame(results1.iterator().next(), results2.iterator().next());
+        assertEquals(1, store.getCacheStatistics().loadSuccessCount());
+
+        val criteria = new CriteriaSet(new EntityIdCriterion("https://issues.shibboleth.net/shibboleth"));
+        assertNotNull(results2.iterator().next().resolveSingle(criteria));
+
+        val filteredService = getAggregateService(3000);
+        filteredService.setMetadataCriteriaRoles("SPSSODescriptor");
+        val results3 = resolver.resolve(filteredService, new CriteriaSet());
+        assertNotSame(results1.iterator().next(), results3.iterator().next());
+        assertEquals(2, store.getCacheStatistics().loadSuccessCount());
+
+        store.invalidate();
+        val results4 = resolver.resolve(getAggregateService(1000), new CriteriaSet());
+        assertNotSame(results1.iterator().next(), results4.iterator().next());
+    }
+
+    @Test
+    public void verifyFailuresAreNotStored() {
+        val store = new SamlRegisteredServiceAggregateMetadataStore(Duration.ofMinutes(1));
+        val resolver = new ClasspathResourceMetadataResolver(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean);
+        resolver.setAggregateMetadataStore(store);
+
+        val service = getAggregateService(1000);
+        service.setMetadataLocation("classpath:does-not-exist.xml");
+        assertTrue(resolver.resolve(service, new CriteriaSet()).isEmpty());
+        assertTrue(resolver.resolve(service, new CriteriaSet()).isEmpty());
+        assertEquals(0, store.getCacheStatistics().loadSuccessCount());
+        assertEquals(2, store.getCacheStatistics().loadFailureCount());
+    }
+}
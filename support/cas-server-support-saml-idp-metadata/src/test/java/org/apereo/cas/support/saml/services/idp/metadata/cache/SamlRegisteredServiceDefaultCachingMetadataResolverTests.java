@@ -9,6 +9,7 @@ import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.UrlResou
 import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
 import org.apereo.cas.util.MockWebServer;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.junit.jupiter.api.Tag;
@@ -21,6 +22,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -202,4 +208,77 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolverTests extends Ba
         assertEquals(2, stats3.loadSuccessCount());
         assertEquals(1, stats3.hitCount());
     }
+
+    @Test
+    public void verifyConcurrentResolution() throws Exception {
+        val service = new SamlRegisteredService();
+        service.setName("Example");
+        service.setId(1000);
+        service.setServiceId(".+");
+        service.setMetadataLocation("classpath:sample-sp.xml");
+
+        val resolutionPlan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        resolutionPlan.registerMetadataResolver(
+            new ClasspathResourceMetadataResolver(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean));
+        val cacheLoader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, resolutionPlan);
+        val meterRegistry = new SimpleMeterRegistry();
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(Duration.ofMinutes(1),
+            cacheLoader, openSamlConfigBean, meterRegistry);
+
+        val criteriaSet = getCriteriaFor("https://carmenwiki.osu.edu/shibboleth");
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val latch = new CountDownLatch(1);
+            val results = IntStream.range(0, 16)
+                .mapToObj(i -> executor.submit(() -> {
+                    latch.await();
+                    return resolver.resolve(service, criteriaSet);
+                }))
+                .collect(Collectors.toList());
+            latch.countDown();
+            for (val result : results) {
+                assertNotNull(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+            resolver.destroy();
+        }
+        assertEquals(1, resolver.getCacheStatistics().loadSuccessCount());
+        assertEquals(1, meterRegistry.get("cas.saml.metadata.resolver.load").timer().count());
+    }
+
+    @Test
+    public void verifyRefreshAhead() throws Exception {
+        val service = new SamlRegisteredService();
+        service.setName("Example");
+        service.setId(1000);
+        service.setServiceId(".+");
+        service.setMetadataLocation("classpath:sample-sp.xml");
+
+        val resolutionPlan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        resolutionPlan.registerMetadataResolver(
+            new ClasspathResourceMetadataResolver(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean));
+        val cacheLoader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, resolutionPlan);
+        val meterRegistry = new SimpleMeterRegistry();
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(Duration.ofSeconds(4),
+            cacheLoader, openSamlConfigBean, meterRegistry);
+        try {
+            val criteriaSet = getCriteriaFor("https://carmenwiki.osu.edu/shibboleth");
+            val first = resolver.resolve(service, criteriaSet);
+            assertNotNull(first);
+            Thread.sleep(3200);
+            assertSame(first, resolver.resolve(service, criteriaSet));
+
+            val deadline = System.currentTimeMillis() + 5000;
+            while (resolver.resolveIfPresent(service, criteriaSet).orElse(first) == first
+                   && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertNotSame(first, resolver.resolveIfPresent(service, criteriaSet).orElseThrow());
+            assertEquals(1, meterRegistry.get("cas.saml.metadata.resolver.refresh").timer().count());
+            assertEquals(1, meterRegistry.get("cas.saml.metadata.resolver.load").timer().count());
+        } finally {
+            resolver.destroy();
+        }
+    }
 }
@@ -22,6 +22,7 @@ import org.apereo.cas.support.saml.idp.metadata.writer.DefaultSamlIdPCertificate
 import org.apereo.cas.support.saml.idp.metadata.writer.SamlIdPCertificateAndKeyWriter;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlIdPMetadataDocument;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataHealthIndicator;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceAggregateMetadataStore;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCacheKey;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
 import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolver;
@@ -51,6 +52,8 @@ import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.velocity.app.VelocityEngine;
@@ -173,6 +176,15 @@ public class SamlIdPMetadataConfiguration {
     @Configuration(value = "SamlIdPMetadataResolutionConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     public static class SamlIdPMetadataResolutionConfiguration {
+        @ConditionalOnMissingBean(name = "samlRegisteredServiceAggregateMetadataStore")
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public SamlRegisteredServiceAggregateMetadataStore samlRegisteredServiceAggregateMetadataStore(
+            final CasConfigurationProperties casProperties) {
+            val expiration = Beans.newDuration(casProperties.getAuthn().getSamlIdp().getMetadata().getCore().getCacheExpiration());
+            return new SamlRegisteredServiceAggregateMetadataStore(expiration.dividedBy(2));
+        }
+
         @ConditionalOnMissingBean(name = "samlRegisteredServiceMetadataResolvers")
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -180,14 +192,23 @@ public class SamlIdPMetadataConfiguration {
             final ObjectProvider<List<SamlRegisteredServiceMetadataResolutionPlanConfigurer>> configurersList,
             final CasConfigurationProperties casProperties,
             @Qualifier(OpenSamlConfigBean.DEFAULT_BEAN_NAME)
-            final OpenSamlConfigBean openSamlConfigBean) {
+            final OpenSamlConfigBean openSamlConfigBean,
+            @Qualifier("samlRegisteredServiceAggregateMetadataStore")
+            final SamlRegisteredServiceAggregateMetadataStore samlRegisteredServiceAggregateMetadataStore) {
             val plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
             val samlIdp = casProperties.getAuthn().getSamlIdp();
             plan.registerMetadataResolver(new MetadataQueryProtocolMetadataResolver(samlIdp, openSamlConfigBean));
             plan.registerMetadataResolver(new JsonResourceMetadataResolver(samlIdp, openSamlConfigBean));
-            plan.registerMetadataResolver(new FileSystemResourceMetadataResolver(samlIdp, openSamlConfigBean));
-            plan.registerMetadataResolver(new UrlResourceMetadataResolver(samlIdp, openSamlConfigBean));
-            plan.registerMetadataResolver(new ClasspathResourceMetadataResolver(samlIdp, openSamlConfigBean));
+
+            val fileSystemResolver = new FileSystemResourceMetadataResolver(samlIdp, openSamlConfigBean);
+            fileSystemResolver.setAggregateMetadataStore(samlRegisteredServiceAggregateMetadataStore);
+            plan.registerMetadataResolver(fileSystemResolver);
+            val urlResolver = new UrlResourceMetadataResolver(samlIdp, openSamlConfigBean);
+            urlResolver.setAggregateMetadataStore(samlRegisteredServiceAggregateMetadataStore);
+            plan.registerMetadataResolver(urlResolver);
+            val classpathResolver = new ClasspathResourceMetadataResolver(samlIdp, openSamlConfigBean);
+            classpathResolver.setAggregateMetadataStore(samlRegisteredServiceAggregateMetadataStore);
+            plan.registerMetadataResolver(classpathResolver);
             plan.registerMetadataResolver(new GroovyResourceMetadataResolver(samlIdp, openSamlConfigBean));
 
             val configurers = Optional.ofNullable(configurersList.getIfAvailable()).orElseGet(ArrayList::new);
@@ -310,10 +331,12 @@ public class SamlIdPMetadataConfiguration {
             @Qualifier("chainingMetadataResolverCacheLoader")
             final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> chainingMetadataResolverCacheLoader,
             @Qualifier(OpenSamlConfigBean.DEFAULT_BEAN_NAME)
-            final OpenSamlConfigBean openSamlConfigBean) {
+            final OpenSamlConfigBean openSamlConfigBean,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
             return new SamlRegisteredServiceDefaultCachingMetadataResolver(
                 Beans.newDuration(casProperties.getAuthn().getSamlIdp().getMetadata().getCore().getCacheExpiration()),
-                chainingMetadataResolverCacheLoader, openSamlConfigBean);
+                chainingMetadataResolverCacheLoader, openSamlConfigBean,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
         }
     }
 
@@ -1,16 +1,84 @@
 package org.apereo.cas.web.support;
 
+import org.apereo.cas.configuration.support.Beans;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
 import javax.servlet.http.HttpServletRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * This is {@link AbstractInspektrAuditHandlerInterceptorAdapter}.
+ * Failures are looked up in audit records, and may be cached locally
+ * via {@link ThrottledSubmissionFailureCache} so that audit records are only
+ * queried for unknown keys, keys that are close to reaching the threshold,
+ * and keys that are due to be reconciled.
  *
  * @author Misagh Moayyed
  * @since 5.3.0
  */
+@Slf4j
 public abstract class AbstractInspektrAuditHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter {
+    private static final String ATTRIBUTE_FAILURE_RECORDED = AbstractInspektrAuditHandlerInterceptorAdapter.class.getName() + ".failureRecorded";
+
+    private final ThrottledSubmissionFailureCache failureCache;
+
     protected AbstractInspektrAuditHandlerInterceptorAdapter(final ThrottledSubmissionHandlerConfigurationContext configurationContext) {
         super(configurationContext);
+        val throttle = configurationContext.getCasProperties().getAuthn().getThrottle();
+        val cache = throttle.getFailureCache();
+        this.failureCache = cache.isEnabled()
+            ? new ThrottledSubmissionFailureCache(cache.getMaximumSize(), Beans.newDuration(cache.getReconcileInterval()),
+            Duration.ofSeconds(Math.max(throttle.getFailure().getRangeSeconds(), 0)))
+            : null;
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        val remoteAddress = ClientInfoHolder.getClientInfo().getClientIpAddress();
+        val username = getUsernameParameterFromRequest(request);
+        if (failureCache == null) {
+            return calculateFailureThresholdRateAndCompare(getFailuresInAudits(request, remoteAddress, username));
+        }
+
+        val key = getFailureCacheKey(remoteAddress, username);
+        val cachedFailures = failureCache.get(key);
+        if (cachedFailures.isPresent()) {
+            if (calculateFailureThresholdRateAndCompare(cachedFailures.get())) {
+                LOGGER.debug("Request from [{}] by user [{}] exceeds threshold based on cached failures", remoteAddress, username);
+                return true;
+            }
+            if (!isNearThreshold(cachedFailures.get())) {
+                return false;
+            }
+            LOGGER.trace("Request from [{}] by user [{}] is close to the threshold; checking audit records", remoteAddress, username);
+        }
+        val failures = failureCache.reconcile(key, getFailuresInAudits(request, remoteAddress, username));
+        return calculateFailureThresholdRateAndCompare(failures);
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        if (failureCache != null && request.getAttribute(ATTRIBUTE_FAILURE_RECORDED) == null) {
+            request.setAttribute(ATTRIBUTE_FAILURE_RECORDED, Boolean.TRUE);
+            val remoteAddress = ClientInfoHolder.getClientInfo().getClientIpAddress();
+            val key = getFailureCacheKey(remoteAddress, getUsernameParameterFromRequest(request));
+            LOGGER.trace("Recording submission failure locally for [{}]", key);
+            failureCache.record(key, ThrottledSubmission.builder().key(key).build());
+        }
+    }
+
+    @Override
+    public void release() {
+        if (failureCache != null) {
+            failureCache.evictExpired();
+        }
     }
 
     @Override
@@ -18,4 +86,36 @@ public abstract class AbstractInspektrAuditHandlerInterceptorAdapter extends Abs
         super.recordThrottle(request);
         recordAuditAction(request, ACTION_THROTTLED_LOGIN_ATTEMPT);
     }
+
+    /**
+     * Gets the failures recorded in audit records for the client IP address and username
+     * within the configured range, most recent first.
+     *
+     * @param request       the request
+     * @param remoteAddress the remote address
+     * @param username      the username
+     * @return the failures
+     */
+    protected abstract List<? extends ThrottledSubmission> getFailuresInAudits(HttpServletRequest request,
+                                                                                String remoteAddress,
+                                                                                String username);
+
+    /**
+     * Whether one more failure right now, possibly recorded on another node,
+     * would cause the threshold to be exceeded.
+     *
+     * @param failures the failures, most recent first
+     * @return true/false
+     */
+    protected boolean isNearThreshold(final List<? extends ThrottledSubmission> failures) {
+        if (failures.isEmpty()) {
+            return false;
+        }
+        val elapsed = Duration.between(failures.get(0).getValue(), ZonedDateTime.now(Clock.systemUTC())).toMillis();
+        return elapsed < Duration.ofSeconds(1).toMillis() / getThresholdRate();
+    }
+
+    private static String getFailureCacheKey(final String remoteAddress, final String username) {
+        return remoteAddress + ';' + StringUtils.defaultString(username);
+    }
 }
@@ -0,0 +1,130 @@
+package org.apereo.cas.web.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ThrottledSubmissionFailureCache}. Keeps track of the most recent
+ * authentication failures on this node, keyed by client IP address and username.
+ * Entries are seeded from audit records, are fed with failures that are observed locally,
+ * and are only handed out until they are due to be reconciled with audit records again.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class ThrottledSubmissionFailureCache {
+    /**
+     * Number of failures that are kept for each key,
+     * which is all that is needed to calculate the failure rate.
+     */
+    private static final int MAX_FAILURES = 2;
+
+    private final Cache<String, Entry> cache;
+
+    private final Duration reconcileInterval;
+
+    private final Duration expiration;
+
+    public ThrottledSubmissionFailureCache(final long maximumSize, final Duration reconcileInterval,
+                                           final Duration expiration) {
+        this.reconcileInterval = reconcileInterval;
+        this.expiration = expiration;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expiration.compareTo(reconcileInterval) > 0 ? expiration : reconcileInterval)
+            .build();
+    }
+
+    /**
+     * Gets the most recent failures for the key, most recent first,
+     * as long as the entry is not due to be reconciled.
+     *
+     * @param key the key
+     * @return the failures, or empty if the key must be looked up in audit records
+     */
+    public Optional<List<ThrottledSubmission>> get(final String key) {
+        val entry = cache.getIfPresent(key);
+        if (entry == null || entry.reconciledAt.plus(reconcileInterval).isBefore(Instant.now(Clock.systemUTC()))) {
+            LOGGER.trace("No reconciled authentication failures are cached for [{}]", key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.failures);
+    }
+
+    /**
+     * Reconcile the entry for the key with failures found in audit records.
+     *
+     * @param key      the key
+     * @param failures the failures, in any order
+     * @return the most recent failures, most recent first
+     */
+    public List<ThrottledSubmission> reconcile(final String key, final List<? extends ThrottledSubmission> failures) {
+        val recentFailures = failures
+            .stream()
+            .sorted(Comparator.comparing(ThrottledSubmission::getValue).reversed())
+            .limit(MAX_FAILURES)
+            .collect(Collectors.<ThrottledSubmission>toUnmodifiableList());
+        cache.put(key, new Entry(Instant.now(Clock.systemUTC()), recentFailures));
+        return recentFailures;
+    }
+
+    /**
+     * Record a failure observed on this node, if the key is cached.
+     *
+     * @param key        the key
+     * @param submission the submission
+     */
+    public void record(final String key, final ThrottledSubmission submission) {
+        cache.asMap().computeIfPresent(key, (k, entry) -> {
+            val failures = new ArrayList<ThrottledSubmission>(MAX_FAILURES);
+            failures.add(submission);
+            entry.failures.stream().limit(MAX_FAILURES - 1).forEach(failures::add);
+            return new Entry(entry.reconciledAt, List.copyOf(failures));
+        });
+    }
+
+    /**
+     * Remove entries whose most recent failure falls outside the throttling window,
+     * and no longer counts towards the failure rate. Entries with recent failures are kept,
+     * and are otherwise left to expire after they were last written.
+     */
+    public void evictExpired() {
+        val cutoff = Instant.now(Clock.systemUTC()).minus(expiration);
+        val removed = cache.asMap().entrySet().removeIf(entry -> entry.getValue().getLastActivity().isBefore(cutoff));
+        if (removed) {
+            LOGGER.trace("Removed cached authentication failures older than [{}]", cutoff);
+        }
+        cache.cleanUp();
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final Instant reconciledAt;
+
+        private final List<ThrottledSubmission> failures;
+
+        Instant getLastActivity() {
+            return failures.isEmpty() ? reconciledAt : failures.get(0).getValue().toInstant();
+        }
+    }
+}
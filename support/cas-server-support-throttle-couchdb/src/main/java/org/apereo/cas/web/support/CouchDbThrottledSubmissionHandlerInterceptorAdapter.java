@@ -3,11 +3,12 @@ package org.apereo.cas.web.support;
 import org.apereo.cas.couchdb.audit.AuditActionContextCouchDbRepository;
 
 import lombok.val;
-import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -27,22 +28,19 @@ public class CouchDbThrottledSubmissionHandlerInterceptorAdapter extends Abstrac
     }
 
     @Override
-    public boolean exceedsThreshold(final HttpServletRequest request) {
-        val clientInfo = ClientInfoHolder.getClientInfo();
-        val remoteAddress = clientInfo.getClientIpAddress();
+    protected List<? extends ThrottledSubmission> getFailuresInAudits(final HttpServletRequest request,
+                                                                     final String remoteAddress,
+                                                                     final String username) {
         val throttle = getConfigurationContext().getCasProperties().getAuthn().getThrottle();
-
-        val username = getUsernameParameterFromRequest(request);
-        val failures = repository.findByThrottleParams(remoteAddress,
+        return repository.findByThrottleParams(remoteAddress,
                 username,
                 throttle.getFailure().getCode(),
                 throttle.getCore().getAppCode(),
                 LocalDateTime.now(ZoneOffset.UTC).minusSeconds(throttle.getFailure().getRangeSeconds()))
             .stream()
             .map(this::toThrottledSubmission)
+            .sorted(Comparator.comparing(ThrottledSubmission::getValue).reversed())
             .collect(Collectors.toList());
-
-        return calculateFailureThresholdRateAndCompare(failures);
     }
 
     @Override
@@ -3,15 +3,14 @@ package org.apereo.cas.web.support;
 import org.apereo.cas.configuration.model.support.throttle.JdbcThrottleProperties;
 import org.apereo.cas.util.DateTimeUtils;
 
-import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.jdbc.core.JdbcOperations;
 
 import javax.servlet.http.HttpServletRequest;
 import java.sql.Types;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,7 +26,6 @@ import java.util.stream.Collectors;
  * @author Scott Battaglia
  * @since 3.3.5
  */
-@Slf4j
 @SuppressWarnings("JavaUtilDate")
 public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
     private final JdbcOperations jdbcTemplate;
@@ -40,13 +38,11 @@ public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractIn
     }
 
     @Override
-    public boolean exceedsThreshold(final HttpServletRequest request) {
+    protected List<? extends ThrottledSubmission> getFailuresInAudits(final HttpServletRequest request,
+                                                                     final String remoteAddress,
+                                                                     final String username) {
         val throttle = getConfigurationContext().getCasProperties().getAuthn().getThrottle();
-        val clientInfo = ClientInfoHolder.getClientInfo();
-        val remoteAddress = clientInfo.getClientIpAddress();
-        val username = getUsernameParameterFromRequest(request);
-
-        val failuresInAudits = this.jdbcTemplate.query(
+        return this.jdbcTemplate.query(
             throttle.getJdbc().getAuditQuery(),
             new Object[]{
                 remoteAddress,
@@ -59,12 +55,6 @@ public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractIn
                 .key(UUID.randomUUID().toString())
                 .value(DateTimeUtils.zonedDateTimeOf(resultSet.getTimestamp("AUD_DATE")))
                 .build());
-
-        val result = calculateFailureThresholdRateAndCompare(failuresInAudits);
-        if (result) {
-            LOGGER.debug("Request from [{}] by user [{}] exceeds threshold", remoteAddress, username);
-        }
-        return result;
     }
 
     @Override
@@ -3,13 +3,13 @@ package org.apereo.cas.web.support;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -34,14 +34,13 @@ public class MongoDbThrottledSubmissionHandlerInterceptorAdapter extends Abstrac
     }
 
     @Override
-    public boolean exceedsThreshold(final HttpServletRequest request) {
-        val clientInfo = ClientInfoHolder.getClientInfo();
-        val remoteAddress = clientInfo.getClientIpAddress();
-
+    protected List<? extends ThrottledSubmission> getFailuresInAudits(final HttpServletRequest request,
+                                                                     final String remoteAddress,
+                                                                     final String username) {
         val throttle = getConfigurationContext().getCasProperties().getAuthn().getThrottle();
         val query = new Query()
             .addCriteria(Criteria.where("clientIpAddress").is(remoteAddress)
-                .and("principal").is(getUsernameParameterFromRequest(request))
+                .and("principal").is(username)
                 .and("actionPerformed").is(throttle.getFailure().getCode())
                 .and("applicationCode").is(throttle.getCore().getAppCode())
                 .and("whenActionWasPerformed").gte(getFailureInRangeCutOffDate()));
@@ -50,11 +49,10 @@ public class MongoDbThrottledSubmissionHandlerInterceptorAdapter extends Abstrac
         query.fields().include("whenActionWasPerformed");
 
         LOGGER.debug("Executing MongoDb throttling query [{}]", query);
-        val failures = this.mongoTemplate.find(query, AuditActionContext.class, this.collectionName)
+        return this.mongoTemplate.find(query, AuditActionContext.class, this.collectionName)
             .stream()
             .map(this::toThrottledSubmission)
             .collect(Collectors.toList());
-        return calculateFailureThresholdRateAndCompare(failures);
     }
 
     @Override
@@ -74,13 +74,11 @@ public class CasRedisThrottlingConfiguration {
         @Qualifier("throttleRedisTemplate")
         final CasRedisTemplate throttleRedisTemplate,
         @Qualifier("authenticationThrottlingConfigurationContext")
-        final ThrottledSubmissionHandlerConfigurationContext authenticationThrottlingConfigurationContext,
-        final CasConfigurationProperties casProperties) {
+        final ThrottledSubmissionHandlerConfigurationContext authenticationThrottlingConfigurationContext) {
         return BeanSupplier.of(ThrottledSubmissionHandlerInterceptor.class)
             .when(CONDITION.given(applicationContext.getEnvironment()))
             .supply(() -> new RedisThrottledSubmissionHandlerInterceptorAdapter(authenticationThrottlingConfigurationContext,
-                throttleRedisTemplate,
-                casProperties.getAudit().getRedis().getScanCount()))
+                throttleRedisTemplate))
             .otherwise(ThrottledSubmissionHandlerInterceptor::noOp)
             .get();
     }
@@ -5,18 +5,20 @@ import org.apereo.cas.redis.core.CasRedisTemplate;
 
 
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.common.web.ClientInfoHolder;
-import org.springframework.data.redis.core.BoundValueOperations;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.function.Function;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Works in conjunction with a redis database to
  * block attempts to dictionary attack users.
+ * Failures are looked up in the audit buckets of the user
+ * that cover the failure range.
  *
  * @author Misagh Moayyed
  * @since 6.1.0
@@ -25,39 +27,31 @@ import java.util.stream.Collectors;
 public class RedisThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
     private final transient CasRedisTemplate<String, Object> redisTemplate;
 
-    private final long scanCount;
-
     public RedisThrottledSubmissionHandlerInterceptorAdapter(
         final ThrottledSubmissionHandlerConfigurationContext configurationContext,
-        final CasRedisTemplate<String, Object> redisTemplate,
-        final long scanCount) {
+        final CasRedisTemplate<String, Object> redisTemplate) {
         super(configurationContext);
         this.redisTemplate = redisTemplate;
-        this.scanCount = scanCount;
     }
 
     @Override
-    public boolean exceedsThreshold(final HttpServletRequest request) {
-        val clientInfo = ClientInfoHolder.getClientInfo();
-        val remoteAddress = clientInfo.getClientIpAddress();
+    protected List<? extends ThrottledSubmission> getFailuresInAudits(final HttpServletRequest request,
+                                                                     final String remoteAddress,
+                                                                     final String username) {
+        if (StringUtils.isBlank(username)) {
+            return new ArrayList<>(0);
+        }
         val throttle = getConfigurationContext().getCasProperties().getAuthn().getThrottle();
-        val keys = redisTemplate.keys(RedisAuditTrailManager.CAS_AUDIT_CONTEXT_PREFIX + '*', this.scanCount);
-        val username = getUsernameParameterFromRequest(request);
-        val failures = keys
-            .map((Function<String, BoundValueOperations>) this.redisTemplate::boundValueOps)
-            .map(BoundValueOperations::get)
-            .map(AuditActionContext.class::cast)
+        return RedisAuditTrailManager.getAuditRecordsSince(redisTemplate, getFailureInRangeCutOffDate(), username)
             .filter(audit ->
                 audit.getPrincipal().equalsIgnoreCase(username)
                 && audit.getClientIpAddress().equalsIgnoreCase(remoteAddress)
                 && audit.getActionPerformed().equalsIgnoreCase(throttle.getFailure().getCode())
-                && audit.getApplicationCode().equalsIgnoreCase(throttle.getCore().getAppCode())
-                && audit.getWhenActionWasPerformed().compareTo(getFailureInRangeCutOffDate()) >= 0)
+                && audit.getApplicationCode().equalsIgnoreCase(throttle.getCore().getAppCode()))
             .sorted(Comparator.comparing(AuditActionContext::getWhenActionWasPerformed).reversed())
             .limit(2)
             .map(this::toThrottledSubmission)
             .collect(Collectors.toList());
-        return calculateFailureThresholdRateAndCompare(failures);
     }
 
     @Override
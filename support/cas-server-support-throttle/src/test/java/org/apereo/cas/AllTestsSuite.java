@@ -2,6 +2,7 @@ package org.apereo.cas;
 
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureCacheTests;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerEndpointTests;
 
 import org.junit.platform.suite.api.SelectClasses;
@@ -16,7 +17,8 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses({
     InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class,
     InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests.class,
-    ThrottledSubmissionHandlerEndpointTests.class
+    ThrottledSubmissionHandlerEndpointTests.class,
+    ThrottledSubmissionFailureCacheTests.class
 })
 @Suite
 public class AllTestsSuite {
@@ -0,0 +1,75 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ThrottledSubmissionFailureCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("AuthenticationThrottling")
+public class ThrottledSubmissionFailureCacheTests {
+
+    private static ThrottledSubmission failure(final ZonedDateTime when) {
+        return ThrottledSubmission.builder().key("1.2.3.4;casuser").value(when).build();
+    }
+
+    @Test
+    public void verifyReconcileAndRecord() {
+        val cache = new ThrottledSubmissionFailureCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        val key = "1.2.3.4;casuser";
+        assertTrue(cache.get(key).isEmpty());
+
+        cache.record(key, failure(ZonedDateTime.now(Clock.systemUTC())));
+        assertTrue(cache.get(key).isEmpty());
+
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        val oldest = failure(now.minusSeconds(30));
+        val older = failure(now.minusSeconds(20));
+        val recent = failure(now.minusSeconds(10));
+        val failures = cache.reconcile(key, List.of(oldest, recent, older));
+        assertEquals(List.of(recent, older), failures);
+        assertEquals(failures, cache.get(key).orElseThrow());
+
+        val latest = failure(now);
+        cache.record(key, latest);
+        assertEquals(List.of(latest, recent), cache.get(key).orElseThrow());
+
+        cache.clear();
+        assertTrue(cache.get(key).isEmpty());
+    }
+
+    @Test
+    public void verifyEvictExpired() {
+        val cache = new ThrottledSubmissionFailureCache(100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        cache.reconcile("recent", List.of(failure(now.minusSeconds(5))));
+        cache.reconcile("stale", List.of(failure(now.minusMinutes(2))));
+        cache.reconcile("none", List.of());
+
+        cache.evictExpired();
+        assertTrue(cache.get("recent").isPresent());
+        assertTrue(cache.get("none").isPresent());
+        assertTrue(cache.get("stale").isEmpty());
+    }
+
+    @Test
+    public void verifyReconcileInterval() throws Exception {
+        val cache = new ThrottledSubmissionFailureCache(100, Duration.ofMillis(200), Duration.ofMinutes(1));
+        val key = "1.2.3.4;casuser";
+        cache.reconcile(key, List.of(failure(ZonedDateTime.now(Clock.systemUTC()))));
+        assertTrue(cache.get(key).isPresent());
+        Thread.sleep(500);
+        assertTrue(cache.get(key).isEmpty());
+    }
+}
@@ -35,6 +35,11 @@ public class WsFederationServicesManagerRegisteredServiceLocator extends Default
             });
     }
 
+    @Override
+    public boolean isCacheable(final Service service) {
+        return !service.getAttributes().containsKey(WSFederationConstants.WREPLY);
+    }
+
     @Override
     public boolean supports(final RegisteredService registeredService, final Service service) {
         return service.getAttributes().containsKey(WSFederationConstants.WREPLY)